@@ -0,0 +1,103 @@
+package com.example.csiifinal;
+
+/**
+ * An angle set laid out around the circle: which angle a point is closest to, and which angles have
+ * room for a label at a given radius.
+ * <p>
+ * Up to {@link #MAX_LABELLED} angles (the special angles, or every 15°) every angle gets its own
+ * label. Finer sets, such as every 5° or every 1°, only label the multiples of a round spacing wide
+ * enough that labels do not overlap; the other angles are picked by pointing at the circle, which
+ * {@link #indexAt} resolves with {@code atan2} and a binary search, without a node or hit box per
+ * angle.
+ */
+public final class AngleRing {
+
+    /** Largest angle set in which every angle is labelled. */
+    public static final int MAX_LABELLED = 24;
+
+    // candidate spacings between labels in degrees, each a divisor of 90
+    private static final int[] LABEL_SPACINGS = {1, 2, 3, 5, 6, 9, 10, 15, 18, 30, 45, 90};
+
+    private final int[] angles;
+
+    /**
+     * @param angles angles in degrees, ascending, in [0, 360)
+     * @throws IllegalArgumentException if they are not
+     */
+    public AngleRing(int[] angles) {
+        for (int i = 0; i < angles.length; i++) {
+            if (angles[i] < 0 || angles[i] >= 360 || (i > 0 && angles[i] <= angles[i - 1])) {
+                throw new IllegalArgumentException("Angles must ascend within [0, 360): " + angles[i]);
+            }
+        }
+        this.angles = angles.clone();
+    }
+
+    public int size() {
+        return angles.length;
+    }
+
+    public int angle(int index) {
+        return angles[index];
+    }
+
+    /** @return index of the angle closest to {@code degrees}, going around through 0° where shorter */
+    public int nearest(double degrees) {
+        double d = degrees % 360;
+        if (d < 0) d += 360;
+        // first angle at or above d
+        int low = 0;
+        int high = angles.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (angles[mid] < d) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int above = low == angles.length ? 0 : low;
+        int below = low == 0 ? angles.length - 1 : low - 1;
+        double toAbove = angles[above] - d;
+        if (toAbove < 0) toAbove += 360;
+        double toBelow = d - angles[below];
+        if (toBelow < 0) toBelow += 360;
+        return toAbove < toBelow ? above : below;
+    }
+
+    /**
+     * Resolves a point on screen to the angle it points at.
+     *
+     * @param innerRadius points closer to the center than this are not on the ring
+     * @param outerRadius points farther from the center than this are not on the ring
+     * @return index of the nearest angle, or -1 if the point is not on the ring
+     */
+    public int indexAt(double x, double y, double centerX, double centerY, double innerRadius, double outerRadius) {
+        double dx = x - centerX;
+        // screen y grows downwards, angles grow counterclockwise
+        double dy = centerY - y;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared < innerRadius * innerRadius || distanceSquared > outerRadius * outerRadius) return -1;
+        return nearest(Math.toDegrees(Math.atan2(dy, dx)));
+    }
+
+    /**
+     * Chooses which angles get a label on a circle of the given radius.
+     *
+     * @param minGap smallest distance in pixels between two labels' centers
+     * @return 0 if every angle is labelled, otherwise the spacing in degrees between labelled angles
+     */
+    public int labelSpacing(double radius, double minGap) {
+        if (angles.length <= MAX_LABELLED) return 0;
+        for (int spacing : LABEL_SPACINGS) {
+            // chord between two labels spacing degrees apart
+            if (2 * radius * Math.sin(Math.toRadians(spacing) / 2) >= minGap) return spacing;
+        }
+        return LABEL_SPACINGS[LABEL_SPACINGS.length - 1];
+    }
+
+    /** @return whether the angle at {@code index} is labelled at the given {@link #labelSpacing} */
+    public boolean isLabelled(int index, int spacing) {
+        return spacing == 0 || angles[index] % spacing == 0;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+
+/**
+ * Everything the app shows about an angle of an angle set, worked out once and kept in arrays
+ * indexed by the angle's slot, its position in the set: its label in every
+ * {@link UnitCircleApp.AngleDisplayMode} with and without the function prefix, its quadrant, and
+ * the special triangle drawn for it with that triangle's orientation.
+ * <p>
+ * Looking anything up is an array read; nothing is boxed or formatted on the way. {@link #slot}
+ * maps degrees to a slot through a 360-entry array.
+ */
+public final class AngleTable {
+
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+    private static final SpecialTriangle.TriangleType[] TRIANGLES = SpecialTriangle.TriangleType.values();
+
+    // orientation bits of a special triangle
+    private static final int FLIP_X = 1;
+    private static final int FLIP_Y = 2;
+    private static final int ROTATE_CW = 4;
+    private static final int ROTATE_CCW = 8;
+
+    private static final class EveryDegree {
+        static final AngleTable TABLE = new AngleTable(UCAHelpers.angleSet("1"));
+    }
+
+    private final int[] angles;
+    private final int[] slots = new int[360];
+    // slot-major: the labels of one slot are next to each other, unprefixed then prefixed per mode
+    private final String[] labels;
+    private final byte[] quadrants;
+    // index into TRIANGLES, -1 for no special triangle
+    private final byte[] triangles;
+    private final byte[] orientations;
+
+    /**
+     * @param angles angles in degrees, each in [0, 360) and none twice
+     */
+    public AngleTable(int[] angles) {
+        this.angles = angles.clone();
+        Arrays.fill(slots, -1);
+        labels = new String[angles.length * MODES.length * 2];
+        quadrants = new byte[angles.length];
+        triangles = new byte[angles.length];
+        orientations = new byte[angles.length];
+        for (int slot = 0; slot < angles.length; slot++) {
+            int degrees = angles[slot];
+            if (degrees < 0 || degrees >= 360 || slots[degrees] >= 0) {
+                throw new IllegalArgumentException("Angles must be distinct and in [0, 360): " + Arrays.toString(angles));
+            }
+            slots[degrees] = slot;
+            for (UnitCircleApp.AngleDisplayMode mode : MODES) {
+                labels[labelIndex(slot, mode, false)] = formatLabel(degrees, mode, false);
+                labels[labelIndex(slot, mode, true)] = formatLabel(degrees, mode, true);
+            }
+            quadrants[slot] = (byte) (degrees % 90 == 0 ? 0 : degrees / 90 + 1);
+            SpecialTriangle.TriangleType type = triangleFor(degrees);
+            triangles[slot] = (byte) (type == null ? -1 : type.ordinal());
+            orientations[slot] = (byte) orientationFor(degrees);
+        }
+    }
+
+    /** @return the table of every whole degree, where slot and degree are the same, built on first use */
+    public static AngleTable everyDegree() {
+        return EveryDegree.TABLE;
+    }
+
+    public int size() {
+        return angles.length;
+    }
+
+    /** @return the angle in degrees at {@code slot} */
+    public int angle(int slot) {
+        return angles[slot];
+    }
+
+    /** @return the slot of {@code degrees}, or -1 if it is not in the table */
+    public int slot(int degrees) {
+        return degrees >= 0 && degrees < 360 ? slots[degrees] : -1;
+    }
+
+    /** @return the label of the angle at {@code slot}, as {@link UCAHelpers#getLabelForAngle} formats it */
+    public String label(int slot, UnitCircleApp.AngleDisplayMode mode, boolean includePrefix) {
+        return labels[labelIndex(slot, mode, includePrefix)];
+    }
+
+    /** @return the quadrant, 1 to 4, of the angle at {@code slot}; 0 if it lies on an axis */
+    public int quadrant(int slot) {
+        return quadrants[slot];
+    }
+
+    /** @return the special triangle of the angle at {@code slot}, or null if it has none */
+    public SpecialTriangle.TriangleType triangle(int slot) {
+        int type = triangles[slot];
+        return type < 0 ? null : TRIANGLES[type];
+    }
+
+    /** @return -1 if the special triangle is mirrored left to right, otherwise 1 */
+    public int xFlip(int slot) {
+        return (orientations[slot] & FLIP_X) != 0 ? -1 : 1;
+    }
+
+    /** @return -1 if the special triangle is mirrored top to bottom, otherwise 1 */
+    public int yFlip(int slot) {
+        return (orientations[slot] & FLIP_Y) != 0 ? -1 : 1;
+    }
+
+    public boolean rotatesClockwise(int slot) {
+        return (orientations[slot] & ROTATE_CW) != 0;
+    }
+
+    public boolean rotatesCounterClockwise(int slot) {
+        return (orientations[slot] & ROTATE_CCW) != 0;
+    }
+
+    private static int labelIndex(int slot, UnitCircleApp.AngleDisplayMode mode, boolean includePrefix) {
+        return (slot * MODES.length + mode.ordinal()) * 2 + (includePrefix ? 1 : 0);
+    }
+
+    /** Formats a label from scratch; {@link UCAHelpers#getLabelForAngle} uses it for angles outside [0, 360). */
+    static String formatLabel(int angle, UnitCircleApp.AngleDisplayMode mode, boolean includePrefix) {
+        ExactTrig trig = ExactTrig.get();
+        return switch (mode) {
+            case DEGREES -> angle + "°";
+            case RADIANS -> trig.piFraction(angle) + (includePrefix ? " rad" : "");
+            case SIN -> (includePrefix ? "sin: " : "") + valueOrDecimal(trig.sin(angle), Math.sin(Math.toRadians(angle)));
+            case COS -> (includePrefix ? "cos: " : "") + valueOrDecimal(trig.cos(angle), Math.cos(Math.toRadians(angle)));
+            case TAN -> (includePrefix ? "tan: " : "") + valueOrDecimal(trig.tan(angle), Math.tan(Math.toRadians(angle)));
+        };
+    }
+
+    /**
+     * Exact value of an angle in {@link ExactTrig}'s table, otherwise the decimal approximation. An
+     * undefined tangent says which way y points, since that is what tells 90° from 270°.
+     */
+    private static String valueOrDecimal(ExactValue exact, double value) {
+        if (exact == null) return String.format("%.3f", value);
+        if (!exact.isDefined()) return exact + (exact.signum() > 0 ? " Y>0" : " Y<0");
+        return exact.toString();
+    }
+
+    private static SpecialTriangle.TriangleType triangleFor(int degrees) {
+        return switch (degrees) {
+            case 30, 60, 120, 150, 210, 240, 300, 330 -> SpecialTriangle.TriangleType.TRIANGLE_30_60_90;
+            case 45, 135, 225, 315 -> SpecialTriangle.TriangleType.TRIANGLE_45_45_90;
+            default -> null;
+        };
+    }
+
+    /** How the special triangle drawing is mirrored and turned for each angle. */
+    private static int orientationFor(int degrees) {
+        return switch (degrees) {
+            case 30, 45 -> FLIP_X;
+            case 60 -> ROTATE_CW;
+            case 120 -> FLIP_X | ROTATE_CCW;
+            case 135, 150 -> 0;
+            case 210, 225 -> FLIP_Y;
+            case 240 -> ROTATE_CCW;
+            case 300 -> FLIP_X | ROTATE_CW;
+            case 315, 330 -> FLIP_X | FLIP_Y;
+            default -> FLIP_X;
+        };
+    }
+}
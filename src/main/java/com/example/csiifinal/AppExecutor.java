@@ -0,0 +1,207 @@
+package com.example.csiifinal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The one place the app runs work off the JavaFX Application Thread.
+ * <p>
+ * Every task runs on its own virtual thread, named after the task, and is timed into a
+ * {@link LatencyHistogram} per task name, so {@link #getMetrics()} shows how often each kind of
+ * background work ran and how long it took. Work that must stay in order, such as the writes of one
+ * file, goes through a {@link #lane(String) lane}: tasks of a lane run one at a time, in submission
+ * order, without a platform thread of their own.
+ * <p>
+ * The executor follows the application's lifecycle: {@link UnitCircleApp#init()} creates it and
+ * {@link UnitCircleApp#stop()} shuts it down after waiting for running tasks. Code that runs without
+ * the application, such as tests, gets one created on first use by {@link #get()}; after a shutdown,
+ * the next {@link #get()} starts a fresh one.
+ */
+public final class AppExecutor {
+
+    /**
+     * Timing of one kind of task.
+     *
+     * @param count      tasks finished, including failed ones
+     * @param failures   tasks that threw
+     * @param meanMillis mean run time
+     * @param p50Millis  median run time
+     * @param p99Millis  99th percentile run time
+     * @param maxMillis  longest run time
+     */
+    public record TaskMetrics(long count, long failures, double meanMillis, double p50Millis,
+                              double p99Millis, double maxMillis) {
+    }
+
+    private static AppExecutor current;
+
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("app-task").factory());
+    private final ConcurrentHashMap<String, TaskStats> stats = new ConcurrentHashMap<>();
+
+    private AppExecutor() {
+    }
+
+    /** @return the running executor, starting one if there is none */
+    public static synchronized AppExecutor get() {
+        if (current == null) current = new AppExecutor();
+        return current;
+    }
+
+    /**
+     * Stops accepting tasks and waits for the running ones to finish.
+     *
+     * @return true if everything finished within the timeout
+     */
+    public static boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        AppExecutor executor;
+        synchronized (AppExecutor.class) {
+            executor = current;
+            current = null;
+        }
+        if (executor == null) return true;
+        executor.threads.shutdown();
+        return executor.threads.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Runs {@code task} in the background. Failures are reported on stderr and counted.
+     *
+     * @throws RejectedExecutionException if the executor is shutting down
+     */
+    public void execute(String name, Runnable task) {
+        threads.execute(() -> run(name, task));
+    }
+
+    /**
+     * Runs {@code task} in the background.
+     *
+     * @return completes with the task's result, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            threads.execute(() -> run(name, () -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    throw new TaskFailedException(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an executor that runs its tasks one at a time, in order, on this app's virtual
+     * threads. Each task is timed under {@code name}. A lane holds no thread while it is idle and
+     * always uses the executor running at the time a task is submitted, so it can be kept in a
+     * static field.
+     */
+    public static Executor lane(String name) {
+        return new Lane(name);
+    }
+
+    /** @return timing per task name, sorted by name */
+    public Map<String, TaskMetrics> getMetrics() {
+        Map<String, TaskMetrics> metrics = new TreeMap<>();
+        stats.forEach((name, taskStats) -> metrics.put(name, taskStats.snapshot()));
+        return metrics;
+    }
+
+    private void run(String name, Runnable task) {
+        Thread thread = Thread.currentThread();
+        thread.setName(name);
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            task.run();
+        } catch (TaskFailedException e) {
+            // already handed to the caller's future
+            failed = true;
+        } catch (RuntimeException | Error e) {
+            failed = true;
+            System.err.println("Background task " + name + " failed: " + e);
+        } finally {
+            stats.computeIfAbsent(name, n -> new TaskStats()).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /** Marks a failure of a {@link #submit} task that its future already carries. */
+    private static final class TaskFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TaskFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private static final class TaskStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long failures;
+
+        synchronized void record(long nanos, boolean failed) {
+            histogram.recordNanos(nanos);
+            if (failed) failures++;
+        }
+
+        synchronized TaskMetrics snapshot() {
+            return new TaskMetrics(histogram.getCount(), failures, histogram.getMeanMillis(),
+                    histogram.getP50Millis(), histogram.getP99Millis(), histogram.getMaxMillis());
+        }
+    }
+
+    private static final class Lane implements Executor {
+        private final String name;
+        private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                tasks.remove(task);
+                throw e;
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            AppExecutor owner = get();
+            try {
+                owner.threads.execute(() -> drain(owner));
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+
+        private void drain(AppExecutor owner) {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                owner.run(name, task);
+            }
+            scheduled.set(false);
+            // a task may have been added after the last poll but before the flag was cleared
+            if (!tasks.isEmpty()) schedule();
+        }
+    }
+}
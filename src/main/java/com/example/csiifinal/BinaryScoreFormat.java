@@ -0,0 +1,137 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Fixed-width binary layout of the high score file.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE}-byte header followed by {@value #RECORD_SIZE}-byte records:
+ * <pre>
+ *  0  int    score
+ *  4  char×3 initials, zero-padded
+ * 10  int    timestamp as wall-clock minutes since 1970-01-01 00:00
+ * 14  byte   AngleDisplayMode ordinal, or -1 if unknown
+ * 15  byte   commit marker, always {@value #COMMITTED}
+ * </pre>
+ * Because every record has the same size, record {@code i} lives at a fixed offset and can be read
+ * straight out of a memory-mapped file without parsing anything before it.
+ */
+final class BinaryScoreFormat {
+
+    static final int MAGIC = 0x48534231; // "HSB1"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+    static final int INITIALS_LENGTH = 3;
+
+    static final byte COMMITTED = 1;
+    static final int NO_TIMESTAMP = Integer.MIN_VALUE;
+    private static final byte UNKNOWN_MODE = -1;
+
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+
+    private BinaryScoreFormat() {
+    }
+
+    static void writeHeader(ByteBuffer buf) {
+        buf.putInt(MAGIC);
+        buf.putShort(VERSION);
+        buf.putShort((short) RECORD_SIZE);
+        buf.putLong(0L); // reserved
+    }
+
+    static boolean isValidHeader(ByteBuffer buf) {
+        return buf.remaining() >= HEADER_SIZE
+                && buf.getInt(0) == MAGIC
+                && buf.getShort(4) == VERSION
+                && buf.getShort(6) == RECORD_SIZE;
+    }
+
+    /** @return the number of complete records in a file of the given size */
+    static long recordCount(long fileSize) {
+        return fileSize <= HEADER_SIZE ? 0 : (fileSize - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /** @return the file offset of record {@code index} */
+    static long offsetOf(long index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    static void encode(HighScoreEntry entry, ByteBuffer buf) {
+        encode(entry.score, entry.initials, toEpochMinute(entry.timestamp), modeOrdinal(entry.mode), buf);
+    }
+
+    static void encode(int score, CharSequence initials, int epochMinute, byte modeOrdinal, ByteBuffer buf) {
+        buf.putInt(score);
+        for (int i = 0; i < INITIALS_LENGTH; i++) {
+            buf.putChar(i < initials.length() ? initials.charAt(i) : '\0');
+        }
+        buf.putInt(epochMinute);
+        buf.put(modeOrdinal);
+        buf.put(COMMITTED);
+    }
+
+    /** Reads only the score of the record at absolute position {@code pos}. */
+    static int scoreAt(ByteBuffer buf, int pos) {
+        return buf.getInt(pos);
+    }
+
+    static boolean isCommitted(ByteBuffer buf, int pos) {
+        return buf.get(pos + 15) == COMMITTED;
+    }
+
+    /** Decodes the full record at absolute position {@code pos}. */
+    static HighScoreEntry decode(ByteBuffer buf, int pos) {
+        int score = buf.getInt(pos);
+        StringBuilder initials = new StringBuilder(INITIALS_LENGTH);
+        for (int i = 0; i < INITIALS_LENGTH; i++) {
+            char c = buf.getChar(pos + 4 + i * 2);
+            if (c != '\0') initials.append(c);
+        }
+        String timestamp = fromEpochMinute(buf.getInt(pos + 10));
+        String mode = modeName(buf.get(pos + 14));
+        return new HighScoreEntry(score, initials.toString(), timestamp, mode);
+    }
+
+    /**
+     * Converts a {@code yyyy-MM-dd HH:mm} timestamp to minutes since the epoch. The wall-clock
+     * value is stored as-is (no time zone conversion) so it always reads back identically.
+     */
+    static int toEpochMinute(String timestamp) {
+        try {
+            long epochMinute = LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT).toEpochSecond(ZoneOffset.UTC) / 60;
+            return epochMinute > Integer.MAX_VALUE || epochMinute <= NO_TIMESTAMP ? NO_TIMESTAMP : (int) epochMinute;
+        } catch (DateTimeParseException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    /** Converts a wall-clock time to epoch minutes, clamped to the range a record can hold. */
+    static int toEpochMinute(LocalDateTime time) {
+        long epochMinute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+        return (int) Math.max(NO_TIMESTAMP + 1L, Math.min(Integer.MAX_VALUE, epochMinute));
+    }
+
+    static String fromEpochMinute(int epochMinute) {
+        if (epochMinute == NO_TIMESTAMP) return "";
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC).format(TIMESTAMP_FORMAT);
+    }
+
+    static byte modeOrdinal(String mode) {
+        for (UnitCircleApp.AngleDisplayMode m : MODES) {
+            if (m.name().equals(mode)) return (byte) m.ordinal();
+        }
+        return UNKNOWN_MODE;
+    }
+
+    static String modeName(byte ordinal) {
+        return ordinal >= 0 && ordinal < MODES.length ? MODES[ordinal].name() : "Unknown";
+    }
+}
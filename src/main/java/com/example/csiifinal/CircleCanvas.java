@@ -0,0 +1,337 @@
+package com.example.csiifinal;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Draws the whole unit circle (circle, spokes, inner circle, quadrant masks and one label per
+ * angle) on a single {@link Canvas}, for machines where the node-per-angle scene graph is too slow.
+ * <p>
+ * The canvas does its own hit-testing: a click inside an angle's label box is reported to the
+ * handler given to the constructor, like a click on that angle's button. In angle sets too fine for
+ * a label per angle, only the angles {@link AngleRing} picks are labelled, the rest show as ticks,
+ * and a click anywhere on the ring picks the nearest angle; the angle under the pointer shows its
+ * label while hovered.
+ * <p>
+ * State changes only mark the part of the picture they affect as dirty; the dirty regions are
+ * redrawn, clipped, once per pulse when the pane is laid out, and a resize redraws everything. All
+ * methods must be called on the JavaFX Application Thread.
+ */
+public final class CircleCanvas extends Pane {
+
+    /** Size of an angle's label box, the same as the angle buttons of the node renderer. */
+    public static final double LABEL_WIDTH = 75;
+    public static final double LABEL_HEIGHT = 45;
+
+    private static final Color BACKGROUND = Color.web("#808080");
+    private static final Color SPOKE = Color.BLACK;
+    private static final Color INNER_CIRCLE = Color.GRAY;
+    private static final Color MASK = Color.rgb(0, 0, 0, 0.4);
+    private static final Color LABEL_FILL = Color.web("#ececec");
+    private static final Color LABEL_HOVER_FILL = Color.web("#fafafa");
+    private static final Color LABEL_BORDER = Color.web("#a0a0a0");
+    private static final Font LABEL_FONT = Font.font(14);
+    // beyond this many dirty regions in one pulse, they are merged into their bounding box
+    private static final int MAX_DIRTY_REGIONS = 8;
+
+    private final Canvas canvas = new Canvas();
+    private final int[] angles;
+    private final AngleRing ring;
+    private final UnitVectors unitVectors;
+    private final IntConsumer onAngleClicked;
+
+    private final String[] labels;
+    private Paint circleFill = Color.CORNFLOWERBLUE;
+    // index 0 is quadrant I
+    private final boolean[] masked = new boolean[4];
+    private boolean masksVisible;
+    private int hovered = -1;
+
+    // geometry of the last layout; label boxes by their top left corner
+    private double centerX;
+    private double centerY;
+    private double radius;
+    // 0 while every angle is labelled, see AngleRing.labelSpacing
+    private int labelSpacing;
+    private final double[] labelX;
+    private final double[] labelY;
+
+    private final List<Bounds> dirty = new ArrayList<>();
+    private boolean fullRedraw = true;
+    private long redraws;
+    private double redrawnArea;
+
+    /**
+     * @param angles         angles in degrees, ascending, in [0, 360)
+     * @param unitVectors    unit vectors of {@code angles}
+     * @param onAngleClicked receives the angle, in degrees, whose label was clicked
+     */
+    public CircleCanvas(int[] angles, UnitVectors unitVectors, IntConsumer onAngleClicked) {
+        this.angles = angles;
+        this.ring = new AngleRing(angles);
+        this.unitVectors = unitVectors;
+        this.onAngleClicked = onAngleClicked;
+        labels = new String[angles.length];
+        labelX = new double[angles.length];
+        labelY = new double[angles.length];
+        for (int i = 0; i < angles.length; i++) {
+            labels[i] = angles[i] + "°";
+        }
+        getChildren().add(canvas);
+
+        setOnMouseMoved(e -> setHovered(indexAt(e.getX(), e.getY())));
+        setOnMouseExited(e -> setHovered(-1));
+        setOnMouseClicked(e -> {
+            if (e.getButton() != MouseButton.PRIMARY || !e.isStillSincePress()) return;
+            int index = indexAt(e.getX(), e.getY());
+            if (index >= 0) onAngleClicked.accept(angles[index]);
+        });
+    }
+
+    /** Sets the text of the label at {@code index}; redraws only that label, if it is showing. */
+    public void setLabel(int index, String text) {
+        if (text.equals(labels[index])) return;
+        labels[index] = text;
+        if (isShown(index)) markDirty(labelBounds(index));
+    }
+
+    public String getLabel(int index) {
+        return labels[index];
+    }
+
+    /** Sets the fill of the circle, for example while an answer flash is showing. */
+    public void setCircleFill(Paint fill) {
+        if (fill.equals(circleFill)) return;
+        circleFill = fill;
+        markDirty(circleBounds());
+    }
+
+    /**
+     * Sets whether a quadrant is darkened while masks are {@link #setMasksVisible visible}.
+     *
+     * @param quadrant 1 to 4
+     */
+    public void setMasked(int quadrant, boolean masked) {
+        if (this.masked[quadrant - 1] == masked) return;
+        this.masked[quadrant - 1] = masked;
+        if (masksVisible) markDirty(quadrantBounds(quadrant));
+    }
+
+    /** Shows or hides the quadrant masks as a whole. */
+    public void setMasksVisible(boolean visible) {
+        if (masksVisible == visible) return;
+        masksVisible = visible;
+        for (int quadrant = 1; quadrant <= 4; quadrant++) {
+            if (masked[quadrant - 1]) markDirty(quadrantBounds(quadrant));
+        }
+    }
+
+    /**
+     * Finds the angle a point picks: the label under it, or in a set too fine to label every angle,
+     * the nearest angle on the ring.
+     *
+     * @return index of the angle at ({@code x}, {@code y}) in this pane, or -1 if there is none
+     */
+    public int indexAt(double x, double y) {
+        int index = labelAt(x, y);
+        if (index >= 0 || labelSpacing == 0) return index;
+        return ring.indexAt(x, y, centerX, centerY, radius / 2.5, radius + LABEL_HEIGHT / 2);
+    }
+
+    /**
+     * Finds the showing label under a point. The hovered label, then labels drawn later, are on
+     * top, so they win where boxes overlap.
+     *
+     * @return index of the label at ({@code x}, {@code y}) in this pane, or -1 if there is none
+     */
+    public int labelAt(double x, double y) {
+        if (hovered >= 0 && inLabel(hovered, x, y)) return hovered;
+        for (int i = angles.length - 1; i >= 0; i--) {
+            if (ring.isLabelled(i, labelSpacing) && inLabel(i, x, y)) return i;
+        }
+        return -1;
+    }
+
+    private boolean inLabel(int index, double x, double y) {
+        double dx = x - labelX[index];
+        double dy = y - labelY[index];
+        return dx >= 0 && dx < LABEL_WIDTH && dy >= 0 && dy < LABEL_HEIGHT;
+    }
+
+    /** @return number of redraws so far, full or partial */
+    public long getRedrawCount() {
+        return redraws;
+    }
+
+    /** @return pixels covered by all redraws so far */
+    public double getRedrawnArea() {
+        return redrawnArea;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double w = getWidth();
+        double h = getHeight();
+        if (w != canvas.getWidth() || h != canvas.getHeight()) {
+            canvas.setWidth(w);
+            canvas.setHeight(h);
+            computeGeometry(w, h);
+            fullRedraw = true;
+        }
+        redraw();
+    }
+
+    private void computeGeometry(double w, double h) {
+        // the same proportions as UnitCircleApp.updateLayout
+        radius = Math.min(w, h) * 2 / 3 / 2;
+        centerX = w / 2;
+        centerY = h / 2;
+        labelSpacing = ring.labelSpacing(radius, LABEL_WIDTH);
+        for (int i = 0; i < angles.length; i++) {
+            labelX[i] = unitVectors.x(i, centerX, radius) - LABEL_WIDTH / 2;
+            labelY[i] = unitVectors.y(i, centerY, radius) - LABEL_HEIGHT / 2;
+        }
+    }
+
+    private boolean isShown(int index) {
+        return index == hovered || ring.isLabelled(index, labelSpacing);
+    }
+
+    private void setHovered(int index) {
+        if (index == hovered) return;
+        if (hovered >= 0) markDirty(labelBounds(hovered));
+        hovered = index;
+        if (index >= 0) markDirty(labelBounds(index));
+    }
+
+    private void markDirty(Bounds bounds) {
+        if (fullRedraw) return;
+        if (dirty.size() == MAX_DIRTY_REGIONS) {
+            Bounds union = bounds;
+            for (Bounds b : dirty) union = union(union, b);
+            dirty.clear();
+            bounds = union;
+        }
+        dirty.add(bounds);
+        requestLayout();
+    }
+
+    private void redraw() {
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (fullRedraw) {
+            draw(gc, new BoundingBox(0, 0, getWidth(), getHeight()));
+        } else {
+            if (dirty.isEmpty()) return;
+            for (Bounds region : dirty) {
+                gc.save();
+                gc.beginPath();
+                gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+                gc.clip();
+                draw(gc, region);
+                gc.restore();
+            }
+        }
+        fullRedraw = false;
+        dirty.clear();
+        redraws++;
+    }
+
+    /** Paints everything that intersects {@code region}; the caller clips to it. */
+    private void draw(GraphicsContext gc, Bounds region) {
+        redrawnArea += region.getWidth() * region.getHeight();
+        gc.setFill(BACKGROUND);
+        gc.fillRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
+        if (region.intersects(circleBounds())) {
+            gc.setFill(circleFill);
+            gc.fillOval(centerX - radius, centerY - radius, 2 * radius, 2 * radius);
+
+            if (masksVisible) {
+                gc.save();
+                gc.beginPath();
+                gc.arc(centerX, centerY, radius, radius, 0, 360);
+                gc.closePath();
+                gc.clip();
+                gc.setFill(MASK);
+                for (int quadrant = 1; quadrant <= 4; quadrant++) {
+                    if (!masked[quadrant - 1]) continue;
+                    Bounds q = quadrantBounds(quadrant);
+                    gc.fillRect(q.getMinX(), q.getMinY(), q.getWidth(), q.getHeight());
+                }
+                gc.restore();
+            }
+
+            gc.setStroke(SPOKE);
+            gc.setLineWidth(1.5);
+            for (int i = 0; i < angles.length; i++) {
+                if (ring.isLabelled(i, labelSpacing)) {
+                    gc.strokeLine(centerX, centerY, unitVectors.x(i, centerX, radius), unitVectors.y(i, centerY, radius));
+                } else {
+                    double tick = radius * 0.94;
+                    gc.strokeLine(unitVectors.x(i, centerX, tick), unitVectors.y(i, centerY, tick),
+                            unitVectors.x(i, centerX, radius), unitVectors.y(i, centerY, radius));
+                }
+            }
+
+            double inner = radius / 2.5;
+            gc.setFill(INNER_CIRCLE);
+            gc.fillOval(centerX - inner, centerY - inner, 2 * inner, 2 * inner);
+        }
+
+        gc.setFont(LABEL_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setLineWidth(1);
+        for (int i = 0; i < angles.length; i++) {
+            if (i != hovered && ring.isLabelled(i, labelSpacing)) drawLabel(gc, region, i);
+        }
+        if (hovered >= 0) drawLabel(gc, region, hovered);
+    }
+
+    private void drawLabel(GraphicsContext gc, Bounds region, int i) {
+        if (!region.intersects(labelX[i], labelY[i], LABEL_WIDTH, LABEL_HEIGHT)) return;
+        gc.setFill(i == hovered ? LABEL_HOVER_FILL : LABEL_FILL);
+        gc.fillRoundRect(labelX[i], labelY[i], LABEL_WIDTH, LABEL_HEIGHT, 6, 6);
+        gc.setStroke(LABEL_BORDER);
+        gc.strokeRoundRect(labelX[i] + 0.5, labelY[i] + 0.5, LABEL_WIDTH - 1, LABEL_HEIGHT - 1, 6, 6);
+        gc.setFill(Color.BLACK);
+        gc.fillText(labels[i], labelX[i] + LABEL_WIDTH / 2, labelY[i] + LABEL_HEIGHT / 2, LABEL_WIDTH - 6);
+    }
+
+    // one pixel of margin around each region covers anti-aliased edges
+
+    private Bounds labelBounds(int index) {
+        return new BoundingBox(labelX[index] - 1, labelY[index] - 1, LABEL_WIDTH + 2, LABEL_HEIGHT + 2);
+    }
+
+    private Bounds circleBounds() {
+        return new BoundingBox(centerX - radius - 1, centerY - radius - 1, 2 * radius + 2, 2 * radius + 2);
+    }
+
+    private Bounds quadrantBounds(int quadrant) {
+        double x = quadrant == 1 || quadrant == 4 ? centerX : centerX - radius;
+        double y = quadrant == 1 || quadrant == 2 ? centerY - radius : centerY;
+        return new BoundingBox(x - 1, y - 1, radius + 2, radius + 2);
+    }
+
+    private static Bounds union(Bounds a, Bounds b) {
+        double minX = Math.min(a.getMinX(), b.getMinX());
+        double minY = Math.min(a.getMinY(), b.getMinY());
+        return new BoundingBox(minX, minY, Math.max(a.getMaxX(), b.getMaxX()) - minX,
+                Math.max(a.getMaxY(), b.getMaxY()) - minY);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.csiifinal;
+
+/**
+ * Exact sine, cosine and tangent of every whole-degree angle that has a closed form in square
+ * roots here, the multiples of 15° and of 18°, plus the π-fraction of every angle, all worked out
+ * once and kept in arrays indexed by degree.
+ * <p>
+ * Nothing is typed in by hand. The values start from cos 60° = 1/2 and cos 36° = (1+√5)/4, the
+ * larger root of 4x² - 2x - 1; everything else follows from the double-angle formula, the half-angle
+ * formulas and the symmetries of the circle. Since 2θ is a multiple of 30° or 36° for every angle θ
+ * in the table, each value is a square root of an exact {@link Surd}:
+ * sin θ = ±√((1 - cos 2θ)/2), cos θ = ±√((1 + cos 2θ)/2), tan θ = ±√((1 - cos 2θ)/(1 + cos 2θ)).
+ */
+public final class ExactTrig {
+
+    private static final class Shared {
+        static final ExactTrig TABLE = new ExactTrig();
+    }
+
+    private final ExactValue[] sin = new ExactValue[360];
+    private final ExactValue[] cos = new ExactValue[360];
+    private final ExactValue[] tan = new ExactValue[360];
+    private final String[] piFractions = new String[360];
+
+    /** Builds a fresh table; the app shares the one from {@link #get()}. */
+    public ExactTrig() {
+        Surd cos36 = largerRoot(4, -2, -1);
+        Surd cos72 = cos36.multiply(cos36).multiply(Surd.rational(2, 1)).subtract(Surd.ONE);
+        Surd half = Surd.rational(1, 2);
+        for (int degrees = 0; degrees < 360; degrees++) {
+            piFractions[degrees] = formatPiFraction(degrees);
+            if (!isExact(degrees)) continue;
+
+            Surd cosDouble = cosOfMultiple(2 * degrees, half, cos36, cos72);
+            Surd onePlus = Surd.ONE.add(cosDouble);
+            Surd oneMinus = Surd.ONE.subtract(cosDouble);
+            int sinSign = degrees == 0 || degrees == 180 ? 0 : degrees < 180 ? 1 : -1;
+            int cosSign = degrees == 90 || degrees == 270 ? 0 : degrees < 90 || degrees > 270 ? 1 : -1;
+
+            sin[degrees] = withSign(ExactValue.sqrt(oneMinus.multiply(half)), sinSign);
+            cos[degrees] = withSign(ExactValue.sqrt(onePlus.multiply(half)), cosSign);
+            tan[degrees] = cosSign == 0
+                    ? ExactValue.undefined(sinSign)
+                    : withSign(ExactValue.sqrt(oneMinus.divide(onePlus)), sinSign * cosSign);
+        }
+    }
+
+    /** @return the table shared by the whole app, built on first use */
+    public static ExactTrig get() {
+        return Shared.TABLE;
+    }
+
+    /** @return whether {@code degrees} has exact values in the table */
+    public static boolean isExact(int degrees) {
+        int d = Math.floorMod(degrees, 360);
+        return d % 15 == 0 || d % 18 == 0;
+    }
+
+    /** @return the exact sine of {@code degrees}, or null if it is not in the table */
+    public ExactValue sin(int degrees) {
+        return sin[Math.floorMod(degrees, 360)];
+    }
+
+    /** @return the exact cosine of {@code degrees}, or null if it is not in the table */
+    public ExactValue cos(int degrees) {
+        return cos[Math.floorMod(degrees, 360)];
+    }
+
+    /** @return the exact tangent of {@code degrees}, undefined at 90° and 270°, or null if it is not in the table */
+    public ExactValue tan(int degrees) {
+        return tan[Math.floorMod(degrees, 360)];
+    }
+
+    /**
+     * Returns {@code degrees} as a multiple of π in lowest terms, such as {@code "7π/6"} or
+     * {@code "π/180"}; angles outside [0, 360) are not wrapped, so 360 is {@code "2π"}.
+     */
+    public String piFraction(int degrees) {
+        return degrees >= 0 && degrees < 360 ? piFractions[degrees] : formatPiFraction(degrees);
+    }
+
+    private static String formatPiFraction(int degrees) {
+        if (degrees == 0) return "0";
+        int g = (int) Surd.gcd(degrees, 180);
+        int numerator = degrees / g;
+        int denominator = 180 / g;
+        String text = (numerator == 1 ? "" : numerator == -1 ? "-" : Integer.toString(numerator)) + "π";
+        return denominator == 1 ? text : text + "/" + denominator;
+    }
+
+    /** cos of a multiple of 30° or 36°, reduced to the first quadrant by symmetry. */
+    private static Surd cosOfMultiple(int degrees, Surd cos60, Surd cos36, Surd cos72) {
+        int d = Math.floorMod(degrees, 360);
+        if (d > 180) d = 360 - d;
+        boolean negate = d > 90;
+        if (negate) d = 180 - d;
+        Surd value = switch (d) {
+            case 0 -> Surd.ONE;
+            // cos 30° = √((1 + cos 60°)/2)
+            case 30 -> rationalSqrt(Surd.ONE.add(cos60).multiply(cos60));
+            case 36 -> cos36;
+            case 60 -> cos60;
+            case 72 -> cos72;
+            case 90 -> Surd.ZERO;
+            default -> throw new IllegalArgumentException("Not a multiple of 30° or 36°: " + degrees);
+        };
+        return negate ? value.negate() : value;
+    }
+
+    /** @return the larger root of {@code ax² + bx + c}, for a > 0 and a positive discriminant */
+    private static Surd largerRoot(long a, long b, long c) {
+        long discriminant = b * b - 4 * a * c;
+        long k = Surd.squarePart(discriminant);
+        return Surd.of(-b, k, discriminant / (k * k), 2 * a);
+    }
+
+    /** @return the square root of a non-negative rational n/d, as √(nd)/d */
+    private static Surd rationalSqrt(Surd rational) {
+        long radicand = rational.a * rational.d;
+        long k = Surd.squarePart(radicand);
+        return Surd.of(0, k, radicand / (k * k), rational.d);
+    }
+
+    private static ExactValue withSign(ExactValue magnitude, int sign) {
+        return sign < 0 ? magnitude.negate() : magnitude;
+    }
+}
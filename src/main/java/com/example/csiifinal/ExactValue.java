@@ -0,0 +1,177 @@
+package com.example.csiifinal;
+
+/**
+ * An exact trigonometric value in the form it is written on the board: a rational such as
+ * {@code 1/2}, a surd such as {@code √3/2} or {@code 2-√3}, a sum of two surds such as
+ * {@code (√6-√2)/4}, a nested radical such as {@code √(10+2√5)/4}, or undefined ({@code DNE}).
+ * <p>
+ * Instances are immutable and format their text once, when they are made, so reading
+ * {@link #toString()} from a cached value costs nothing.
+ */
+public final class ExactValue {
+
+    private enum Form { FLAT, NESTED, UNDEFINED }
+
+    private final Form form;
+    // FLAT: (p√m + q√n) / d, m and n square-free, m = 1 for a rational term
+    // NESTED: p√(q + r√n) / d
+    // UNDEFINED: p is the sign of the side the value runs off to
+    private final long p;
+    private final long m;
+    private final long q;
+    private final long r;
+    private final long n;
+    private final long d;
+    private final double value;
+    private final String text;
+
+    private ExactValue(Form form, long p, long m, long q, long r, long n, long d) {
+        this.form = form;
+        this.p = p;
+        this.m = m;
+        this.q = q;
+        this.r = r;
+        this.n = n;
+        this.d = d;
+        this.value = switch (form) {
+            case FLAT -> (p * Math.sqrt(m) + q * Math.sqrt(n)) / d;
+            case NESTED -> p * Math.sqrt(q + r * Math.sqrt(n)) / d;
+            case UNDEFINED -> p > 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        };
+        this.text = format();
+    }
+
+    /** @return the undefined value, running off to the side of {@code sign} */
+    public static ExactValue undefined(int sign) {
+        return new ExactValue(Form.UNDEFINED, sign, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Takes the square root of a non-negative surd, denesting it where that is possible:
+     * {@code √(a + b√c) = √x ± √y} when {@code a² - b²c} is a perfect square.
+     */
+    static ExactValue sqrt(Surd s) {
+        if (s.signum() < 0) throw new ArithmeticException("Square root of a negative value: " + s);
+        // √((a + b√c) / d) = √((a + b√c) d) / d
+        long a = Math.multiplyExact(s.a, s.d);
+        long b = Math.multiplyExact(s.b, s.d);
+        long denominator = s.d;
+        if (b == 0) {
+            long k = Surd.squarePart(a);
+            return flat(k, a / (k * k), 0, 1, denominator);
+        }
+        long t = Surd.exactSqrt(Math.multiplyExact(a, a) - Math.multiplyExact(Math.multiplyExact(b, b), s.c));
+        if (t >= 0) {
+            // √(a + b√c) = (√(2(a + t)) ± √(2(a - t))) / 2
+            long x = 2 * (a + t);
+            long y = 2 * (a - t);
+            long kx = Surd.squarePart(x);
+            long ky = Surd.squarePart(y);
+            return flat(kx, x / (kx * kx), Long.signum(b) * ky, y / (ky * ky), 2 * denominator);
+        }
+        long g = Surd.squarePart(Surd.gcd(Math.abs(a), Math.abs(b)));
+        long common = Surd.gcd(g, denominator);
+        return new ExactValue(Form.NESTED, g / common, 0, a / (g * g), b / (g * g), s.c, denominator / common);
+    }
+
+    private static ExactValue flat(long p, long m, long q, long n, long d) {
+        if (p == 0 || m == 0) {
+            p = q;
+            m = n;
+            q = 0;
+        }
+        if (q == 0 || n == 0) {
+            q = 0;
+            n = 1;
+        } else if (m == n) {
+            p += q;
+            q = 0;
+            n = 1;
+        }
+        if (p == 0) {
+            m = 1;
+            d = 1;
+        }
+        long g = Surd.gcd(Surd.gcd(Math.abs(p), Math.abs(q)), d);
+        if (g > 1) {
+            p /= g;
+            q /= g;
+            d /= g;
+        }
+        return new ExactValue(Form.FLAT, p, m, q, 0, n, d);
+    }
+
+    public ExactValue negate() {
+        return switch (form) {
+            case FLAT, NESTED -> new ExactValue(form, -p, m, form == Form.FLAT ? -q : q, r, n, d);
+            case UNDEFINED -> undefined((int) -p);
+        };
+    }
+
+    public boolean isDefined() {
+        return form != Form.UNDEFINED;
+    }
+
+    /** @return -1, 0 or 1; for an undefined value, the side it runs off to */
+    public int signum() {
+        return form == Form.UNDEFINED ? (int) p : (int) Math.signum(value);
+    }
+
+    /** @return the value as a double, infinite if it is undefined */
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private String format() {
+        return switch (form) {
+            case UNDEFINED -> "DNE";
+            case NESTED -> (p < 0 ? "-" : "") + (Math.abs(p) == 1 ? "" : Math.abs(p))
+                    + "√(" + q + (r < 0 ? "-" : "+") + term(Math.abs(r), n) + ")" + over();
+            case FLAT -> formatFlat();
+        };
+    }
+
+    private String formatFlat() {
+        if (q == 0) {
+            return (p < 0 ? "-" : "") + term(Math.abs(p), m) + over();
+        }
+        // lead with the rational term, else the larger radicand, and with a positive term if there is one
+        long p1 = p, m1 = m, p2 = q, m2 = n;
+        if (m2 == 1 || (m1 != 1 && m2 > m1)) {
+            p1 = q;
+            m1 = n;
+            p2 = p;
+            m2 = m;
+        }
+        if (p1 < 0 && p2 > 0) {
+            long tp = p1, tm = m1;
+            p1 = p2;
+            m1 = m2;
+            p2 = tp;
+            m2 = tm;
+        }
+        String sign = "";
+        if (p1 < 0) {
+            sign = "-";
+            p1 = -p1;
+            p2 = -p2;
+        }
+        String sum = term(p1, m1) + (p2 < 0 ? "-" : "+") + term(Math.abs(p2), m2);
+        return d == 1 ? sign + sum : sign + "(" + sum + ")" + over();
+    }
+
+    private String over() {
+        return d == 1 ? "" : "/" + d;
+    }
+
+    /** @return {@code k√radicand}, leaving out a coefficient of 1 and a radicand of 1 */
+    private static String term(long k, long radicand) {
+        if (radicand == 1) return Long.toString(k);
+        return (k == 1 ? "" : Long.toString(k)) + "√" + radicand;
+    }
+}
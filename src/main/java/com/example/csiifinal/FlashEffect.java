@@ -0,0 +1,50 @@
+package com.example.csiifinal;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Shape;
+import javafx.util.Duration;
+
+/**
+ * Briefly fills a shape with another color, then puts its resting color back.
+ * <p>
+ * One {@link PauseTransition} is reused for every flash. It runs on the JavaFX pulse, so flashing
+ * creates no threads, and starting a flash while another is showing restarts the pause: the shape
+ * shows the newest color for the full duration and returns to its resting color exactly once,
+ * however fast the flashes come. All methods must be called on the JavaFX Application Thread.
+ */
+public class FlashEffect {
+
+    private final Shape shape;
+    private final Paint restingFill;
+    private final PauseTransition pause;
+
+    /**
+     * @param shape       the shape to flash
+     * @param restingFill the fill to return to after each flash
+     * @param duration    how long a flash stays visible
+     */
+    public FlashEffect(Shape shape, Paint restingFill, Duration duration) {
+        this.shape = shape;
+        this.restingFill = restingFill;
+        this.pause = new PauseTransition(duration);
+        pause.setOnFinished(e -> shape.setFill(restingFill));
+    }
+
+    /** Shows {@code fill} for the flash duration, replacing any flash still showing. */
+    public void flash(Paint fill) {
+        shape.setFill(fill);
+        pause.playFromStart();
+    }
+
+    /** Ends a flash that is showing and puts the resting color back right away. */
+    public void cancel() {
+        pause.stop();
+        shape.setFill(restingFill);
+    }
+
+    public boolean isFlashing() {
+        return pause.getStatus() == Animation.Status.RUNNING;
+    }
+}
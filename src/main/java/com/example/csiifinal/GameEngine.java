@@ -0,0 +1,224 @@
+package com.example.csiifinal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * The unit circle game without a user interface: the {@link GameRules} (score, countdown, target
+ * scheduling and miss weighting), the display mode prompts are asked in, the reaction times of the
+ * player and which quadrants are left open for each prompt.
+ * <p>
+ * Input comes in through {@link #start}, {@link #answer}, {@link #tick}, {@link #setMode} and
+ * {@link #pickNewTarget}; everything that changes goes out to the {@link Listener}s, in the order
+ * the session journal records it. {@link UnitCircleApp} forwards clicks and timer ticks here and
+ * only draws what its listener hears, so the engine runs the same without the JavaFX toolkit, in
+ * tests, benchmarks and simulations. An engine is not thread-safe; each game session has its own.
+ */
+public class GameEngine {
+
+    /** Quadrant bits of {@link #getVisibleQuadrants()}: bit {@code q - 1} is quadrant q. */
+    public static final int QUADRANT_I = 1;
+    public static final int QUADRANT_II = 2;
+    public static final int QUADRANT_III = 4;
+    public static final int QUADRANT_IV = 8;
+    public static final int ALL_QUADRANTS = QUADRANT_I | QUADRANT_II | QUADRANT_III | QUADRANT_IV;
+
+    /** What a view hears from the engine. All methods do nothing by default. */
+    public interface Listener {
+        /** A new prompt is up; {@link #getPromptLabel()} and {@link #getVisibleQuadrants()} describe it. */
+        default void targetChanged(int target) { }
+
+        /** The player clicked {@code angle}; sent before the score changes. */
+        default void answered(int angle, boolean correct) { }
+
+        /** The score moved by {@code delta}; a delta of 0 only asks for a refresh. */
+        default void scoreChanged(int delta, int score) { }
+
+        default void timerTicked(int secondsRemaining) { }
+
+        default void modeChanged(UnitCircleApp.AngleDisplayMode mode) { }
+
+        /** The countdown ran out; answers still count until the game is {@link #reset()}. */
+        default void timeUp(int finalScore) { }
+    }
+
+    private final GameRules rules;
+    private final AngleTable table;
+    private final ReactionTimes reactionTimes;
+    private final LongSupplier nanoClock;
+    private final List<Listener> listeners = new ArrayList<>();
+    private UnitCircleApp.AngleDisplayMode mode = UnitCircleApp.AngleDisplayMode.DEGREES;
+    private boolean running;
+
+    /**
+     * @param angles the angles that can be asked, in ascending order
+     */
+    public GameEngine(int[] angles) {
+        this(angles, new AngleTable(angles), System::nanoTime);
+    }
+
+    /**
+     * @param table     labels of the same angles, possibly shared with other engines
+     * @param nanoClock source of the timestamps reaction times are measured with
+     */
+    public GameEngine(int[] angles, AngleTable table, LongSupplier nanoClock) {
+        this.rules = new GameRules(angles);
+        this.table = table;
+        this.reactionTimes = new ReactionTimes(angles);
+        this.nanoClock = nanoClock;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts a game: score and countdown start over and the first prompt is picked.
+     *
+     * @param nowMillis wall-clock start of the game, in epoch milliseconds
+     */
+    public void start(long seed, long nowMillis) {
+        rules.start(seed, nowMillis);
+        running = true;
+        fireTargetChanged();
+        fireScoreChanged(0);
+    }
+
+    /** Stops the countdown and drops the open prompt; the score stays until {@link #reset()}. */
+    public void stop() {
+        running = false;
+        reactionTimes.cancelPrompt();
+    }
+
+    /** Stops the game and clears score and countdown. */
+    public void reset() {
+        stop();
+        rules.reset();
+        fireScoreChanged(0);
+    }
+
+    /**
+     * Answers the open prompt with {@code angle}: a hit scores a point and brings up the next prompt,
+     * a miss costs a point and weighs the target more.
+     *
+     * @return true if {@code angle} was the target
+     */
+    public boolean answer(int angle) {
+        reactionTimes.answered(nanoClock.getAsLong());
+        boolean correct = angle == rules.getTarget();
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).answered(angle, correct);
+        rules.answer(angle);
+        fireScoreChanged(correct ? 1 : -1);
+        if (correct) fireTargetChanged();
+        return correct;
+    }
+
+    /**
+     * Counts down one second of a running game.
+     *
+     * @return true if that ran out the time
+     */
+    public boolean tick() {
+        if (!running) return false;
+        boolean timeUp = rules.tick();
+        int seconds = rules.getSecondsRemaining();
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).timerTicked(seconds);
+        if (timeUp) {
+            running = false;
+            int score = rules.getScore();
+            for (int i = 0; i < listeners.size(); i++) listeners.get(i).timeUp(score);
+        }
+        return timeUp;
+    }
+
+    /** Switches the function prompts are asked in; the current target stays until the next pick. */
+    public void setMode(UnitCircleApp.AngleDisplayMode mode) {
+        this.mode = mode;
+        rules.setMode(mode.ordinal());
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).modeChanged(mode);
+    }
+
+    /** Replaces the open prompt with a new one. */
+    public int pickNewTarget() {
+        rules.pickNewTarget();
+        fireTargetChanged();
+        return rules.getTarget();
+    }
+
+    /**
+     * Returns the quadrants the player may pick from for the current prompt. A function value
+     * leaves two angles on the circle; sin and tan prompts open the right half (angles below 90° or
+     * above 270°) or the left half, cos prompts the upper half (0° to 180°) or the lower half. Other
+     * modes leave the whole circle open.
+     *
+     * @return a mask of {@link #QUADRANT_I} to {@link #QUADRANT_IV}
+     */
+    public int getVisibleQuadrants() {
+        int angle = rules.getTarget();
+        return switch (mode) {
+            case SIN, TAN -> angle < 90 || angle > 270 ? QUADRANT_I | QUADRANT_IV : QUADRANT_II | QUADRANT_III;
+            case COS -> angle >= 0 && angle <= 180 ? QUADRANT_I | QUADRANT_II : QUADRANT_III | QUADRANT_IV;
+            default -> ALL_QUADRANTS;
+        };
+    }
+
+    /** @return the prompt for the current target, such as {@code "sin: 1/2"} */
+    public String getPromptLabel() {
+        return table.label(table.slot(rules.getTarget()), mode, true);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public UnitCircleApp.AngleDisplayMode getMode() {
+        return mode;
+    }
+
+    public int getTarget() {
+        return rules.getTarget();
+    }
+
+    public int getScore() {
+        return rules.getScore();
+    }
+
+    public int getSecondsRemaining() {
+        return rules.getSecondsRemaining();
+    }
+
+    public TargetScheduler getScheduler() {
+        return rules.getScheduler();
+    }
+
+    /** Replaces the scheduler, e.g. when another learner signs in. Takes effect with the next pick. */
+    public void setScheduler(TargetScheduler scheduler) {
+        rules.setScheduler(scheduler);
+    }
+
+    /** @return the labels of the engine's angles, by slot */
+    public AngleTable getAngleTable() {
+        return table;
+    }
+
+    /** @return reaction times recorded since the engine was made */
+    public ReactionTimes getReactionTimes() {
+        return reactionTimes;
+    }
+
+    private void fireTargetChanged() {
+        int target = rules.getTarget();
+        reactionTimes.promptShown(target, mode, nanoClock.getAsLong());
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).targetChanged(target);
+    }
+
+    private void fireScoreChanged(int delta) {
+        int score = rules.getScore();
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).scoreChanged(delta, score);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The rules of the timed unit circle game, without any UI: the score, the countdown, the display
+ * mode and the current target angle. Which angle is asked next is up to a pluggable
+ * {@link TargetScheduler}, which is told how every prompt was answered; by default that is the
+ * in-memory {@link MissCountScheduler}.
+ * <p>
+ * All randomness comes from one {@link Random} that {@link #start} reseeds, so a session is fully
+ * determined by its seed, its start time, the scheduler state it started with and the sequence of
+ * calls made on it. That is what lets {@link SessionReplay} play a recorded session back without a
+ * display.
+ */
+public class GameRules {
+
+    /** Length of one game. */
+    public static final int GAME_SECONDS = 120;
+    /** Target value before the first prompt of a session. */
+    public static final int NO_TARGET = -1;
+
+    private final int[] angles;
+    private TargetScheduler scheduler;
+    private final Random random = new Random();
+    private int mode;
+    private int target = NO_TARGET;
+    private int score;
+    private int secondsRemaining = GAME_SECONDS;
+
+    /**
+     * @param angles the angles that can be asked, in ascending order
+     */
+    public GameRules(int[] angles) {
+        this(angles, new MissCountScheduler(angles));
+    }
+
+    /**
+     * @param angles    the angles that can be asked, in ascending order
+     * @param scheduler picks the targets; must have been created for the same angles
+     */
+    public GameRules(int[] angles, TargetScheduler scheduler) {
+        this.angles = angles.clone();
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Starts a new game: reseeds the random source, lets the scheduler catch up with the time since
+     * the last game, resets score and countdown, and picks the first target. What the scheduler
+     * learned carries over from earlier games.
+     *
+     * @param nowMillis wall-clock start of the game, in epoch milliseconds
+     */
+    public void start(long seed, long nowMillis) {
+        random.setSeed(seed);
+        scheduler.startSession(nowMillis);
+        score = 0;
+        secondsRemaining = GAME_SECONDS;
+        target = NO_TARGET;
+        pickNewTarget();
+    }
+
+    /** Resets score and countdown without starting a game. */
+    public void reset() {
+        score = 0;
+        secondsRemaining = GAME_SECONDS;
+    }
+
+    /** Picks a new target angle from the scheduler, never the current one. */
+    public int pickNewTarget() {
+        target = angles[scheduler.next(mode, Math.max(-1, indexOf(target)), random)];
+        return target;
+    }
+
+    /**
+     * Scores a click on {@code angle}. A correct answer earns a point and moves on to a new target;
+     * a wrong one costs a point. Either way the scheduler learns how the prompt went.
+     *
+     * @return true if {@code angle} was the target
+     */
+    public boolean answer(int angle) {
+        boolean correct = angle == target;
+        int i = indexOf(target);
+        if (i >= 0) scheduler.graded(mode, i, correct);
+        if (correct) {
+            score++;
+            pickNewTarget();
+        } else {
+            score--;
+        }
+        return correct;
+    }
+
+    /**
+     * Counts down one second.
+     *
+     * @return true if time is up
+     */
+    public boolean tick() {
+        secondsRemaining--;
+        return secondsRemaining <= 0;
+    }
+
+    public TargetScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** Replaces the scheduler, e.g. when another learner signs in. Takes effect with the next pick. */
+    public void setScheduler(TargetScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /** @return the ordinal of the display mode prompts are asked in */
+    public int getMode() {
+        return mode;
+    }
+
+    public void setMode(int mode) {
+        this.mode = mode;
+    }
+
+    /** @return the angles that can be asked, in ascending order */
+    public int[] getAngles() {
+        return angles.clone();
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getSecondsRemaining() {
+        return secondsRemaining;
+    }
+
+    private int indexOf(int angle) {
+        return Arrays.binarySearch(angles, angle);
+    }
+}
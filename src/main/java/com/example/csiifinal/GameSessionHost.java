@@ -0,0 +1,252 @@
+package com.example.csiifinal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs many unit circle games in one JVM, one {@link GameSession} per student.
+ * <p>
+ * What never changes is loaded once and shared by every session: the {@link AngleTable} with its
+ * labels (and through it the {@link ExactTrig} values) and the {@link HighScoreManager}, so the
+ * score file is read once and every final score goes to the same leaderboard. Each session owns
+ * what a game changes: its {@link GameEngine} with score, countdown, miss weights and reaction
+ * times, and its {@link ScoreHistoryManager}.
+ * <p>
+ * Every session's countdown runs on its own virtual thread, which sleeps between ticks and so
+ * costs no platform thread while it waits. When the time is up the session saves its score and
+ * stays readable for {@link #FINISHED_SESSION_MILLIS} ms, so a client can still fetch the result,
+ * then leaves the host. Sessions are independent; calls on one session are serialized by its lock.
+ */
+public class GameSessionHost implements AutoCloseable {
+
+    /** How long a finished game can still be read before the host drops it. */
+    public static final long FINISHED_SESSION_MILLIS = 60_000;
+    static final int HISTORY_SIZE = 50;
+
+    /**
+     * What a client sees of a session at one moment.
+     *
+     * @param prompt           the open prompt, such as {@code "sin: 1/2"}
+     * @param visibleQuadrants quadrants the prompt leaves open, as in {@link GameEngine#getVisibleQuadrants()}
+     */
+    public record State(long id, int score, int secondsRemaining, boolean running, String prompt,
+                        int visibleQuadrants) {
+    }
+
+    private final int[] angles;
+    private final AngleTable table;
+    private final HighScoreManager scores;
+    private final long tickNanos;
+    private final long finishedMillis;
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService countdowns =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-session-", 1).factory());
+
+    /**
+     * @param angles the angles every session asks, in ascending order
+     * @param scores where final scores are saved; shared by all sessions
+     */
+    public GameSessionHost(int[] angles, HighScoreManager scores) {
+        this(angles, scores, Duration.ofSeconds(1), FINISHED_SESSION_MILLIS);
+    }
+
+    /**
+     * @param tick           length of one countdown second, shorter in tests
+     * @param finishedMillis how long a finished session stays readable
+     */
+    GameSessionHost(int[] angles, HighScoreManager scores, Duration tick, long finishedMillis) {
+        this.angles = angles.clone();
+        this.table = new AngleTable(this.angles);
+        this.scores = scores;
+        this.tickNanos = tick.toNanos();
+        this.finishedMillis = finishedMillis;
+    }
+
+    /**
+     * Starts a game for {@code initials} and its countdown.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the host is closed
+     */
+    public GameSession open(String initials, UnitCircleApp.AngleDisplayMode mode) {
+        GameSession session = new GameSession(nextId.getAndIncrement(), initials, mode);
+        sessions.put(session.id, session);
+        try {
+            session.countdown = countdowns.submit(session::countDown);
+        } catch (RuntimeException e) {
+            sessions.remove(session.id);
+            throw e;
+        }
+        return session;
+    }
+
+    /** @return the session with this id, or null if it ended or never existed */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /** Ends a session early, without saving its score. */
+    public void end(long id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) session.cancel();
+    }
+
+    /** @return sessions currently held, finished ones included */
+    public int size() {
+        return sessions.size();
+    }
+
+    /** @return the labels shared by every session */
+    public AngleTable getAngleTable() {
+        return table;
+    }
+
+    /**
+     * Ends every session and waits for their countdowns to stop. An interrupt while waiting ends
+     * the wait and is passed on to the caller's thread.
+     */
+    @Override
+    public void close() {
+        countdowns.shutdownNow();
+        try {
+            countdowns.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sessions.clear();
+    }
+
+    /** One student's game. Safe to call from any thread. */
+    public final class GameSession {
+
+        private final long id;
+        private final String initials;
+        private final UnitCircleApp.AngleDisplayMode mode;
+        private final GameEngine engine;
+        private final ScoreHistoryManager history = new ScoreHistoryManager(HISTORY_SIZE);
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Future<?> countdown;
+
+        private GameSession(long id, String initials, UnitCircleApp.AngleDisplayMode mode) {
+            this.id = id;
+            this.initials = initials;
+            this.mode = mode;
+            this.engine = new GameEngine(angles, table, System::nanoTime);
+            engine.addListener(new GameEngine.Listener() {
+                @Override
+                public void scoreChanged(int delta, int score) {
+                    if (delta != 0) history.record(delta > 0, score);
+                }
+            });
+            engine.setMode(mode);
+            engine.start(System.nanoTime() ^ id, System.currentTimeMillis());
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getInitials() {
+            return initials;
+        }
+
+        /**
+         * Answers the open prompt. Once the time is up answers are ignored.
+         *
+         * @return true if {@code angle} was the target
+         */
+        public boolean answer(int angle) {
+            lock.lock();
+            try {
+                return engine.isRunning() && engine.answer(angle);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public State getState() {
+            lock.lock();
+            try {
+                return new State(id, engine.getScore(), engine.getSecondsRemaining(), engine.isRunning(),
+                        engine.getPromptLabel(), engine.getVisibleQuadrants());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** @return the angle the open prompt asks for; clients only see the prompt */
+        int getTarget() {
+            lock.lock();
+            try {
+                return engine.getTarget();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** @return the answers of this game, oldest first, as {@link ScoreHistoryManager#getHistory()} lists them */
+        public List<String> getHistory() {
+            lock.lock();
+            try {
+                return history.getHistory();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** @return a copy of this session's reaction times, which later answers do not change */
+        public LatencyHistogram getReactionTimes() {
+            lock.lock();
+            try {
+                LatencyHistogram copy = new LatencyHistogram();
+                copy.add(engine.getReactionTimes().overall());
+                return copy;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void countDown() {
+            try {
+                long next = System.nanoTime();
+                boolean timeUp = false;
+                while (!timeUp) {
+                    next += tickNanos;
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) Thread.sleep(Duration.ofNanos(wait));
+                    lock.lock();
+                    try {
+                        timeUp = engine.tick();
+                        // saved under the lock, so whoever sees the game over also finds its score queued
+                        if (timeUp) scores.submitScore(engine.getScore(), initials, mode.name());
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                Thread.sleep(finishedMillis);
+            } catch (InterruptedException e) {
+                // ended early or the host is closing
+            } finally {
+                sessions.remove(id, this);
+            }
+        }
+
+        private void cancel() {
+            Future<?> running = countdown;
+            if (running != null) running.cancel(true);
+            lock.lock();
+            try {
+                engine.stop();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.csiifinal;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP front of a {@link GameSessionHost}, so one headless JVM can run the games of a
+ * whole lab while the kiosks only draw.
+ * <p>
+ * Endpoints, all plain text. A session is reported as one
+ * {@code id,score,secondsRemaining,running,visibleQuadrants,prompt} line:
+ * <ul>
+ *   <li>{@code POST /sessions} with body {@code initials,mode}: starts a game, {@code mode} being one
+ *   of {@link UnitCircleApp.AngleDisplayMode}. Answers {@code 201} with the new session.</li>
+ *   <li>{@code GET /sessions/ID}: the session as it is now.</li>
+ *   <li>{@code POST /sessions/ID/answers} with body {@code angle}: answers the open prompt. Answers
+ *   {@code true} or {@code false}, a newline and the session after the answer.</li>
+ *   <li>{@code DELETE /sessions/ID}: ends the game without saving its score.</li>
+ * </ul>
+ * Unknown or expired sessions get {@code 404}. Every request is handled on its own virtual thread.
+ * <p>
+ * Run {@code GameSessionServer [port] [angles]} to serve on {@code port} (default 8080) with the
+ * angle set named as in {@code --angles} (default {@code special}); the leaderboard of the same
+ * {@link HighScoreManager} is served by a {@link LeaderboardServer} on the next port.
+ */
+public class GameSessionServer implements AutoCloseable {
+
+    private static final int MAX_BODY = 64;
+    private static final String PATH = "/sessions";
+
+    private final GameSessionHost host;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Binds the server. Call {@link #start()} to begin serving.
+     *
+     * @param address address to listen on; port 0 picks a free port
+     */
+    public GameSessionServer(GameSessionHost host, InetSocketAddress address) throws IOException {
+        this.host = host;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(handlers);
+        server.createContext(PATH, this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** @return the port the server is listening on */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** @return the base URI clients should use, e.g. {@code http://127.0.0.1:8080/} */
+    public URI getUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + getPort() + "/");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String rest = exchange.getRequestURI().getPath().substring(PATH.length());
+            if (!rest.isEmpty() && rest.charAt(0) != '/') {
+                sendText(exchange, 404, "not found");
+                return;
+            }
+            // "", "ID" and maybe "answers"; nothing past "" for /sessions itself
+            String[] path = rest.split("/");
+            if (path.length <= 1) {
+                if ("POST".equals(method)) {
+                    handleOpen(exchange);
+                } else {
+                    sendText(exchange, 405, "POST only");
+                }
+                return;
+            }
+            long id;
+            try {
+                id = Long.parseLong(path[1]);
+            } catch (NumberFormatException e) {
+                sendText(exchange, 404, "no such session");
+                return;
+            }
+            GameSessionHost.GameSession session = host.get(id);
+            if (session == null || path.length > 3 || (path.length == 3 && !path[2].equals("answers"))) {
+                sendText(exchange, 404, "no such session");
+                return;
+            }
+            if (path.length == 3) {
+                if ("POST".equals(method)) {
+                    handleAnswer(exchange, session);
+                } else {
+                    sendText(exchange, 405, "POST only");
+                }
+                return;
+            }
+            switch (method) {
+                case "GET" -> sendText(exchange, 200, format(session.getState()));
+                case "DELETE" -> {
+                    host.end(id);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> sendText(exchange, 405, "GET or DELETE only");
+            }
+        }
+    }
+
+    private void handleOpen(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        if (body == null) {
+            sendText(exchange, 413, "body too large");
+            return;
+        }
+        String[] parts = body.split(",", -1);
+        String initials = parts.length == 2 ? parts[0].trim().toUpperCase(Locale.ROOT) : "";
+        if (initials.isEmpty() || initials.length() > BinaryScoreFormat.INITIALS_LENGTH) {
+            sendText(exchange, 400, "expected initials,mode");
+            return;
+        }
+        UnitCircleApp.AngleDisplayMode mode;
+        try {
+            mode = UnitCircleApp.AngleDisplayMode.valueOf(parts[1].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            sendText(exchange, 400, "unknown mode");
+            return;
+        }
+        GameSessionHost.GameSession session = host.open(initials, mode);
+        sendText(exchange, 201, format(session.getState()));
+    }
+
+    private void handleAnswer(HttpExchange exchange, GameSessionHost.GameSession session) throws IOException {
+        String body = readBody(exchange);
+        if (body == null) {
+            sendText(exchange, 413, "body too large");
+            return;
+        }
+        int angle;
+        try {
+            angle = Integer.parseInt(body);
+        } catch (NumberFormatException e) {
+            sendText(exchange, 400, "angle must be a number");
+            return;
+        }
+        boolean correct = session.answer(angle);
+        sendText(exchange, 200, correct + "\n" + format(session.getState()));
+    }
+
+    /** @return the trimmed request body, or null if it is longer than {@value #MAX_BODY} bytes */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readNBytes(MAX_BODY + 1);
+        }
+        return raw.length > MAX_BODY ? null : new String(raw, StandardCharsets.UTF_8).trim();
+    }
+
+    static String format(GameSessionHost.State state) {
+        return state.id() + "," + state.score() + "," + state.secondsRemaining() + "," + state.running() + ","
+                + state.visibleQuadrants() + "," + state.prompt();
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int[] angles = args.length > 1 ? UCAHelpers.angleSet(args[1]) : UCAHelpers.ANGLES;
+        HighScoreManager scores = new HighScoreManager();
+        GameSessionHost host = new GameSessionHost(angles, scores);
+        GameSessionServer sessions = new GameSessionServer(host, new InetSocketAddress(port));
+        LeaderboardServer leaderboard = new LeaderboardServer(scores, new InetSocketAddress(port + 1));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            sessions.close();
+            leaderboard.close();
+            host.close();
+            scores.close();
+            try {
+                AppExecutor.shutdown(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        sessions.start();
+        leaderboard.start();
+        System.out.println("Game sessions at " + sessions.getUri() + "sessions, leaderboard at " + leaderboard.getUri() + "top");
+    }
+}
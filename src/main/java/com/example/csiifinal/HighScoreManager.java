@@ -1,14 +1,14 @@
 package com.example.csiifinal;
 
-import javafx.scene.control.Alert;
-import javafx.scene.control.TextArea;
 import javafx.scene.control.TextInputDialog;
 
-import java.io.*;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class HighScoreManager {
 
@@ -32,56 +32,253 @@ public class HighScoreManager {
         public String toString() {
             return String.format("%d - %s (%s) [%s]", score, initials, timestamp, mode);
         }
+
+        /** @return this entry as a {@code score,initials,timestamp,mode} record */
+        String toRecord() {
+            return score + "," + initials + "," + timestamp + "," + mode;
+        }
+
+        /**
+         * Parses a {@code score,initials,timestamp[,mode]} record.
+         *
+         * @param line the record text
+         * @return the parsed entry, or null if the line is not a valid record
+         */
+        static HighScoreEntry parse(String line) {
+            String[] parts = line.split(",", -1);
+            if (parts.length < 3) return null;
+            try {
+                int score = Integer.parseInt(parts[0].trim());
+                String initials = parts[1].trim();
+                String timestamp = parts[2].trim();
+                String mode = (parts.length >= 4) ? parts[3].trim() : "Unknown";
+                return new HighScoreEntry(score, initials, timestamp, mode);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
     }
 
+    // in-memory leaderboard; also replaced by the write-behind thread, so guarded by its own monitor
     private final List<HighScoreEntry> highScores = new ArrayList<>();
+    private final Path logFile;
+    private final ScoreLog scoreLog;
+    private final ScoreWriteBehind writeBehind;
+    private final ScoreTimeIndex timeIndex;
+    private final PlayerStats playerStats;
+    // bumped after every change to highScores, so readers can cache what they render from it
+    private final AtomicLong leaderboardVersion = new AtomicLong();
 
     public HighScoreManager() {
+        Path csvFile = Paths.get(getHighScoreFilePath());
+        logFile = binaryPathFor(csvFile);
+        // the log doubles as the full score archive behind LeaderboardView, the date-range queries and
+        // the player stats, so it is never compacted and dead records are not reclaimed
+        scoreLog = new ScoreLog(logFile, MAX_ENTRIES, ScoreLog.NEVER_COMPACT);
+        scoreLog.importCsvIfAbsent(csvFile);
+        writeBehind = new ScoreWriteBehind(scoreLog, getFsyncPolicy(), this::onLeaderboardPersisted);
+        timeIndex = new ScoreTimeIndex(logFile);
+        playerStats = new PlayerStats(logFile);
+        playerStats.load();
         loadHighScores();
     }
 
+    /**
+     * Returns where the binary score log lives for a CSV score file: {@code highscores.txt} maps to
+     * {@code highscores.dat} in the same directory.
+     */
+    static Path binaryPathFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        String base = name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+        return csvFile.resolveSibling(base + ".dat");
+    }
+
     protected void loadHighScores() {
-        highScores.clear();
-        try {
-            List<String> lines = Files.readAllLines(Paths.get(getHighScoreFilePath()));
-            for (String line : lines) {
-                String[] parts = line.split(",", -1);
-                if (parts.length >= 3) {
-                    try {
-                        int score = Integer.parseInt(parts[0].trim());
-                        String initials = parts[1].trim();
-                        String timestamp = parts[2].trim();
-                        String mode = (parts.length >= 4) ? parts[3].trim() : "Unknown";
-                        highScores.add(new HighScoreEntry(score, initials, timestamp, mode));
-                    } catch (NumberFormatException ignored) {}
-                }
-            }
-            highScores.sort(Comparator.comparingInt(h -> -h.score));
-        } catch (IOException ignored) {}
+        List<HighScoreEntry> loaded = scoreLog.load();
+        synchronized (highScores) {
+            highScores.clear();
+            highScores.addAll(loaded);
+        }
     }
 
 
     public void trySaveScore(int score, String mode) {
+        writeBehind.requestRefresh();
         if (isHighScore(score)) {
             String initials = promptInitials();
             if (initials == null) return;
 
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date());
-            HighScoreEntry newEntry = new HighScoreEntry(score, initials, timestamp, mode);
-            highScores.add(newEntry);
-            highScores.sort(Comparator.comparingInt(h -> -h.score));
-            if (highScores.size() > MAX_ENTRIES) {
-                highScores.remove(highScores.size() - 1);
+            submitScore(score, initials, mode);
+        }
+    }
+
+    /**
+     * Records a score without prompting, stamped with the current time.
+     * The leaderboard is updated immediately and the entry is queued for the score log, so this
+     * never waits on disk; the leaderboard keeps the top {@value #MAX_ENTRIES}.
+     *
+     * @param score    the final score
+     * @param initials the player's initials
+     * @param mode     the display mode the game was played in
+     * @return true if the score made it onto the leaderboard
+     */
+    public boolean submitScore(int score, String initials, String mode) {
+        String timestamp = LocalDateTime.now().format(BinaryScoreFormat.TIMESTAMP_FORMAT);
+        HighScoreEntry entry = new HighScoreEntry(score, initials, timestamp, mode);
+        boolean onBoard;
+        synchronized (highScores) {
+            onBoard = insertEntry(highScores, entry);
+            // queued under the lock, so a drain rebuilding the board either finds it queued or written
+            writeBehind.submit(entry);
+        }
+        if (onBoard) leaderboardVersion.incrementAndGet();
+        return onBoard;
+    }
+
+    /**
+     * Called on the write-behind thread after each drain with the log's leaderboard, which includes
+     * scores saved by other app instances sharing the same file, and the entries not yet written.
+     */
+    private void onLeaderboardPersisted(List<HighScoreEntry> persisted, Supplier<List<HighScoreEntry>> queued) {
+        playerStats.catchUp();
+        boolean changed;
+        synchronized (highScores) {
+            List<String> before = highScores.stream().map(HighScoreEntry::toRecord).toList();
+            highScores.clear();
+            highScores.addAll(persisted);
+            for (HighScoreEntry entry : queued.get()) {
+                insertEntry(highScores, entry);
             }
-            saveHighScores();
+            changed = !before.equals(highScores.stream().map(HighScoreEntry::toRecord).toList());
+        }
+        if (changed) leaderboardVersion.incrementAndGet();
+    }
+
+    /**
+     * Inserts an entry after any entries with the same score and trims the list to {@value #MAX_ENTRIES}.
+     *
+     * @return true if the entry is still on the list afterwards
+     */
+    private static boolean insertEntry(List<HighScoreEntry> board, HighScoreEntry entry) {
+        int pos = board.size();
+        while (pos > 0 && board.get(pos - 1).score < entry.score) pos--;
+        if (pos >= MAX_ENTRIES) return false;
+        board.add(pos, entry);
+        if (board.size() > MAX_ENTRIES) {
+            board.remove(board.size() - 1);
         }
+        return true;
+    }
+
+    /**
+     * Returns a counter that changes whenever the leaderboard does, so callers can cache anything
+     * derived from {@link #getAllScores()} until it moves.
+     */
+    public long getLeaderboardVersion() {
+        return leaderboardVersion.get();
     }
 
     public boolean isHighScore(int score) {
-        return highScores.size() < MAX_ENTRIES || score > highScores.get(highScores.size() - 1).score;
+        synchronized (highScores) {
+            return isHighScore(highScores, score);
+        }
+    }
+
+    /** @return true if {@code score} would make it onto a leaderboard sorted by descending score */
+    static boolean isHighScore(List<HighScoreEntry> board, int score) {
+        return board.size() < MAX_ENTRIES || score > board.get(board.size() - 1).score;
+    }
+
+    /**
+     * Returns the best scores saved in a time window, searched across the whole archive rather than
+     * only the current top {@value #MAX_ENTRIES}.
+     *
+     * @param from start of the window, inclusive
+     * @param to   end of the window, exclusive
+     * @param n    maximum number of entries to return
+     * @return up to {@code n} entries, highest score first
+     */
+    public List<HighScoreEntry> getTopScoresBetween(LocalDateTime from, LocalDateTime to, int n) {
+        return currentTimeIndex().top(BinaryScoreFormat.toEpochMinute(from), BinaryScoreFormat.toEpochMinute(to), n);
+    }
+
+    /** @return how many scores were saved in {@code [from, to)} */
+    public int countScoresBetween(LocalDateTime from, LocalDateTime to) {
+        return currentTimeIndex().count(BinaryScoreFormat.toEpochMinute(from), BinaryScoreFormat.toEpochMinute(to));
     }
 
-    private String promptInitials() {
+    /**
+     * Counts the scores saved on each day from {@code first} to {@code last}, both inclusive.
+     *
+     * @return day to number of scores, in date order, including days with none
+     */
+    public Map<LocalDate, Integer> getDailyCounts(LocalDate first, LocalDate last) {
+        int days = (int) (last.toEpochDay() - first.toEpochDay() + 1);
+        Map<LocalDate, Integer> result = new LinkedHashMap<>();
+        if (days <= 0) return result;
+        int[] counts = currentTimeIndex().countsPerPeriod(BinaryScoreFormat.toEpochMinute(first.atStartOfDay()), days, 24 * 60);
+        for (int i = 0; i < days; i++) {
+            result.put(first.plusDays(i), counts[i]);
+        }
+        return result;
+    }
+
+    /** Writes queued scores so range queries see them, then brings the time index up to date. */
+    private ScoreTimeIndex currentTimeIndex() {
+        writeBehind.flush();
+        timeIndex.catchUp();
+        return timeIndex;
+    }
+
+    /**
+     * Writes any queued scores to disk and waits for them to land.
+     */
+    public void flush() {
+        writeBehind.flush();
+    }
+
+    /**
+     * Flushes queued scores and stops the background writer. Call when the app shuts down.
+     */
+    public void close() {
+        writeBehind.close();
+        playerStats.catchUp();
+        playerStats.save();
+    }
+
+    /**
+     * Returns a player's games played, best, mean and trend. Covers every score written to the log
+     * so far, including those saved by other seats; answered in constant time.
+     *
+     * @param initials the player's initials
+     * @param mode     the mode name, or null for all modes together
+     */
+    public PlayerStats.Summary getPlayerStats(String initials, String mode) {
+        return playerStats.get(initials, mode);
+    }
+
+    /** @return the initials of every player in the archive */
+    public List<String> getPlayers() {
+        return playerStats.players();
+    }
+
+    /** Recomputes the per-player statistics from the whole score log. */
+    public void rebuildPlayerStats() {
+        writeBehind.flush();
+        playerStats.rebuild();
+    }
+
+    /** @return queue depth and write latency figures for the background score writer */
+    public ScoreWriteBehind.Metrics getPersistenceMetrics() {
+        return writeBehind.getMetrics();
+    }
+
+    /** @return when score writes are forced to disk */
+    protected ScoreWriteBehind.FsyncPolicy getFsyncPolicy() {
+        return ScoreWriteBehind.FsyncPolicy.EVERY_BATCH;
+    }
+
+    static String promptInitials() {
         TextInputDialog dialog = new TextInputDialog();
         dialog.setTitle("New High Score!");
         dialog.setHeaderText("You made it into the Top 20!");
@@ -93,38 +290,17 @@ public class HighScoreManager {
         return initials.length() > 3 ? initials.substring(0, 3) : initials;
     }
 
-    private void saveHighScores() {
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(HIGHSCORE_FILE))) {
-            for (HighScoreEntry entry : highScores) {
-                writer.write(entry.score + "," + entry.initials + "," + entry.timestamp + "," + entry.mode + "\n");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
+    /**
+     * Opens the archive of every saved score. Pending writes are flushed before the archive is read.
+     */
     public void showHighScoresPopup() {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("High Scores");
-        alert.setHeaderText("Top 20 High Scores");
-
-        StringBuilder content = new StringBuilder();
-        int rank = 1;
-        for (HighScoreEntry entry : highScores) {
-            content.append(String.format("%2d. %s\n", rank++, entry));
-        }
-
-        TextArea textArea = new TextArea(content.toString());
-        textArea.setEditable(false);
-        textArea.setWrapText(false);
-        textArea.setPrefSize(400, 400);
-
-        alert.getDialogPane().setContent(textArea);
-        alert.showAndWait();
+        new LeaderboardView(logFile, this::flush).show();
     }
 
     public List<HighScoreEntry> getAllScores() {
-        return new ArrayList<>(highScores);
+        synchronized (highScores) {
+            return new ArrayList<>(highScores);
+        }
     }
 
     protected String getHighScoreFilePath() {
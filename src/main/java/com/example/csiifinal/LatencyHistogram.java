@@ -0,0 +1,166 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size latency histogram with logarithmic buckets, in the style of HdrHistogram.
+ * <p>
+ * Values are recorded in microseconds. Each power of two is split into {@value #HALF_SUB_BUCKETS}
+ * linear sub-buckets, so any recorded value is reported within about 3% of its true value, while
+ * the whole range from 1 µs to about 19 hours fits in {@value #BUCKET_COUNT} counters. Recording is
+ * O(1) and memory does not grow with the number of samples. Percentiles are answered by walking the
+ * buckets, without keeping any individual sample.
+ * <p>
+ * Counters are only kept for the span of buckets recorded so far, which grows when a sample falls
+ * outside it. Reaction times of a few hundred milliseconds to a few seconds need about a hundred
+ * counters rather than all of them, which matters when one JVM hosts many sessions with a
+ * histogram per angle each. Once the span covers the values seen, recording allocates nothing.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int MAX_BITS = 36;
+    private static final long MAX_MICROS = (1L << MAX_BITS) - 1;
+    static final int BUCKET_COUNT = (MAX_BITS - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS;
+
+    private static final long[] NO_COUNTS = new long[0];
+
+    // counts[i] is bucket firstBucket + i
+    private long[] counts = NO_COUNTS;
+    private int firstBucket;
+    private long totalCount;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    /**
+     * Records one latency. Negative values count as zero, values beyond the range as the maximum.
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.min(MAX_MICROS, Math.max(0, nanos / 1000));
+        int bucket = bucketOf(micros);
+        cover(bucket, bucket);
+        counts[bucket - firstBucket]++;
+        totalCount++;
+        totalMicros += micros;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /** Adds every sample of {@code other} to this histogram. */
+    public void add(LatencyHistogram other) {
+        if (other.counts.length > 0) {
+            cover(other.firstBucket, other.firstBucket + other.counts.length - 1);
+            int offset = other.firstBucket - firstBucket;
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[offset + i] += other.counts[i];
+            }
+        }
+        totalCount += other.totalCount;
+        totalMicros += other.totalMicros;
+        minMicros = Math.min(minMicros, other.minMicros);
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalMicros = 0;
+        minMicros = Long.MAX_VALUE;
+        maxMicros = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the latency below which {@code percentile} percent of the samples fall.
+     *
+     * @param percentile 0 to 100, e.g. 99 for p99
+     * @return the latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        if (totalCount == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // middle of the bucket, but never outside what was actually recorded
+                int bucket = firstBucket + i;
+                long mid = (lowestValueOf(bucket) + highestValueOf(bucket)) / 2;
+                return Math.min(maxMicros, Math.max(minMicros, mid)) / 1000.0;
+            }
+        }
+        return maxMicros / 1000.0;
+    }
+
+    public double getP50Millis() {
+        return getPercentileMillis(50);
+    }
+
+    public double getP90Millis() {
+        return getPercentileMillis(90);
+    }
+
+    public double getP99Millis() {
+        return getPercentileMillis(99);
+    }
+
+    public double getMeanMillis() {
+        return totalCount == 0 ? 0 : totalMicros / 1000.0 / totalCount;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros / 1000.0;
+    }
+
+    /** @return how many bucket counters this histogram holds right now */
+    int countersInUse() {
+        return counts.length;
+    }
+
+    /**
+     * Widens the span of counters to include buckets {@code from} to {@code to}. A span that has to
+     * grow grows by at least one power of two's worth of buckets, so a slowly drifting range does
+     * not copy the counters on every new bucket.
+     */
+    private void cover(int from, int to) {
+        int last = firstBucket + counts.length - 1;
+        if (counts.length > 0 && from >= firstBucket && to <= last) return;
+        int newFirst;
+        int newLast;
+        if (counts.length == 0) {
+            newFirst = from;
+            newLast = to;
+        } else {
+            newFirst = from < firstBucket ? Math.min(from, firstBucket - HALF_SUB_BUCKETS) : firstBucket;
+            newLast = to > last ? Math.max(to, last + HALF_SUB_BUCKETS) : last;
+        }
+        newFirst = Math.max(0, newFirst);
+        newLast = Math.min(BUCKET_COUNT - 1, newLast);
+        long[] grown = new long[newLast - newFirst + 1];
+        if (counts.length > 0) System.arraycopy(counts, 0, grown, firstBucket - newFirst, counts.length);
+        counts = grown;
+        firstBucket = newFirst;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        return exponent * HALF_SUB_BUCKETS + (int) (micros >>> exponent);
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / HALF_SUB_BUCKETS - 1;
+        return (long) (bucket - exponent * HALF_SUB_BUCKETS) << exponent;
+    }
+
+    static long highestValueOf(int bucket) {
+        return bucket + 1 < BUCKET_COUNT ? lowestValueOf(bucket + 1) - 1 : MAX_MICROS;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ListView;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client for a {@link LeaderboardServer}, used when a kiosk keeps its scores on another machine.
+ * <p>
+ * All calls are asynchronous so the game never waits on the network. The last leaderboard fetched
+ * is kept together with its {@code ETag}, so polling an unchanged leaderboard only costs an empty
+ * {@code 304} response.
+ */
+public class LeaderboardClient {
+
+    /** The last leaderboard received and the tag it was served with. */
+    private record Snapshot(List<HighScoreEntry> entries, String etag) {
+    }
+
+    private final URI baseUri;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), null);
+
+    /**
+     * @param baseUri server address, e.g. {@code http://lab-host:8080/}
+     */
+    public LeaderboardClient(URI baseUri) {
+        this.baseUri = baseUri.toString().endsWith("/") ? baseUri : URI.create(baseUri + "/");
+    }
+
+    /**
+     * Sends a score to the server.
+     *
+     * @return completes with true if the score made the leaderboard
+     */
+    public CompletableFuture<Boolean> submit(int score, String initials, String mode) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("scores"))
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.ofString(score + "," + initials + "," + mode))
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Score rejected: " + response.statusCode() + " " + response.body());
+            }
+            return Boolean.parseBoolean(response.body().trim());
+        });
+    }
+
+    /**
+     * Fetches the current leaderboard, revalidating the cached copy with {@code If-None-Match}.
+     *
+     * @return completes with the best {@code n} entries
+     */
+    public CompletableFuture<List<HighScoreEntry>> fetchTop(int n) {
+        Snapshot cached = snapshot;
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("top?n=" + LeaderboardServer.MAX_TOP))
+                .timeout(Duration.ofSeconds(5))
+                .GET();
+        if (cached.etag() != null) request.header("If-None-Match", cached.etag());
+
+        return http.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            Snapshot current = snapshot;
+            if (response.statusCode() == 200) {
+                List<HighScoreEntry> entries = new ArrayList<>();
+                for (String line : response.body().split("\n")) {
+                    HighScoreEntry entry = HighScoreEntry.parse(line);
+                    if (entry != null) entries.add(entry);
+                }
+                current = new Snapshot(List.copyOf(entries), response.headers().firstValue("ETag").orElse(null));
+                snapshot = current;
+            } else if (response.statusCode() != 304) {
+                throw new IllegalStateException("Leaderboard request failed: " + response.statusCode());
+            }
+            return current.entries().subList(0, Math.min(n, current.entries().size()));
+        });
+    }
+
+    /** @return the leaderboard as of the last successful fetch */
+    public List<HighScoreEntry> cachedTop() {
+        return snapshot.entries();
+    }
+
+    /**
+     * Game-over flow for client mode: if the score beats the last known leaderboard, asks for
+     * initials and submits in the background. Must be called on the JavaFX thread.
+     */
+    public void trySaveScore(int score, String mode) {
+        if (!HighScoreManager.isHighScore(cachedTop(), score)) {
+            // the cached board may be stale; check again before giving up
+            fetchTop(LeaderboardServer.MAX_TOP).thenAccept(top -> {
+                if (HighScoreManager.isHighScore(top, score)) Platform.runLater(() -> promptAndSubmit(score, mode));
+            }).exceptionally(this::report);
+            return;
+        }
+        promptAndSubmit(score, mode);
+    }
+
+    private void promptAndSubmit(int score, String mode) {
+        String initials = HighScoreManager.promptInitials();
+        if (initials == null) return;
+        submit(score, initials, mode)
+                .thenCompose(onBoard -> fetchTop(LeaderboardServer.MAX_TOP))
+                .exceptionally(this::report);
+    }
+
+    /** Shows the server's leaderboard once it has been fetched. Must be called on the JavaFX thread. */
+    public void showHighScoresPopup() {
+        ListView<HighScoreEntry> list = new ListView<>();
+        list.getItems().setAll(cachedTop());
+        list.setPrefSize(400, 400);
+
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("High Scores");
+        alert.setHeaderText("Top " + LeaderboardServer.MAX_TOP + " High Scores (" + baseUri.getHost() + ")");
+        alert.getDialogPane().setContent(list);
+        alert.show();
+
+        fetchTop(LeaderboardServer.MAX_TOP)
+                .thenAccept(top -> Platform.runLater(() -> list.getItems().setAll(top)))
+                .exceptionally(this::report);
+    }
+
+    private <T> T report(Throwable error) {
+        System.err.println("Leaderboard server unavailable: " + error.getMessage());
+        return null;
+    }
+}
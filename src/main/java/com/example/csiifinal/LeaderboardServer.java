@@ -0,0 +1,186 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP leaderboard so one {@link HighScoreManager} can serve every kiosk in a lab.
+ * <p>
+ * Endpoints, all plain text in the same {@code score,initials,timestamp,mode} record format as the
+ * legacy score file:
+ * <ul>
+ *   <li>{@code GET /top?n=N}: the best N entries (default and maximum {@value #MAX_TOP}), one per line.
+ *   Responses carry an {@code ETag}; a request with a matching {@code If-None-Match} gets an empty
+ *   {@code 304}. Bodies are cached per N and rebuilt only when the leaderboard changes, so repeated
+ *   polls cost a map lookup.</li>
+ *   <li>{@code POST /scores} with body {@code score,initials,mode}: records a score. Answers
+ *   {@code 201} with {@code true} or {@code false} depending on whether it made the leaderboard.</li>
+ * </ul>
+ * Every request is handled on its own virtual thread.
+ */
+public class LeaderboardServer implements AutoCloseable {
+
+    static final int MAX_TOP = 20;
+    private static final int MAX_BODY = 256;
+
+    /** A rendered {@code /top} response and the leaderboard version it was built from. */
+    private record CachedTop(long version, byte[] body, String etag) {
+    }
+
+    private final HighScoreManager manager;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, CachedTop> topCache = new ConcurrentHashMap<>();
+    // distinguishes ETags issued by different server runs, whose versions restart at zero
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Binds the server. Call {@link #start()} to begin serving.
+     *
+     * @param address address to listen on; port 0 picks a free port
+     */
+    public LeaderboardServer(HighScoreManager manager, InetSocketAddress address) throws IOException {
+        this.manager = manager;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(handlers);
+        server.createContext("/top", this::handleTop);
+        server.createContext("/scores", this::handleSubmit);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** @return the port the server is listening on */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** @return the base URI clients should use, e.g. {@code http://127.0.0.1:8080/} */
+    public URI getUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + getPort() + "/");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.close();
+    }
+
+    private void handleTop(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendText(exchange, 405, "GET only");
+                return;
+            }
+            int n = MAX_TOP;
+            String requested = queryParameter(exchange.getRequestURI().getRawQuery(), "n");
+            if (requested != null) {
+                try {
+                    n = Math.max(1, Math.min(MAX_TOP, Integer.parseInt(requested)));
+                } catch (NumberFormatException e) {
+                    sendText(exchange, 400, "n must be a number");
+                    return;
+                }
+            }
+
+            CachedTop top = cachedTop(n);
+            exchange.getResponseHeaders().set("ETag", top.etag());
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (top.etag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, top.body().length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(top.body());
+            }
+        }
+    }
+
+    private CachedTop cachedTop(int n) {
+        // read the version before the scores, so a concurrent change can only make the body newer than its tag
+        long version = manager.getLeaderboardVersion();
+        CachedTop cached = topCache.get(n);
+        if (cached != null && cached.version() == version) return cached;
+
+        StringBuilder body = new StringBuilder();
+        List<HighScoreEntry> scores = manager.getAllScores();
+        for (int i = 0; i < Math.min(n, scores.size()); i++) {
+            body.append(scores.get(i).toRecord()).append('\n');
+        }
+        CachedTop fresh = new CachedTop(version, body.toString().getBytes(StandardCharsets.UTF_8),
+                "\"" + instanceTag + "-" + version + "-" + n + "\"");
+        topCache.put(n, fresh);
+        return fresh;
+    }
+
+    private void handleSubmit(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendText(exchange, 405, "POST only");
+                return;
+            }
+            byte[] raw;
+            try (InputStream in = exchange.getRequestBody()) {
+                raw = in.readNBytes(MAX_BODY + 1);
+            }
+            if (raw.length > MAX_BODY) {
+                sendText(exchange, 413, "body too large");
+                return;
+            }
+            String[] parts = new String(raw, StandardCharsets.UTF_8).trim().split(",", -1);
+            String initials = parts.length >= 2 ? parts[1].trim().toUpperCase() : "";
+            if (parts.length != 3 || initials.isEmpty() || initials.length() > BinaryScoreFormat.INITIALS_LENGTH) {
+                sendText(exchange, 400, "expected score,initials,mode");
+                return;
+            }
+            int score;
+            try {
+                score = Integer.parseInt(parts[0].trim());
+            } catch (NumberFormatException e) {
+                sendText(exchange, 400, "score must be a number");
+                return;
+            }
+            boolean onBoard = manager.submitScore(score, initials, parts[2].trim());
+            sendText(exchange, 201, Boolean.toString(onBoard));
+        }
+    }
+
+    /** @return the decoded value of the first {@code name} parameter in {@code rawQuery}, or null if there is none */
+    static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) return null;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import com.example.csiifinal.ScoreArchive.SortKey;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Window listing every score in the archive.
+ * <p>
+ * The table is backed by {@link ArchiveRows}, which decodes records from the memory-mapped
+ * {@link ScoreArchive} a page at a time as the user scrolls, so only the visible rows ever become
+ * objects. Sorting (by clicking a column header) and filtering (mode, initials prefix, date range)
+ * are done by {@link ScoreArchive#select} on a background thread; the window opens immediately and
+ * shows the rows once the selection is ready.
+ */
+public class LeaderboardView {
+
+    private static final Executor LOADER = AppExecutor.lane("leaderboard-loader");
+
+    private static final String ALL_MODES = "All modes";
+    private static final String UNKNOWN_MODE = "Unknown";
+
+    private final Path logFile;
+    private final Runnable beforeLoad;
+
+    private final TableView<HighScoreEntry> table = new TableView<>();
+    private final ComboBox<String> modeFilter = new ComboBox<>();
+    private final TextField initialsFilter = new TextField();
+    private final DatePicker fromFilter = new DatePicker();
+    private final DatePicker toFilter = new DatePicker();
+    private final Label status = new Label();
+
+    // FX thread only
+    private int latestRequest;
+    private SortKey appliedKey = SortKey.SCORE;
+    private boolean appliedDescending = true;
+
+    // loader thread only, apart from the stale flag
+    private ScoreArchive archive;
+    private volatile boolean stale = true;
+
+    /**
+     * @param logFile    binary score log to show
+     * @param beforeLoad run on the loader thread before the log is (re)opened, e.g. to flush pending writes
+     */
+    public LeaderboardView(Path logFile, Runnable beforeLoad) {
+        this.logFile = logFile;
+        this.beforeLoad = beforeLoad;
+        buildTable();
+    }
+
+    public void show() {
+        modeFilter.getItems().add(ALL_MODES);
+        for (UnitCircleApp.AngleDisplayMode mode : UnitCircleApp.AngleDisplayMode.values()) {
+            modeFilter.getItems().add(mode.name());
+        }
+        modeFilter.getItems().add(UNKNOWN_MODE);
+        modeFilter.setValue(ALL_MODES);
+        initialsFilter.setPromptText("Initials");
+        initialsFilter.setPrefColumnCount(4);
+        fromFilter.setPromptText("From");
+        toFilter.setPromptText("To");
+
+        modeFilter.valueProperty().addListener((obs, oldVal, newVal) -> reload());
+        initialsFilter.textProperty().addListener((obs, oldVal, newVal) -> reload());
+        fromFilter.valueProperty().addListener((obs, oldVal, newVal) -> reload());
+        toFilter.valueProperty().addListener((obs, oldVal, newVal) -> reload());
+
+        Button refresh = new Button("Refresh");
+        refresh.setOnAction(e -> {
+            stale = true;
+            reload();
+        });
+
+        HBox filters = new HBox(8, modeFilter, initialsFilter, fromFilter, toFilter, refresh);
+        filters.setPadding(new Insets(8));
+
+        BorderPane root = new BorderPane(table);
+        root.setTop(filters);
+        root.setBottom(status);
+        BorderPane.setMargin(status, new Insets(4, 8, 4, 8));
+
+        Stage stage = new Stage();
+        stage.setTitle("High Scores");
+        stage.setScene(new Scene(root, 640, 480));
+        stage.show();
+
+        reload();
+    }
+
+    private void buildTable() {
+        TableColumn<HighScoreEntry, String> rankColumn = new TableColumn<>("#");
+        rankColumn.setSortable(false);
+        rankColumn.setCellFactory(col -> new TableCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : String.valueOf(getIndex() + 1));
+            }
+        });
+
+        TableColumn<HighScoreEntry, Integer> scoreColumn = new TableColumn<>("Score");
+        scoreColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().score));
+        scoreColumn.setUserData(SortKey.SCORE);
+
+        TableColumn<HighScoreEntry, String> initialsColumn = new TableColumn<>("Initials");
+        initialsColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().initials));
+        initialsColumn.setUserData(SortKey.INITIALS);
+
+        TableColumn<HighScoreEntry, String> dateColumn = new TableColumn<>("Date");
+        dateColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().timestamp));
+        dateColumn.setUserData(SortKey.DATE);
+        dateColumn.setPrefWidth(140);
+
+        TableColumn<HighScoreEntry, String> modeColumn = new TableColumn<>("Mode");
+        modeColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().mode));
+        modeColumn.setUserData(SortKey.MODE);
+
+        table.getColumns().addAll(List.of(rankColumn, scoreColumn, initialsColumn, dateColumn, modeColumn));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.setPlaceholder(new Label("Loading..."));
+
+        // the rows are sorted by the archive, never by the table itself
+        scoreColumn.setSortType(TableColumn.SortType.DESCENDING);
+        table.getSortOrder().add(scoreColumn);
+        table.setSortPolicy(t -> {
+            if (sortKey() != appliedKey || isDescending() != appliedDescending) reload();
+            return true;
+        });
+    }
+
+    private SortKey sortKey() {
+        return table.getSortOrder().isEmpty() ? SortKey.SCORE : (SortKey) table.getSortOrder().get(0).getUserData();
+    }
+
+    private boolean isDescending() {
+        return table.getSortOrder().isEmpty() || table.getSortOrder().get(0).getSortType() == TableColumn.SortType.DESCENDING;
+    }
+
+    private ScoreArchive.Filter filter() {
+        int mode = ScoreArchive.ANY_MODE;
+        String selectedMode = modeFilter.getValue();
+        if (UNKNOWN_MODE.equals(selectedMode)) {
+            mode = -1;
+        } else if (selectedMode != null && !ALL_MODES.equals(selectedMode)) {
+            mode = UnitCircleApp.AngleDisplayMode.valueOf(selectedMode).ordinal();
+        }
+        String initials = initialsFilter.getText() == null ? "" : initialsFilter.getText().trim();
+        int from = fromFilter.getValue() == null ? Integer.MIN_VALUE : toEpochMinute(fromFilter.getValue());
+        int to = toFilter.getValue() == null ? Integer.MAX_VALUE : toEpochMinute(toFilter.getValue().plusDays(1)) - 1;
+        return new ScoreArchive.Filter(mode, initials, from, to);
+    }
+
+    private static int toEpochMinute(LocalDate date) {
+        return (int) (date.atStartOfDay().toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /** Runs a new selection on the loader thread and swaps it in if nothing newer was requested meanwhile. */
+    private void reload() {
+        ScoreArchive.Filter filter = filter();
+        SortKey key = sortKey();
+        boolean descending = isDescending();
+        appliedKey = key;
+        appliedDescending = descending;
+        int request = ++latestRequest;
+        status.setText("Loading...");
+
+        LOADER.execute(() -> {
+            try {
+                if (stale) {
+                    stale = false;
+                    beforeLoad.run();
+                    archive = ScoreArchive.open(logFile);
+                }
+                ScoreArchive source = archive;
+                int[] rows = source.select(filter, key, descending);
+                Platform.runLater(() -> {
+                    if (request != latestRequest) return;
+                    table.setItems(new ArchiveRows(source, rows));
+                    table.setPlaceholder(new Label("No scores"));
+                    status.setText(String.format("%,d of %,d scores", rows.length, source.size()));
+                });
+            } catch (IOException e) {
+                stale = true;
+                Platform.runLater(() -> status.setText("Could not read scores: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Read-only list over a selection of archive records. Records are decoded in pages of
+     * {@value #PAGE_SIZE} on first access and only the most recently used pages are kept.
+     */
+    static final class ArchiveRows extends ObservableListBase<HighScoreEntry> {
+
+        static final int PAGE_SIZE = 256;
+        private static final int MAX_PAGES = 16;
+
+        private final ScoreArchive archive;
+        private final int[] rows;
+        private final Map<Integer, HighScoreEntry[]> pages = new LinkedHashMap<>(MAX_PAGES * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, HighScoreEntry[]> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+
+        ArchiveRows(ScoreArchive archive, int[] rows) {
+            this.archive = archive;
+            this.rows = rows;
+        }
+
+        @Override
+        public HighScoreEntry get(int index) {
+            if (index < 0 || index >= rows.length) throw new IndexOutOfBoundsException(index);
+            HighScoreEntry[] page = pages.computeIfAbsent(index / PAGE_SIZE, this::loadPage);
+            return page[index % PAGE_SIZE];
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        int cachedPages() {
+            return pages.size();
+        }
+
+        private HighScoreEntry[] loadPage(int pageNumber) {
+            int start = pageNumber * PAGE_SIZE;
+            HighScoreEntry[] page = new HighScoreEntry[Math.min(PAGE_SIZE, rows.length - start)];
+            for (int i = 0; i < page.length; i++) {
+                page[i] = archive.get(rows[start + i]);
+            }
+            return page;
+        }
+    }
+}
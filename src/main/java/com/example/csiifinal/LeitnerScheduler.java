@@ -0,0 +1,218 @@
+package com.example.csiifinal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Leitner-box scheduler with one box per (display mode, angle) item, persisted per learner.
+ * <p>
+ * An item starts outside the boxes. A correct answer moves it up one box, to at most
+ * {@value #MAX_BOX}; a wrong one sends it back to box 1. Lower boxes are asked much more often, so
+ * the game keeps drilling what the learner gets wrong in the mode being played. Every box has a
+ * review interval that doubles from one day in box 1: an item not seen for its interval is due and
+ * weighs double, and one left alone for two intervals or more falls back a box per extra interval,
+ * which models forgetting. That decay is applied lazily, once per game in {@link #startSession}.
+ * <p>
+ * An item's state is one {@code int}: the box in the top bits and the minute of the last review,
+ * counted from 2020, in the low {@value #MINUTE_BITS} bits. The weights live in one
+ * {@link WeightedSampler} over all items, with each mode's angles contiguous, so picking the next
+ * angle of a mode is O(log n) however many modes and angles there are.
+ */
+public class LeitnerScheduler implements TargetScheduler {
+
+    /** Journal id. */
+    public static final int KIND = 1;
+    static final int MAX_BOX = 5;
+    static final int MINUTE_BITS = 26;
+    private static final int MINUTE_MASK = (1 << MINUTE_BITS) - 1;
+    // 2020-01-01T00:00Z
+    private static final long EPOCH_MINUTE = 1_577_836_800L / 60;
+    private static final int DAY_MINUTES = 24 * 60;
+    // review interval per box; box 0 holds items never asked
+    private static final int[] INTERVAL_MINUTES = {0, DAY_MINUTES, 2 * DAY_MINUTES, 4 * DAY_MINUTES, 8 * DAY_MINUTES, 16 * DAY_MINUTES};
+    // how often an item comes up relative to the others, per box
+    private static final int[] BOX_WEIGHT = {6, 24, 8, 4, 2, 1};
+
+    private static final int MAGIC = 0x53525331; // "SRS1"
+    private static final short VERSION = 1;
+
+    private final int[] angles;
+    private final int modes = UnitCircleApp.AngleDisplayMode.values().length;
+    private final int[] states;
+    private final WeightedSampler weights;
+    private int sessionMinute;
+
+    /**
+     * Creates the scheduler of a learner who has not answered anything yet.
+     *
+     * @param angles the angles that can be asked, in ascending order
+     */
+    public LeitnerScheduler(int[] angles) {
+        this.angles = angles.clone();
+        this.states = new int[modes * angles.length];
+        this.weights = new WeightedSampler(states.length, BOX_WEIGHT[0]);
+        this.sessionMinute = toMinute(System.currentTimeMillis());
+    }
+
+    @Override
+    public int kind() {
+        return KIND;
+    }
+
+    @Override
+    public int modes() {
+        return modes;
+    }
+
+    @Override
+    public void startSession(long nowMillis) {
+        sessionMinute = toMinute(nowMillis);
+        for (int item = 0; item < states.length; item++) {
+            int state = states[item];
+            int box = boxOf(state);
+            if (box > 1) {
+                int last = minuteOf(state);
+                // one box lost for every interval beyond the first one past due
+                while (box > 1 && sessionMinute - last >= 2 * INTERVAL_MINUTES[box]) {
+                    last += INTERVAL_MINUTES[box];
+                    box--;
+                }
+                states[item] = pack(box, last);
+            }
+            weights.set(item, weightOf(states[item]));
+        }
+    }
+
+    @Override
+    public int next(int mode, int current, Random random) {
+        int base = itemBase(mode);
+        int excluded = current >= 0 ? base + current : -1;
+        return weights.sampleRange(random, base, base + angles.length, excluded) - base;
+    }
+
+    @Override
+    public void graded(int mode, int angleIndex, boolean correct) {
+        int item = itemBase(mode) + angleIndex;
+        int box = correct ? Math.min(MAX_BOX, boxOf(states[item]) + 1) : 1;
+        states[item] = pack(box, sessionMinute);
+        weights.set(item, weightOf(states[item]));
+    }
+
+    @Override
+    public int getState(int mode, int angleIndex) {
+        return states[itemBase(mode) + angleIndex];
+    }
+
+    @Override
+    public void setState(int mode, int angleIndex, int state) {
+        int item = itemBase(mode) + angleIndex;
+        // a state from a journal is not checked like a learner file; keep its box in range
+        states[item] = pack(Math.min(MAX_BOX, boxOf(state)), minuteOf(state));
+        weights.set(item, weightOf(states[item]));
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(states, 0);
+        weights.fill(BOX_WEIGHT[0]);
+    }
+
+    /** @return the box of {@code angle} in {@code mode}; 0 if it was never asked */
+    public int getBox(UnitCircleApp.AngleDisplayMode mode, int angle) {
+        int i = Arrays.binarySearch(angles, angle);
+        return i >= 0 ? boxOf(getState(mode.ordinal(), i)) : 0;
+    }
+
+    private int itemBase(int mode) {
+        return Math.min(Math.max(mode, 0), modes - 1) * angles.length;
+    }
+
+    private int weightOf(int state) {
+        int box = boxOf(state);
+        boolean due = box > 0 && sessionMinute - minuteOf(state) >= INTERVAL_MINUTES[box];
+        return due ? 2 * BOX_WEIGHT[box] : BOX_WEIGHT[box];
+    }
+
+    static int pack(int box, int minute) {
+        return box << MINUTE_BITS | (minute & MINUTE_MASK);
+    }
+
+    static int boxOf(int state) {
+        return state >>> MINUTE_BITS;
+    }
+
+    static int minuteOf(int state) {
+        return state & MINUTE_MASK;
+    }
+
+    static int toMinute(long epochMillis) {
+        long minute = Math.floorDiv(epochMillis, 60_000L) - EPOCH_MINUTE;
+        return (int) Math.min(MINUTE_MASK, Math.max(0, minute));
+    }
+
+    /**
+     * Writes the learner's state to {@code file}: a small header, the angles, then one int per
+     * item. The file is written to a temporary name and renamed into place, so a crash leaves
+     * either the old or the new state.
+     */
+    public void save(Path file) throws IOException {
+        write(file, encode());
+    }
+
+    /**
+     * Copies the learner's state into the bytes {@link #save} writes. Takes microseconds, so the UI
+     * thread can take the snapshot and leave the {@link #write} to a background thread.
+     */
+    public ByteBuffer encode() {
+        ByteBuffer buf = ByteBuffer.allocate(12 + 4 * angles.length + 4 * states.length);
+        buf.putInt(MAGIC).putShort(VERSION).putShort((short) modes).putInt(angles.length);
+        for (int angle : angles) buf.putInt(angle);
+        for (int state : states) buf.putInt(state);
+        return buf.flip();
+    }
+
+    /** Writes a state from {@link #encode()} to {@code file} the way {@link #save} does. */
+    public static void write(Path file, ByteBuffer state) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        ScoreLog.writeAtomically(file, state.duplicate());
+    }
+
+    /**
+     * Reads a learner's state saved by {@link #save}. Items are matched by mode and angle value,
+     * so a file written for a different set of angles keeps what still applies.
+     *
+     * @return the learner's scheduler, or a new one if {@code file} does not exist
+     * @throws IOException if the file cannot be read or is not a learner file
+     */
+    public static LeitnerScheduler load(Path file, int[] angles) throws IOException {
+        LeitnerScheduler scheduler = new LeitnerScheduler(angles);
+        if (!Files.exists(file)) return scheduler;
+
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.remaining() < 12 || buf.getInt() != MAGIC) throw new IOException("Not a learner file: " + file);
+        short version = buf.getShort();
+        if (version != VERSION) throw new IOException("Unsupported learner file version " + version + ": " + file);
+        int savedModes = buf.getShort();
+        int savedAngles = buf.getInt();
+        if (savedModes < 0 || savedAngles < 0 || buf.remaining() != 4L * savedAngles * (1 + savedModes)) {
+            throw new IOException("Corrupt learner file: " + file);
+        }
+        int[] indexOfSaved = new int[savedAngles];
+        for (int i = 0; i < savedAngles; i++) {
+            indexOfSaved[i] = Arrays.binarySearch(scheduler.angles, buf.getInt());
+        }
+        for (int mode = 0; mode < savedModes; mode++) {
+            for (int i = 0; i < savedAngles; i++) {
+                int state = buf.getInt();
+                if (boxOf(state) > MAX_BOX) throw new IOException("Corrupt learner file: " + file);
+                if (mode < scheduler.modes && indexOfSaved[i] >= 0) scheduler.setState(mode, indexOfSaved[i], state);
+            }
+        }
+        return scheduler;
+    }
+}
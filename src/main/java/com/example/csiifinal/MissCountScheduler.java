@@ -0,0 +1,80 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The original in-memory heuristic: every angle weighs {@code 1 + missCount}, a miss adds
+ * {@value #MISS_PENALTY} to the target's count and a hit takes one off the answered angle. Counts
+ * are shared by all display modes and are not persisted. The state of an item is its miss count.
+ */
+public class MissCountScheduler implements TargetScheduler {
+
+    /** Journal id; also what journals without a scheduler id were recorded with. */
+    public static final int KIND = 0;
+    /** Extra weight a target angle gets each time it is missed. */
+    static final int MISS_PENALTY = 10;
+
+    private final int[] angles;
+    // weight of each angle is 1 + its miss count
+    private final WeightedSampler weights;
+
+    /**
+     * @param angles the angles that can be asked, in ascending order
+     */
+    public MissCountScheduler(int[] angles) {
+        this.angles = angles.clone();
+        this.weights = new WeightedSampler(angles.length, 1);
+    }
+
+    @Override
+    public int kind() {
+        return KIND;
+    }
+
+    @Override
+    public int modes() {
+        return 1;
+    }
+
+    @Override
+    public void startSession(long nowMillis) {
+        // counts carry over unchanged from game to game
+    }
+
+    @Override
+    public int next(int mode, int current, Random random) {
+        return weights.sampleExcluding(random, current);
+    }
+
+    @Override
+    public void graded(int mode, int angleIndex, boolean correct) {
+        int weight = weights.weight(angleIndex);
+        weights.set(angleIndex, correct ? Math.max(1, weight - 1) : weight + MISS_PENALTY);
+    }
+
+    @Override
+    public int getState(int mode, int angleIndex) {
+        return weights.weight(angleIndex) - 1;
+    }
+
+    @Override
+    public void setState(int mode, int angleIndex, int state) {
+        weights.set(angleIndex, 1 + Math.max(0, state));
+    }
+
+    @Override
+    public void clear() {
+        weights.fill(1);
+    }
+
+    public int getMissCount(int angle) {
+        int i = Arrays.binarySearch(angles, angle);
+        return i >= 0 ? getState(0, i) : 0;
+    }
+
+    public void setMissCount(int angle, int count) {
+        int i = Arrays.binarySearch(angles, angle);
+        if (i >= 0) setState(0, i, count);
+    }
+}
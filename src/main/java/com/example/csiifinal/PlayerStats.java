@@ -0,0 +1,257 @@
+package com.example.csiifinal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-player aggregates (games played, best, mean and trend) for every mode, kept up to date as
+ * scores reach the log.
+ * <p>
+ * Each player owns one slot in a set of parallel primitive arrays, with one column per display
+ * mode plus one for unknown modes and one for all modes together. Recording a score updates two
+ * columns in O(1), and {@link #get(String, String)} is a map lookup plus a few array reads, however
+ * large the archive is. The trend is the least-squares slope of score against game number, kept as
+ * running sums so it never needs the individual games.
+ * <p>
+ * The aggregates follow the score log: {@link #catchUp()} applies records appended since the last
+ * call. {@link #save()} checkpoints them to {@code <log>.stats} together with the number of records
+ * applied, so {@link #load()} only replays the tail of the log; a missing or unusable checkpoint is
+ * rebuilt from the whole log. The log is assumed to be append-only.
+ */
+public class PlayerStats {
+
+    /**
+     * Aggregates for one player in one mode.
+     *
+     * @param games number of games played
+     * @param best  highest score, 0 if no games
+     * @param mean  mean score, 0 if no games
+     * @param trend change in score per game (least-squares slope), 0 with fewer than two games
+     */
+    public record Summary(int games, int best, double mean, double trend) {
+        public static final Summary NONE = new Summary(0, 0, 0, 0);
+    }
+
+    private static final int MAGIC = 0x48535053; // "HSPS"
+    private static final int VERSION = 1;
+
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+    private static final int UNKNOWN_COLUMN = MODES.length;
+    private static final int ALL_COLUMN = MODES.length + 1;
+    private static final int COLUMNS = MODES.length + 2;
+
+    private final Path logFile;
+    private final Path statsFile;
+
+    // packed initials -> slot; slot * COLUMNS + column indexes the arrays below
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] players = new long[16];
+    private int[] games = new int[16 * COLUMNS];
+    private int[] best = new int[16 * COLUMNS];
+    private long[] sum = new long[16 * COLUMNS];
+    // sum of (game number * score), for the trend
+    private long[] weightedSum = new long[16 * COLUMNS];
+
+    private long applied;
+
+    public PlayerStats(Path logFile) {
+        this.logFile = logFile;
+        this.statsFile = logFile.resolveSibling(logFile.getFileName() + ".stats");
+    }
+
+    /**
+     * Loads the checkpoint, or rebuilds from the log if there is no usable one, then applies any
+     * records appended since.
+     */
+    public synchronized void load() {
+        if (!readCheckpoint()) {
+            clear();
+        }
+        catchUp();
+    }
+
+    /** Discards the aggregates and recomputes them from the whole log. */
+    public synchronized void rebuild() {
+        clear();
+        catchUp();
+        save();
+    }
+
+    /** Applies records appended to the log since the last call. */
+    public synchronized void catchUp() {
+        try {
+            long records = Files.exists(logFile) ? BinaryScoreFormat.recordCount(Files.size(logFile)) : 0;
+            if (records < applied) {
+                // the log was replaced; start over
+                clear();
+            }
+            if (records == applied) return;
+            ScoreArchive archive = ScoreArchive.open(logFile);
+            while (applied < archive.size() && archive.isCommitted((int) applied)) {
+                int record = (int) applied;
+                record(archive.packedInitials(record), archive.modeOrdinal(record), archive.score(record));
+                applied++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a player's aggregates.
+     *
+     * @param initials the player's initials as saved
+     * @param mode     a mode name as stored with the score, or null for all modes together
+     */
+    public synchronized Summary get(String initials, String mode) {
+        Integer slot = slots.get(pack(initials));
+        if (slot == null) return Summary.NONE;
+        int i = slot * COLUMNS + (mode == null ? ALL_COLUMN : column(BinaryScoreFormat.modeOrdinal(mode)));
+        int n = games[i];
+        if (n == 0) return Summary.NONE;
+        return new Summary(n, best[i], (double) sum[i] / n, trend(n, sum[i], weightedSum[i]));
+    }
+
+    /** @return the initials of every player seen, in order of their first game */
+    public synchronized List<String> players() {
+        List<String> result = new ArrayList<>(slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            result.add(unpack(players[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Writes a checkpoint of the aggregates next to the log. The file is written to a temporary
+     * name and renamed into place, so a crash leaves either the old or the new checkpoint.
+     */
+    public synchronized void save() {
+        int count = slots.size();
+        ByteBuffer buf = ByteBuffer.allocate(24 + count * (8 + COLUMNS * 24));
+        buf.putInt(MAGIC).putInt(VERSION).putLong(applied).putInt(count).putInt(COLUMNS);
+        for (int slot = 0; slot < count; slot++) {
+            buf.putLong(players[slot]);
+            for (int c = 0; c < COLUMNS; c++) {
+                int i = slot * COLUMNS + c;
+                buf.putInt(games[i]).putInt(best[i]).putLong(sum[i]).putLong(weightedSum[i]);
+            }
+        }
+        buf.flip();
+
+        try {
+            ScoreLog.writeAtomically(statsFile, buf);
+        } catch (IOException e) {
+            System.err.println("Error saving player stats: " + e.getMessage());
+        }
+    }
+
+    Path getStatsFile() {
+        return statsFile;
+    }
+
+    private boolean readCheckpoint() {
+        try {
+            if (!Files.exists(statsFile)) return false;
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(statsFile));
+            if (buf.remaining() < 24 || buf.getInt() != MAGIC || buf.getInt() != VERSION) return false;
+            long checkpointApplied = buf.getLong();
+            int count = buf.getInt();
+            if (buf.getInt() != COLUMNS || count < 0 || buf.remaining() != (long) count * (8 + COLUMNS * 24)) return false;
+            long records = Files.exists(logFile) ? BinaryScoreFormat.recordCount(Files.size(logFile)) : 0;
+            if (checkpointApplied > records) return false;
+
+            clear();
+            for (int slot = 0; slot < count; slot++) {
+                slotFor(buf.getLong());
+                for (int c = 0; c < COLUMNS; c++) {
+                    int i = slot * COLUMNS + c;
+                    games[i] = buf.getInt();
+                    best[i] = buf.getInt();
+                    sum[i] = buf.getLong();
+                    weightedSum[i] = buf.getLong();
+                }
+            }
+            applied = checkpointApplied;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void clear() {
+        slots.clear();
+        Arrays.fill(games, 0);
+        Arrays.fill(best, 0);
+        Arrays.fill(sum, 0);
+        Arrays.fill(weightedSum, 0);
+        applied = 0;
+    }
+
+    private void record(long initials, int modeOrdinal, int score) {
+        int base = slotFor(initials) * COLUMNS;
+        add(base + column(modeOrdinal), score);
+        add(base + ALL_COLUMN, score);
+    }
+
+    private void add(int i, int score) {
+        if (games[i] == 0 || score > best[i]) best[i] = score;
+        weightedSum[i] += (long) games[i] * score;
+        sum[i] += score;
+        games[i]++;
+    }
+
+    private int slotFor(long initials) {
+        Integer slot = slots.get(initials);
+        if (slot != null) return slot;
+        int next = slots.size();
+        if (next == players.length) {
+            int newLength = players.length * 2;
+            players = Arrays.copyOf(players, newLength);
+            games = Arrays.copyOf(games, newLength * COLUMNS);
+            best = Arrays.copyOf(best, newLength * COLUMNS);
+            sum = Arrays.copyOf(sum, newLength * COLUMNS);
+            weightedSum = Arrays.copyOf(weightedSum, newLength * COLUMNS);
+        }
+        players[next] = initials;
+        slots.put(initials, next);
+        return next;
+    }
+
+    private static int column(int modeOrdinal) {
+        return modeOrdinal >= 0 && modeOrdinal < MODES.length ? modeOrdinal : UNKNOWN_COLUMN;
+    }
+
+    /** Least-squares slope of score against game number 0..n-1, from running sums. */
+    private static double trend(int n, long sum, long weightedSum) {
+        if (n < 2) return 0;
+        double meanX = (n - 1) / 2.0;
+        double sxx = (double) n * (n * (double) n - 1) / 12.0;
+        return (weightedSum - meanX * sum) / sxx;
+    }
+
+    /** Packs initials the same way {@link ScoreArchive} reads them: three chars, zero-padded. */
+    private static long pack(String initials) {
+        long packed = 0;
+        for (int i = 0; i < BinaryScoreFormat.INITIALS_LENGTH; i++) {
+            packed = (packed << 16) | (i < initials.length() ? initials.charAt(i) : '\0');
+        }
+        return packed;
+    }
+
+    private static String unpack(long packed) {
+        StringBuilder initials = new StringBuilder(BinaryScoreFormat.INITIALS_LENGTH);
+        for (int shift = 32; shift >= 0; shift -= 16) {
+            char c = (char) (packed >>> shift);
+            if (c != '\0') initials.append(c);
+        }
+        return initials.toString();
+    }
+}
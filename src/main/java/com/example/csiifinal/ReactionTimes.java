@@ -0,0 +1,84 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+
+/**
+ * Tracks how long a student takes to answer each prompt, per target angle and per display mode.
+ * <p>
+ * {@link #promptShown} stamps the moment a prompt appears; the first {@link #answered} after it
+ * records the elapsed time into the histogram of the prompt's angle and of its mode. Later clicks
+ * on the same prompt (retries after a miss) are not reaction times and are ignored. There is one
+ * {@link LatencyHistogram} per angle and per mode, so memory is fixed however long a session runs.
+ */
+public class ReactionTimes {
+
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+
+    private final int[] angles;
+    private final LatencyHistogram[] byAngle;
+    private final LatencyHistogram[] byMode = new LatencyHistogram[MODES.length];
+
+    // the open prompt, or -1 once it has been answered
+    private int promptAngleIndex = -1;
+    private int promptMode;
+    private long promptNanos;
+
+    /**
+     * @param angles the angles that can be prompted, in ascending order
+     */
+    public ReactionTimes(int[] angles) {
+        this.angles = angles.clone();
+        this.byAngle = new LatencyHistogram[angles.length];
+        for (int i = 0; i < angles.length; i++) byAngle[i] = new LatencyHistogram();
+        for (int i = 0; i < MODES.length; i++) byMode[i] = new LatencyHistogram();
+    }
+
+    /** Marks the moment a prompt for {@code angle} appeared. */
+    public void promptShown(int angle, UnitCircleApp.AngleDisplayMode mode, long nanoTime) {
+        promptAngleIndex = Arrays.binarySearch(angles, angle);
+        promptMode = mode.ordinal();
+        promptNanos = nanoTime;
+    }
+
+    /**
+     * Records the reaction time for the open prompt, if it has not been answered yet.
+     *
+     * @return the reaction time in nanoseconds, or -1 if there was no open prompt
+     */
+    public long answered(long nanoTime) {
+        if (promptAngleIndex < 0) return -1;
+        long elapsed = nanoTime - promptNanos;
+        byAngle[promptAngleIndex].recordNanos(elapsed);
+        byMode[promptMode].recordNanos(elapsed);
+        promptAngleIndex = -1;
+        return elapsed;
+    }
+
+    /** Drops the open prompt without recording anything, e.g. when the game ends. */
+    public void cancelPrompt() {
+        promptAngleIndex = -1;
+    }
+
+    /** @return the histogram for {@code angle}; empty for angles that are never prompted */
+    public LatencyHistogram forAngle(int angle) {
+        int i = Arrays.binarySearch(angles, angle);
+        return i >= 0 ? byAngle[i] : new LatencyHistogram();
+    }
+
+    public LatencyHistogram forMode(UnitCircleApp.AngleDisplayMode mode) {
+        return byMode[mode.ordinal()];
+    }
+
+    /** @return every reaction time recorded, merged across modes */
+    public LatencyHistogram overall() {
+        LatencyHistogram all = new LatencyHistogram();
+        for (LatencyHistogram histogram : byMode) all.add(histogram);
+        return all;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : byAngle) histogram.reset();
+        for (LatencyHistogram histogram : byMode) histogram.reset();
+        promptAngleIndex = -1;
+    }
+}
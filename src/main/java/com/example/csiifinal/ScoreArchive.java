@@ -0,0 +1,187 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only, random-access view over every record in a binary score log.
+ * <p>
+ * The log is memory-mapped, so opening an archive costs the same whether it holds a hundred records
+ * or ten million; records are decoded only when asked for. {@link #select(Filter, SortKey, boolean)}
+ * filters and sorts on the raw fields using primitive arrays and returns the matching record
+ * numbers, which a viewer can then page through lazily.
+ * <p>
+ * The archive is a snapshot of the records present when it was opened.
+ */
+public class ScoreArchive {
+
+    /** Column a selection is ordered by. Ties always keep log order. */
+    public enum SortKey {
+        SCORE, DATE, INITIALS, MODE
+    }
+
+    /**
+     * Which records to select. Fields left at their defaults match everything.
+     *
+     * @param modeOrdinal    {@link UnitCircleApp.AngleDisplayMode} ordinal to match, -1 for unknown modes, or
+     *                       {@link #ANY_MODE}
+     * @param initialsPrefix case-insensitive prefix the initials must start with; empty matches all
+     * @param fromMinute     earliest epoch minute, inclusive
+     * @param toMinute       latest epoch minute, inclusive
+     */
+    public record Filter(int modeOrdinal, String initialsPrefix, int fromMinute, int toMinute) {
+        public static final Filter ALL = new Filter(ANY_MODE, "", Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        boolean matchesEverything() {
+            return modeOrdinal == ANY_MODE && initialsPrefix.isEmpty()
+                    && fromMinute == Integer.MIN_VALUE && toMinute == Integer.MAX_VALUE;
+        }
+    }
+
+    public static final int ANY_MODE = Integer.MIN_VALUE;
+
+    // 1 GiB per mapping; a multiple of the record size, so no record straddles two mappings
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+
+    private ScoreArchive(MappedByteBuffer[] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Maps a binary score log. A missing or empty file gives an empty archive.
+     */
+    public static ScoreArchive open(Path logFile) throws IOException {
+        if (!Files.exists(logFile)) return new ScoreArchive(new MappedByteBuffer[0], 0);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < BinaryScoreFormat.HEADER_SIZE
+                    || !BinaryScoreFormat.isValidHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryScoreFormat.HEADER_SIZE))) {
+                return new ScoreArchive(new MappedByteBuffer[0], 0);
+            }
+            long records = Math.min(BinaryScoreFormat.recordCount(fileSize), Integer.MAX_VALUE);
+            long end = BinaryScoreFormat.offsetOf(records);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((end + CHUNK_MASK) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << CHUNK_SHIFT, end - start));
+            }
+            return new ScoreArchive(chunks, (int) records);
+        }
+    }
+
+    /** @return the number of records in the archive */
+    public int size() {
+        return size;
+    }
+
+    /** Decodes record {@code index} (in log order). */
+    public HighScoreEntry get(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index);
+        return BinaryScoreFormat.decode(chunks[(int) (offset >>> CHUNK_SHIFT)], (int) (offset & CHUNK_MASK));
+    }
+
+    public int score(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index);
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    public int epochMinute(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index) + 10;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    public int modeOrdinal(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index) + 14;
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+    }
+
+    boolean isCommitted(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index);
+        return BinaryScoreFormat.isCommitted(chunks[(int) (offset >>> CHUNK_SHIFT)], (int) (offset & CHUNK_MASK));
+    }
+
+    /** @return the three initials chars packed into the low 48 bits, first char highest */
+    long packedInitials(int index) {
+        long offset = BinaryScoreFormat.offsetOf(index) + 4;
+        MappedByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int pos = (int) (offset & CHUNK_MASK);
+        return ((long) chunk.getChar(pos) << 32) | ((long) chunk.getChar(pos + 2) << 16) | chunk.getChar(pos + 4);
+    }
+
+    /**
+     * Selects the records matching a filter, ordered by a sort key.
+     *
+     * @return record numbers in display order
+     */
+    public int[] select(Filter filter, SortKey sortKey, boolean descending) {
+        int[] matches = new int[size];
+        int count = 0;
+        char[] prefix = filter.initialsPrefix().toUpperCase().toCharArray();
+        for (int i = 0; i < size; i++) {
+            if (!isCommitted(i)) continue;
+            if (!filter.matchesEverything() && !matches(filter, prefix, i)) continue;
+            matches[count++] = i;
+        }
+
+        // sort (key << 32 | record) so that equal keys keep log order and no boxing is needed
+        long[] initialsRanks = sortKey == SortKey.INITIALS ? distinctInitials(matches, count) : null;
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int record = matches[i];
+            long key = switch (sortKey) {
+                case SCORE -> score(record);
+                case DATE -> epochMinute(record);
+                case MODE -> modeOrdinal(record);
+                case INITIALS -> Arrays.binarySearch(initialsRanks, packedInitials(record));
+            };
+            if (descending) key = ~key; // stays within int range, unlike negation of MIN_VALUE
+            keys[i] = (key << 32) | record;
+        }
+        Arrays.sort(keys);
+
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    private boolean matches(Filter filter, char[] prefix, int record) {
+        if (filter.modeOrdinal() != ANY_MODE && modeOrdinal(record) != filter.modeOrdinal()) return false;
+        int minute = epochMinute(record);
+        if (minute < filter.fromMinute() || minute > filter.toMinute()) return false;
+        if (prefix.length > BinaryScoreFormat.INITIALS_LENGTH) return false;
+        long initials = packedInitials(record);
+        for (int i = 0; i < prefix.length; i++) {
+            char c = (char) (initials >>> (32 - 16 * i));
+            if (Character.toUpperCase(c) != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    /** @return the sorted distinct packed initials of the matched records, used as dense sort ranks */
+    private long[] distinctInitials(int[] matches, int count) {
+        long[] all = new long[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = packedInitials(matches[i]);
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || all[i] != all[i - 1]) all[distinct++] = all[i];
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming parser for {@code score,initials,timestamp[,mode]} CSV score files.
+ * <p>
+ * The file is decoded chunk by chunk into one reusable {@link CharBuffer} and each line is parsed in
+ * place: the score is read digit by digit, the timestamp is turned straight into an epoch minute and
+ * the mode into an {@link UnitCircleApp.AngleDisplayMode} ordinal, and the initials are handed out as a
+ * reused {@link CharSequence} view. No Strings or arrays are created per line, so archives with
+ * millions of rows load without an allocation spike.
+ * <p>
+ * Parsed records are pushed into a {@link ScoreSink}; {@link TopK} and {@link ModeStats} cover the
+ * common cases of building a leaderboard or summary without materializing every row. Lines are
+ * accepted and rejected by the same rules as {@link HighScoreEntry#parse(String)}.
+ */
+public final class ScoreCsvParser {
+
+    /** Receives each parsed record. The initials view is only valid during the call. */
+    @FunctionalInterface
+    public interface ScoreSink {
+        /**
+         * @param score       the score
+         * @param initials    the trimmed initials; copy it if it must outlive this call
+         * @param epochMinute wall-clock minutes since the epoch, or {@link BinaryScoreFormat#NO_TIMESTAMP}
+         * @param modeOrdinal the {@link UnitCircleApp.AngleDisplayMode} ordinal, or -1 if unknown
+         */
+        void accept(int score, CharSequence initials, int epochMinute, int modeOrdinal);
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char[][] MODE_NAMES = Arrays.stream(UnitCircleApp.AngleDisplayMode.values())
+            .map(m -> m.name().toCharArray())
+            .toArray(char[][]::new);
+
+    private final ByteBuffer bytes;
+    private CharBuffer chars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final Field initials = new Field();
+
+    public ScoreCsvParser() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    ScoreCsvParser(int bufferSize) {
+        bytes = ByteBuffer.allocate(bufferSize);
+        chars = CharBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Parses every record in the channel into the sink. The channel is read to its end but not closed.
+     *
+     * @return the number of records passed to the sink
+     */
+    public long parse(ReadableByteChannel channel, ScoreSink sink) throws IOException {
+        decoder.reset();
+        bytes.clear();
+        chars.clear();
+        long records = 0;
+        boolean eof = false;
+        while (true) {
+            if (!eof && channel.read(bytes) == -1) eof = true;
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, eof);
+            bytes.compact();
+            boolean done = eof && result.isUnderflow();
+            if (done) decoder.flush(chars);
+
+            chars.flip();
+            records += parseLines(sink, done);
+            chars.compact();
+            if (done) return records;
+            if (result.isOverflow() && !chars.hasRemaining()) {
+                // a single line longer than the buffer; rare enough to simply grow
+                CharBuffer bigger = CharBuffer.allocate(chars.capacity() * 2);
+                chars.flip();
+                bigger.put(chars);
+                chars = bigger;
+            }
+        }
+    }
+
+    /** Parses the complete lines in {@link #chars}, leaving a trailing partial line unread. */
+    private int parseLines(ScoreSink sink, boolean last) {
+        char[] a = chars.array();
+        int base = chars.arrayOffset();
+        int start = base + chars.position();
+        int limit = base + chars.limit();
+        int records = 0;
+        for (int i = start; i < limit; i++) {
+            if (a[i] == '\n') {
+                if (parseLine(a, start, i, sink)) records++;
+                start = i + 1;
+            }
+        }
+        if (last && start < limit) {
+            if (parseLine(a, start, limit, sink)) records++;
+            start = limit;
+        }
+        chars.position(start - base);
+        return records;
+    }
+
+    private boolean parseLine(char[] a, int start, int end, ScoreSink sink) {
+        int c1 = indexOf(a, ',', start, end);
+        if (c1 < 0) return false;
+        int c2 = indexOf(a, ',', c1 + 1, end);
+        if (c2 < 0) return false;
+        int c3 = indexOf(a, ',', c2 + 1, end);
+        int timestampEnd = c3 < 0 ? end : c3;
+
+        long score = parseInt(a, start, c1);
+        if (score == Long.MIN_VALUE) return false;
+
+        int initialsStart = trimStart(a, c1 + 1, c2);
+        initials.set(a, initialsStart, trimEnd(a, initialsStart, c2));
+
+        int tsStart = trimStart(a, c2 + 1, timestampEnd);
+        int epochMinute = parseTimestamp(a, tsStart, trimEnd(a, tsStart, timestampEnd));
+
+        int mode = -1;
+        if (c3 >= 0) {
+            int c4 = indexOf(a, ',', c3 + 1, end);
+            int modeStart = trimStart(a, c3 + 1, c4 < 0 ? end : c4);
+            mode = modeOrdinal(a, modeStart, trimEnd(a, modeStart, c4 < 0 ? end : c4));
+        }
+
+        sink.accept((int) score, initials, epochMinute, mode);
+        return true;
+    }
+
+    private static int indexOf(char[] a, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == c) return i;
+        }
+        return -1;
+    }
+
+    // same notion of whitespace as String.trim()
+    private static int trimStart(char[] a, int from, int to) {
+        while (from < to && a[from] <= ' ') from++;
+        return from;
+    }
+
+    private static int trimEnd(char[] a, int from, int to) {
+        while (to > from && a[to - 1] <= ' ') to--;
+        return to;
+    }
+
+    /** @return the parsed int, or {@link Long#MIN_VALUE} where {@link Integer#parseInt} would throw */
+    private static long parseInt(char[] a, int from, int to) {
+        from = trimStart(a, from, to);
+        to = trimEnd(a, from, to);
+        if (from == to) return Long.MIN_VALUE;
+        boolean negative = a[from] == '-';
+        if (negative || a[from] == '+') from++;
+        if (from == to) return Long.MIN_VALUE;
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = a[i] - '0';
+            if (digit < 0 || digit > 9) return Long.MIN_VALUE;
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) return Long.MIN_VALUE;
+        }
+        if (negative) value = -value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /** Parses {@code yyyy-MM-dd HH:mm} into wall-clock minutes since the epoch. */
+    static int parseTimestamp(char[] a, int from, int to) {
+        if (to - from != 16 || a[from + 4] != '-' || a[from + 7] != '-' || a[from + 10] != ' ' || a[from + 13] != ':') {
+            return BinaryScoreFormat.NO_TIMESTAMP;
+        }
+        int year = digits(a, from, 4);
+        int month = digits(a, from + 5, 2);
+        int day = digits(a, from + 8, 2);
+        int hour = digits(a, from + 11, 2);
+        int minute = digits(a, from + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return BinaryScoreFormat.NO_TIMESTAMP;
+        }
+        // like the SMART resolver used by BinaryScoreFormat, clamp e.g. Feb 30 to the month's last day
+        day = Math.min(day, daysInMonth(year, month));
+        long epochMinute = daysFromCivil(year, month, day) * 1440 + hour * 60 + minute;
+        return epochMinute > Integer.MAX_VALUE ? BinaryScoreFormat.NO_TIMESTAMP : (int) epochMinute;
+    }
+
+    private static int digits(char[] a, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = a[i] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /** Days since 1970-01-01 for a proleptic Gregorian date (H. Hinnant's algorithm). */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int modeOrdinal(char[] a, int from, int to) {
+        for (int m = 0; m < MODE_NAMES.length; m++) {
+            if (Arrays.equals(a, from, to, MODE_NAMES[m], 0, MODE_NAMES[m].length)) return m;
+        }
+        return -1;
+    }
+
+    /** Reusable view over a slice of the parser's character buffer. */
+    private static final class Field implements CharSequence {
+        private char[] array;
+        private int start;
+        private int end;
+
+        void set(char[] array, int start, int end) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return array[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new String(array, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(array, start, end - start);
+        }
+    }
+
+    /**
+     * Keeps the {@code k} highest scores seen, in primitive arrays. Entries with equal scores keep the
+     * order they were read in, matching the leaderboard's ordering.
+     */
+    public static final class TopK implements ScoreSink {
+        private final int k;
+        private final int[] scores;
+        private final int[] epochMinutes;
+        private final byte[] modes;
+        private final char[] initials;
+        private final byte[] initialsLength;
+        private int size;
+
+        public TopK(int k) {
+            this.k = k;
+            scores = new int[k];
+            epochMinutes = new int[k];
+            modes = new byte[k];
+            initials = new char[k * BinaryScoreFormat.INITIALS_LENGTH];
+            initialsLength = new byte[k];
+        }
+
+        @Override
+        public void accept(int score, CharSequence initials, int epochMinute, int modeOrdinal) {
+            if (size == k && scores[k - 1] >= score) return;
+            int pos = size < k ? size : k - 1;
+            while (pos > 0 && scores[pos - 1] < score) {
+                copy(pos - 1, pos);
+                pos--;
+            }
+            if (size < k) size++;
+            scores[pos] = score;
+            epochMinutes[pos] = epochMinute;
+            modes[pos] = (byte) modeOrdinal;
+            int length = Math.min(initials.length(), BinaryScoreFormat.INITIALS_LENGTH);
+            for (int i = 0; i < length; i++) {
+                this.initials[pos * BinaryScoreFormat.INITIALS_LENGTH + i] = initials.charAt(i);
+            }
+            initialsLength[pos] = (byte) length;
+        }
+
+        private void copy(int from, int to) {
+            scores[to] = scores[from];
+            epochMinutes[to] = epochMinutes[from];
+            modes[to] = modes[from];
+            System.arraycopy(initials, from * BinaryScoreFormat.INITIALS_LENGTH,
+                    initials, to * BinaryScoreFormat.INITIALS_LENGTH, BinaryScoreFormat.INITIALS_LENGTH);
+            initialsLength[to] = initialsLength[from];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** @return the kept scores as entries, highest first */
+        public List<HighScoreEntry> toEntries() {
+            List<HighScoreEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new HighScoreEntry(scores[i],
+                        new String(initials, i * BinaryScoreFormat.INITIALS_LENGTH, initialsLength[i]),
+                        BinaryScoreFormat.fromEpochMinute(epochMinutes[i]),
+                        BinaryScoreFormat.modeName(modes[i])));
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Count, sum, minimum and maximum score per display mode. Records whose mode is missing or not an
+     * {@link UnitCircleApp.AngleDisplayMode} are reported under a {@code null} mode.
+     */
+    public static final class ModeStats implements ScoreSink {
+        private final long[] count = new long[MODE_NAMES.length + 1];
+        private final long[] sum = new long[MODE_NAMES.length + 1];
+        private final int[] min = new int[MODE_NAMES.length + 1];
+        private final int[] max = new int[MODE_NAMES.length + 1];
+
+        public ModeStats() {
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        @Override
+        public void accept(int score, CharSequence initials, int epochMinute, int modeOrdinal) {
+            int slot = modeOrdinal + 1;
+            count[slot]++;
+            sum[slot] += score;
+            min[slot] = Math.min(min[slot], score);
+            max[slot] = Math.max(max[slot], score);
+        }
+
+        public long count(UnitCircleApp.AngleDisplayMode mode) {
+            return count[slot(mode)];
+        }
+
+        public double mean(UnitCircleApp.AngleDisplayMode mode) {
+            int slot = slot(mode);
+            return count[slot] == 0 ? 0 : (double) sum[slot] / count[slot];
+        }
+
+        public int min(UnitCircleApp.AngleDisplayMode mode) {
+            return min[slot(mode)];
+        }
+
+        public int max(UnitCircleApp.AngleDisplayMode mode) {
+            return max[slot(mode)];
+        }
+
+        public long total() {
+            long total = 0;
+            for (long c : count) total += c;
+            return total;
+        }
+
+        private static int slot(UnitCircleApp.AngleDisplayMode mode) {
+            return mode == null ? 0 : mode.ordinal() + 1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.csiifinal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts high score files between the legacy {@code score,initials,timestamp,mode} CSV format and
+ * the fixed-width binary format described in {@link BinaryScoreFormat}.
+ * <p>
+ * Both directions stream record by record and write to a temporary file that is moved into place
+ * when complete. Can also be run from the command line:
+ * <pre>
+ * java com.example.csiifinal.ScoreFileConverter csv2bin highscores.txt highscores.dat
+ * java com.example.csiifinal.ScoreFileConverter bin2csv highscores.dat highscores.txt
+ * </pre>
+ */
+public class ScoreFileConverter {
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private ScoreFileConverter() {
+    }
+
+    /**
+     * Converts a CSV score file to the binary format. Lines that do not parse are skipped.
+     *
+     * @return the number of records written
+     */
+    public static long csvToBinary(Path csv, Path binary) throws IOException {
+        Path temp = binary.resolveSibling(binary.getFileName() + ".import");
+        long count;
+        try (FileChannel in = FileChannel.open(csv, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(BUFFER_RECORDS * BinaryScoreFormat.RECORD_SIZE);
+            BinaryScoreFormat.writeHeader(buf);
+            IOException[] writeFailure = new IOException[1];
+            count = new ScoreCsvParser().parse(in, (score, initials, epochMinute, mode) -> {
+                if (buf.remaining() < BinaryScoreFormat.RECORD_SIZE && writeFailure[0] == null) {
+                    try {
+                        drain(buf, out);
+                    } catch (IOException e) {
+                        writeFailure[0] = e;
+                    }
+                }
+                if (writeFailure[0] == null) {
+                    BinaryScoreFormat.encode(score, initials, epochMinute, (byte) mode, buf);
+                }
+            });
+            if (writeFailure[0] != null) throw writeFailure[0];
+            drain(buf, out);
+        }
+        ScoreLog.replace(temp, binary);
+        return count;
+    }
+
+    /**
+     * Converts a binary score file back to CSV, in file order.
+     *
+     * @return the number of records written
+     */
+    public static long binaryToCsv(Path binary, Path csv) throws IOException {
+        Path temp = csv.resolveSibling(csv.getFileName() + ".export");
+        long count = 0;
+        try (FileChannel in = FileChannel.open(binary, StandardOpenOption.READ);
+             BufferedWriter writer = Files.newBufferedWriter(temp)) {
+            long size = in.size();
+            if (size < BinaryScoreFormat.HEADER_SIZE
+                    || !BinaryScoreFormat.isValidHeader(in.map(FileChannel.MapMode.READ_ONLY, 0, BinaryScoreFormat.HEADER_SIZE))) {
+                throw new IOException("Not a binary score file: " + binary);
+            }
+            long end = BinaryScoreFormat.offsetOf(BinaryScoreFormat.recordCount(size));
+            long chunk = (long) BUFFER_RECORDS * 256 * BinaryScoreFormat.RECORD_SIZE;
+            for (long base = BinaryScoreFormat.HEADER_SIZE; base < end; base += chunk) {
+                int length = (int) Math.min(chunk, end - base);
+                MappedByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, base, length);
+                for (int pos = 0; pos < length; pos += BinaryScoreFormat.RECORD_SIZE) {
+                    if (!BinaryScoreFormat.isCommitted(buf, pos)) continue;
+                    writer.write(BinaryScoreFormat.decode(buf, pos).toRecord());
+                    writer.write('\n');
+                    count++;
+                }
+            }
+        }
+        ScoreLog.replace(temp, csv);
+        return count;
+    }
+
+    private static void drain(ByteBuffer buf, FileChannel out) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("csv2bin") || args[0].equals("bin2csv"))) {
+            System.err.println("Usage: ScoreFileConverter csv2bin|bin2csv <input> <output>");
+            System.exit(1);
+        }
+        Path in = Paths.get(args[1]);
+        Path out = Paths.get(args[2]);
+        long count = args[0].equals("csv2bin") ? csvToBinary(in, out) : binaryToCsv(in, out);
+        System.out.println("Converted " + count + " records to " + out);
+    }
+}
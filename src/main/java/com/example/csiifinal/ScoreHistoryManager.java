@@ -3,33 +3,79 @@ package com.example.csiifinal;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextArea;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 
+/**
+ * Keeps the most recent answers of a game in a fixed-capacity ring buffer.
+ * <p>
+ * Each answer is stored as primitives (correctness, score after the answer and a
+ * {@link System#nanoTime()} stamp), so {@link #record(boolean, int)} never allocates or formats.
+ * Text is only produced when the history is shown, exported or read through {@link #getHistory()}.
+ */
 public class ScoreHistoryManager {
-    private final Queue<String> history = new LinkedList<>();
-    private final int maxSize;
+    private final boolean[] correct;
+    private final int[] scores;
+    private final long[] nanoTimes;
+    // index of the oldest event and number of events held
+    private int head;
+    private int size;
 
     public ScoreHistoryManager(int maxSize) {
-        this.maxSize = maxSize;
+        this.correct = new boolean[maxSize];
+        this.scores = new int[maxSize];
+        this.nanoTimes = new long[maxSize];
     }
 
     public void record(boolean isCorrect, int currentScore) {
-        String entry = String.format("%s (%s)",
-                isCorrect ? "✔ Correct" : "✘ Incorrect",
-                "Score: " + currentScore
-        );
-
-        history.add(entry);
-        if (history.size() > maxSize) {
-            history.poll();
+        int capacity = scores.length;
+        if (capacity == 0) return;
+        int slot = head + size;
+        if (slot >= capacity) slot -= capacity;
+        correct[slot] = isCorrect;
+        scores[slot] = currentScore;
+        nanoTimes[slot] = System.nanoTime();
+        if (size < capacity) {
+            size++;
+        } else if (++head == capacity) {
+            head = 0;
         }
     }
 
     public void clear() {
-        history.clear();
+        head = 0;
+        size = 0;
+    }
+
+    /** @return the number of events held, at most the capacity */
+    public int size() {
+        return size;
+    }
+
+    /** @return whether event {@code i} (0 = oldest) was a correct answer */
+    public boolean isCorrect(int i) {
+        return correct[slot(i)];
+    }
+
+    /** @return the score after event {@code i} (0 = oldest) */
+    public int scoreAt(int i) {
+        return scores[slot(i)];
+    }
+
+    /** @return the {@link System#nanoTime()} at which event {@code i} (0 = oldest) was recorded */
+    public long nanoTimeAt(int i) {
+        return nanoTimes[slot(i)];
+    }
+
+    /**
+     * Writes the history, oldest first, one line per event.
+     */
+    public void export(Appendable out) throws IOException {
+        for (int i = 0; i < size; i++) {
+            out.append(format(i)).append('\n');
+        }
     }
 
     public void showPopup() {
@@ -38,8 +84,10 @@ public class ScoreHistoryManager {
         alert.setHeaderText("Recent Actions");
 
         StringBuilder content = new StringBuilder();
-        for (String s : history) {
-            content.append(s).append("\n");
+        try {
+            export(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
         }
 
         TextArea textArea = new TextArea(content.toString());
@@ -50,7 +98,22 @@ public class ScoreHistoryManager {
         alert.getDialogPane().setContent(textArea);
         alert.showAndWait();
     }
+
     public List<String> getHistory() {
-        return new ArrayList<>(history);
+        List<String> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            history.add(format(i));
+        }
+        return history;
+    }
+
+    private String format(int i) {
+        return (isCorrect(i) ? "✔ Correct" : "✘ Incorrect") + " (Score: " + scoreAt(i) + ")";
+    }
+
+    private int slot(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        int slot = head + i;
+        return slot >= scores.length ? slot - scores.length : slot;
     }
 }
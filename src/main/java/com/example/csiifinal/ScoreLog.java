@@ -0,0 +1,547 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Append-only, log-structured store for high score entries.
+ * <p>
+ * Every saved score is appended as one fixed-width record (see {@link BinaryScoreFormat}) to the end
+ * of the log file, so a save costs a single small write no matter how large the file has grown.
+ * A compact sidecar index ({@code <log>.idx}) remembers the offsets of the records currently on the
+ * leaderboard. The log is read through a {@link MappedByteBuffer}, so startup with a valid index only
+ * touches the pages holding those records, and a full scan reads just the score of each record.
+ * <p>
+ * Records that fall off the leaderboard stay in the log as dead entries. Once their number passes
+ * {@link #DEFAULT_COMPACTION_THRESHOLD}, a background compaction rewrites the log with only the live
+ * records, unless the log was opened with {@link #NEVER_COMPACT}. The app's own log is: it is also
+ * the archive every score is browsed, counted and aggregated from (see {@link ScoreArchive},
+ * {@link ScoreTimeIndex} and {@link PlayerStats}), so it keeps every record and grows by
+ * {@value BinaryScoreFormat#RECORD_SIZE} bytes a game. Compaction is for logs that only need the
+ * leaderboard. Legacy CSV files are imported with {@link ScoreFileConverter}.
+ * <p>
+ * Several app instances may share one log. Every write happens under an exclusive lock on
+ * {@code <log>.lock}, and before writing, a store first reads any records other writers appended
+ * since it last looked, so their entries are merged rather than overwritten. The index and
+ * compacted log are written to temporary files and atomically renamed into place, so readers
+ * never see a torn file.
+ */
+public class ScoreLog {
+
+    /** Number of dead records tolerated before a compaction is scheduled. */
+    static final int DEFAULT_COMPACTION_THRESHOLD = 256;
+
+    /** Compaction threshold for logs that must keep every record, e.g. because they serve as an archive. */
+    public static final int NEVER_COMPACT = Integer.MAX_VALUE;
+
+    private static final int INDEX_MAGIC = 0x48534958; // "HSIX"
+    private static final int INDEX_VERSION = 3;
+
+    // records mapped per chunk when scanning, so huge logs do not need one giant mapping
+    private static final int MAP_CHUNK_RECORDS = 1 << 22;
+
+    // FileChannel locks are held per JVM, so threads sharing a log also need an in-process monitor
+    private static final Map<Path, Object> PATH_MONITORS = new ConcurrentHashMap<>();
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final Path lockFile;
+    private final Object pathMonitor;
+    private final int capacity;
+    private final int compactionThreshold;
+
+    // live leaderboard entries, sorted by descending score, with the log offset of each record
+    private final List<HighScoreEntry> live = new ArrayList<>();
+    private final List<Long> liveOffsets = new ArrayList<>();
+
+    // total number of records in the log, live or dead
+    private int recordCount;
+    // how much of the log this instance has seen, and which compaction of it
+    private long knownLength;
+    private long generation;
+    private boolean compactionPending;
+
+    private final Executor compactor = AppExecutor.lane("score-log-compaction");
+
+    /** Work done while holding the log's file lock. */
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    public ScoreLog(Path logFile, int capacity) {
+        this(logFile, capacity, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public ScoreLog(Path logFile, int capacity, int compactionThreshold) {
+        this.logFile = logFile;
+        this.indexFile = logFile.resolveSibling(logFile.getFileName() + ".idx");
+        this.lockFile = logFile.resolveSibling(logFile.getFileName() + ".lock");
+        this.pathMonitor = PATH_MONITORS.computeIfAbsent(logFile.toAbsolutePath().normalize(), p -> new Object());
+        this.capacity = capacity;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Loads the leaderboard. Uses the sidecar index when it matches the log, otherwise scans the
+     * log once and rebuilds the index.
+     *
+     * @return the live entries sorted by descending score
+     */
+    public synchronized List<HighScoreEntry> load() {
+        reset();
+        if (!Files.exists(logFile)) return leaderboard();
+
+        withLock(() -> {
+            if (!loadFromIndex()) {
+                rebuildFromLog();
+                writeIndex();
+            }
+            catchUp();
+            return null;
+        });
+        return leaderboard();
+    }
+
+    /**
+     * Merges in any records other writers have added since this store last read the log.
+     *
+     * @return the live entries sorted by descending score
+     */
+    public synchronized List<HighScoreEntry> refresh() {
+        if (Files.exists(logFile)) {
+            withLock(() -> {
+                catchUp();
+                return null;
+            });
+        }
+        return leaderboard();
+    }
+
+    /**
+     * Appends a record to the log and updates the leaderboard and index.
+     *
+     * @param entry the entry to persist
+     * @return true if the entry made it onto the leaderboard
+     */
+    public synchronized boolean append(HighScoreEntry entry) {
+        return appendAll(List.of(entry), false) == 1;
+    }
+
+    /**
+     * Appends a batch of records with a single lock acquisition, write and index update.
+     *
+     * @param entries the entries to persist, in order
+     * @param force   whether to fsync the log before releasing the lock
+     * @return how many of the entries made it onto the leaderboard, or -1 if they could not be
+     *         written; then none of them are in the log and the caller may try again
+     */
+    public synchronized int appendAll(List<HighScoreEntry> entries, boolean force) {
+        if (entries.isEmpty()) return 0;
+        Integer onBoard = withLock(() -> {
+            catchUp();
+            long offset = appendRecords(entries, force);
+            int inserted = 0;
+            for (HighScoreEntry entry : entries) {
+                recordCount++;
+                if (insertLive(entry, offset)) inserted++;
+                offset += BinaryScoreFormat.RECORD_SIZE;
+            }
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                // the records are in the log; readers of the older index catch up by scanning past it
+                e.printStackTrace();
+            }
+            return inserted;
+        });
+        if (onBoard == null) return -1;
+        if (deadCount() > compactionThreshold && !compactionPending) {
+            compactionPending = true;
+            try {
+                compactor.execute(this::compact);
+            } catch (RejectedExecutionException e) {
+                // shutting down; the next append schedules it again
+                compactionPending = false;
+            }
+        }
+        return onBoard;
+    }
+
+    /** Forces everything written to the log so far to stable storage. */
+    public synchronized void force() {
+        if (!Files.exists(logFile)) return;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Rewrites the log so that it contains only live records, then rewrites the index to match.
+     * The new log is written to a temporary file and atomically moved into place.
+     */
+    public synchronized void compact() {
+        compactionPending = false;
+        withLock(() -> {
+            catchUp();
+            Path temp = logFile.resolveSibling(logFile.getFileName() + ".compact");
+            List<Long> offsets = new ArrayList<>(live.size());
+            ByteBuffer buf = ByteBuffer.allocate(BinaryScoreFormat.HEADER_SIZE + live.size() * BinaryScoreFormat.RECORD_SIZE);
+            BinaryScoreFormat.writeHeader(buf);
+            for (HighScoreEntry entry : live) {
+                offsets.add((long) buf.position());
+                BinaryScoreFormat.encode(entry, buf);
+            }
+            buf.flip();
+            long offset = buf.limit();
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) out.write(buf);
+            }
+            try {
+                replace(temp, logFile);
+            } catch (IOException e) {
+                // on Windows a live mapping of the log blocks the rename; try again on the next compaction
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            liveOffsets.clear();
+            liveOffsets.addAll(offsets);
+            recordCount = live.size();
+            knownLength = offset;
+            generation++;
+            writeIndex();
+            return null;
+        });
+    }
+
+    /**
+     * Imports a legacy CSV score file if this log does not exist yet. Runs under the log lock, so
+     * when several seats start at once only the first one imports.
+     *
+     * @param csv the CSV file to import
+     */
+    public synchronized void importCsvIfAbsent(Path csv) {
+        if (Files.exists(logFile) || !Files.exists(csv)) return;
+        withLock(() -> {
+            if (!Files.exists(logFile)) {
+                ScoreFileConverter.csvToBinary(csv, logFile);
+            }
+            return null;
+        });
+    }
+
+    public synchronized List<HighScoreEntry> leaderboard() {
+        return Collections.unmodifiableList(new ArrayList<>(live));
+    }
+
+    /** @return number of records in the log that are no longer on the leaderboard */
+    public synchronized int deadCount() {
+        return recordCount - live.size();
+    }
+
+    public synchronized int recordCount() {
+        return recordCount;
+    }
+
+    Path getIndexFile() {
+        return indexFile;
+    }
+
+    private void reset() {
+        live.clear();
+        liveOffsets.clear();
+        recordCount = 0;
+        knownLength = 0;
+        generation = 0;
+    }
+
+    /**
+     * Runs an action while holding both the in-process monitor and the exclusive file lock for this log.
+     * I/O failures are reported and leave the in-memory leaderboard as it was before the failing step.
+     */
+    private <T> T withLock(LockedAction<T> action) {
+        synchronized (pathMonitor) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return action.run();
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Brings the in-memory state up to date with the files on disk. If another writer compacted
+     * the log, the leaderboard is reloaded from the index; otherwise only the records appended
+     * after {@link #knownLength} are read.
+     */
+    private void catchUp() throws IOException {
+        if (!Files.exists(logFile)) return;
+
+        long diskGeneration = readIndexGeneration();
+        long size = Files.size(logFile);
+        if (diskGeneration != generation || size < knownLength) {
+            reset();
+            generation = Math.max(diskGeneration, 0);
+            if (!loadFromIndex()) {
+                rebuildFromLog();
+                return;
+            }
+            size = Files.size(logFile);
+        }
+        if (size > knownLength) {
+            scanFrom(knownLength);
+        }
+    }
+
+    /**
+     * Inserts an entry into the live list, keeping entries with equal scores in log order,
+     * and evicts the lowest entry once the list is over capacity.
+     */
+    private boolean insertLive(HighScoreEntry entry, long offset) {
+        int pos = live.size();
+        while (pos > 0 && live.get(pos - 1).score < entry.score) pos--;
+        if (pos >= capacity) return false;
+
+        live.add(pos, entry);
+        liveOffsets.add(pos, offset);
+        if (live.size() > capacity) {
+            live.remove(live.size() - 1);
+            liveOffsets.remove(liveOffsets.size() - 1);
+        }
+        return true;
+    }
+
+    /** @return true if a record with this score would make it onto the leaderboard */
+    private boolean qualifies(int score) {
+        return live.size() < capacity || live.get(live.size() - 1).score < score;
+    }
+
+    /**
+     * Writes the records at the end of the log. Once they are written a failed truncate or fsync
+     * is only reported: the records are in the log and must not be appended a second time.
+     *
+     * @return the offset of the first appended record
+     * @throws IOException if the records could not be written; then none of them are in the log
+     */
+    private long appendRecords(List<HighScoreEntry> entries, boolean force) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < BinaryScoreFormat.HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(BinaryScoreFormat.HEADER_SIZE);
+                BinaryScoreFormat.writeHeader(header);
+                header.flip();
+                channel.write(header, 0);
+                size = BinaryScoreFormat.HEADER_SIZE;
+            }
+            // a writer that died mid-record leaves a partial record behind; overwrite it
+            long offset = BinaryScoreFormat.offsetOf(BinaryScoreFormat.recordCount(size));
+            ByteBuffer records = ByteBuffer.allocate(entries.size() * BinaryScoreFormat.RECORD_SIZE);
+            for (HighScoreEntry entry : entries) {
+                BinaryScoreFormat.encode(entry, records);
+            }
+            records.flip();
+            long end = offset + records.remaining();
+            try {
+                for (long position = offset; records.hasRemaining(); ) {
+                    position += channel.write(records, position);
+                }
+            } catch (IOException e) {
+                // drop whatever part of the batch got written, so a retry does not find it twice
+                try {
+                    channel.truncate(offset);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+            knownLength = end;
+            try {
+                channel.truncate(end);
+                if (force) channel.force(false);
+            } catch (IOException e) {
+                // written, only maybe not on disk yet; a later fsync of the log still covers these records
+                e.printStackTrace();
+            }
+            return offset;
+        }
+    }
+
+    private void rebuildFromLog() throws IOException {
+        scanFrom(BinaryScoreFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Scans the records from {@code start} to the end of the log through a memory mapping, in
+     * chunks so that logs larger than 2 GB still work. Only the score of each record is read; the
+     * rest is decoded just for records that make it onto the leaderboard.
+     */
+    private void scanFrom(long start) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < BinaryScoreFormat.HEADER_SIZE
+                    || !BinaryScoreFormat.isValidHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryScoreFormat.HEADER_SIZE))) {
+                knownLength = size;
+                return;
+            }
+            long end = BinaryScoreFormat.offsetOf(BinaryScoreFormat.recordCount(size));
+            long chunk = (long) MAP_CHUNK_RECORDS * BinaryScoreFormat.RECORD_SIZE;
+            for (long base = Math.max(start, BinaryScoreFormat.HEADER_SIZE); base < end; base += chunk) {
+                int length = (int) Math.min(chunk, end - base);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+                for (int pos = 0; pos < length; pos += BinaryScoreFormat.RECORD_SIZE) {
+                    if (!BinaryScoreFormat.isCommitted(buf, pos)) continue;
+                    recordCount++;
+                    if (qualifies(BinaryScoreFormat.scoreAt(buf, pos))) {
+                        insertLive(BinaryScoreFormat.decode(buf, pos), base + pos);
+                    }
+                }
+            }
+            knownLength = end;
+        }
+    }
+
+    private long readIndexGeneration() throws IOException {
+        if (!Files.exists(indexFile)) return 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) return -1;
+            return in.readLong();
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Loads the leaderboard from the sidecar index. The index may lag behind the log if a writer
+     * stopped between appending and reindexing; {@link #catchUp()} reads whatever follows.
+     *
+     * @return false if the index is missing, from another version, or does not match the log
+     */
+    private boolean loadFromIndex() throws IOException {
+        if (!Files.exists(indexFile)) return false;
+
+        // nothing is assigned until the whole index has been read and checked, so a rejected index
+        // leaves the store as it was for the full scan that follows
+        long indexGeneration;
+        long indexLength;
+        int indexRecordCount;
+        long[] offsets;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) return false;
+            indexGeneration = in.readLong();
+            indexLength = in.readLong();
+            if (indexLength > Files.size(logFile)) return false;
+            indexRecordCount = in.readInt();
+            offsets = new long[in.readInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+        } catch (EOFException e) {
+            return false;
+        }
+
+        List<HighScoreEntry> entries = new ArrayList<>(offsets.length);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long end = BinaryScoreFormat.offsetOf(BinaryScoreFormat.recordCount(channel.size()));
+            MappedByteBuffer buf = end > BinaryScoreFormat.HEADER_SIZE && end <= Integer.MAX_VALUE
+                    ? channel.map(FileChannel.MapMode.READ_ONLY, 0, end)
+                    : null;
+            for (long offset : offsets) {
+                HighScoreEntry entry = buf == null ? readRecordAt(channel, offset, end) : readRecordAt(buf, offset, end);
+                // index points somewhere unexpected; fall back to a full scan
+                if (entry == null) return false;
+                entries.add(entry);
+            }
+        }
+        generation = indexGeneration;
+        knownLength = indexLength;
+        recordCount = indexRecordCount;
+        live.addAll(entries);
+        for (long offset : offsets) liveOffsets.add(offset);
+        return true;
+    }
+
+    /** Reads a record out of a mapping of the whole log; only the pages it sits on are touched. */
+    private static HighScoreEntry readRecordAt(MappedByteBuffer buf, long offset, long end) {
+        if (!isRecordOffset(offset, end) || !BinaryScoreFormat.isCommitted(buf, (int) offset)) return null;
+        return BinaryScoreFormat.decode(buf, (int) offset);
+    }
+
+    /** Fallback for logs too large to map in one piece. */
+    private static HighScoreEntry readRecordAt(FileChannel channel, long offset, long end) throws IOException {
+        if (!isRecordOffset(offset, end)) return null;
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, BinaryScoreFormat.RECORD_SIZE);
+        return BinaryScoreFormat.isCommitted(buf, 0) ? BinaryScoreFormat.decode(buf, 0) : null;
+    }
+
+    private static boolean isRecordOffset(long offset, long end) {
+        return offset >= BinaryScoreFormat.HEADER_SIZE && offset < end
+                && (offset - BinaryScoreFormat.HEADER_SIZE) % BinaryScoreFormat.RECORD_SIZE == 0;
+    }
+
+    private void writeIndex() throws IOException {
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(generation);
+            out.writeLong(knownLength);
+            out.writeInt(recordCount);
+            out.writeInt(liveOffsets.size());
+            for (long offset : liveOffsets) {
+                out.writeLong(offset);
+            }
+        }
+        replace(temp, indexFile);
+    }
+
+    /**
+     * Writes {@code contents} to a temporary file next to {@code target} and moves it into place
+     * with {@link #replace}, so a crash leaves either the old or the new file.
+     */
+    static void writeAtomically(Path target, ByteBuffer contents) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) channel.write(contents);
+        }
+        replace(temp, target);
+    }
+
+    /**
+     * Renames {@code source} over {@code target}, atomically where the file system supports it.
+     * Every file the app rewrites in place goes through here.
+     */
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory index of a score log ordered by time, for date-range queries.
+ * <p>
+ * Records are kept sorted by their epoch-minute timestamp (ties in log order), so the records of any
+ * time window form one contiguous slice found with two binary searches. Counting scores in a window
+ * is therefore O(log n). A max segment tree over the scores in time order answers "top N in a
+ * window" in O(N log n) without looking at the rest of the window.
+ * <p>
+ * The index reads the log through a {@link ScoreArchive} and picks up appended records in
+ * {@link #catchUp()}. Records appended in time order are added in O(log n) each; an out-of-order
+ * record (e.g. from a seat with a skewed clock) triggers a re-sort. The log is assumed to be
+ * append-only; if it shrinks, the index is rebuilt from scratch.
+ */
+public class ScoreTimeIndex {
+
+    private final Path logFile;
+
+    private ScoreArchive archive;
+    private int indexed;
+
+    // (epochMinute << 32 | record number), sorted; scores[i] belongs to keys[i]
+    private long[] keys = new long[16];
+    private int[] scores = new int[16];
+    private int size;
+    private boolean sorted = true;
+
+    // bottom-up max tree over positions; tree[capacity + i] = i, inner nodes hold the best child position
+    private int[] tree;
+    private int capacity;
+    private boolean treeValid;
+
+    public ScoreTimeIndex(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Indexes any records appended to the log since the last call.
+     */
+    public synchronized void catchUp() {
+        long records;
+        try {
+            records = Files.exists(logFile) ? BinaryScoreFormat.recordCount(Files.size(logFile)) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (records < indexed) {
+            size = 0;
+            indexed = 0;
+            sorted = true;
+            treeValid = false;
+        }
+        if (records == indexed) return;
+
+        try {
+            archive = ScoreArchive.open(logFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int end = archive.size();
+        while (indexed < end && archive.isCommitted(indexed)) {
+            add(archive.epochMinute(indexed), indexed, archive.score(indexed));
+            indexed++;
+        }
+    }
+
+    /** @return the number of scores recorded in {@code [fromMinute, toMinute)} */
+    public synchronized int count(int fromMinute, int toMinute) {
+        ensureSorted();
+        return Math.max(0, lowerBound(toMinute) - lowerBound(fromMinute));
+    }
+
+    /**
+     * Counts scores per consecutive period, e.g. per day with a period of 1440 minutes.
+     *
+     * @return {@code counts[i]} = scores in {@code [fromMinute + i*period, fromMinute + (i+1)*period)}
+     */
+    public synchronized int[] countsPerPeriod(int fromMinute, int periods, int periodMinutes) {
+        ensureSorted();
+        int[] counts = new int[periods];
+        int start = lowerBound(fromMinute);
+        for (int i = 0; i < periods; i++) {
+            int end = lowerBound((int) Math.min(Integer.MAX_VALUE, (long) fromMinute + (long) (i + 1) * periodMinutes));
+            counts[i] = end - start;
+            start = end;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the best {@code n} scores recorded in {@code [fromMinute, toMinute)}, highest first.
+     * Equal scores are listed oldest first.
+     */
+    public synchronized List<HighScoreEntry> top(int fromMinute, int toMinute, int n) {
+        ensureSorted();
+        ensureTree();
+        List<HighScoreEntry> result = new ArrayList<>();
+        int lo = lowerBound(fromMinute);
+        int hi = lowerBound(toMinute);
+        if (lo >= hi || n <= 0) return result;
+
+        // each candidate range [start, end) is keyed by the position of its best score
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compare(a[2], b[2]));
+        ranges.add(new int[]{lo, hi, argmax(lo, hi)});
+        while (result.size() < n && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            result.add(archive.get((int) keys[best]));
+            if (range[0] < best) ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+            if (best + 1 < range[1]) ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+        }
+        return result;
+    }
+
+    /** @return the number of indexed records */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void add(int epochMinute, int record, int score) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        long key = ((long) epochMinute << 32) | record;
+        if (size > 0 && key < keys[size - 1]) sorted = false;
+        keys[size] = key;
+        scores[size] = score;
+        size++;
+
+        if (!sorted || !treeValid) return;
+        if (size > capacity) {
+            treeValid = false;
+        } else {
+            int node = capacity + size - 1;
+            tree[node] = size - 1;
+            for (node >>= 1; node >= 1; node >>= 1) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+    }
+
+    private void ensureSorted() {
+        if (sorted) return;
+        // the record number in each key says where its score lives, so only the keys need sorting
+        Arrays.sort(keys, 0, size);
+        for (int i = 0; i < size; i++) {
+            scores[i] = archive.score((int) keys[i]);
+        }
+        sorted = true;
+        treeValid = false;
+    }
+
+    private void ensureTree() {
+        if (treeValid) return;
+        capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        tree = new int[2 * capacity];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < size; i++) {
+            tree[capacity + i] = i;
+        }
+        for (int node = capacity - 1; node >= 1; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+        treeValid = true;
+    }
+
+    /** @return the position of the best score in {@code [from, to)} */
+    private int argmax(int from, int to) {
+        int best = -1;
+        for (int l = from + capacity, r = to + capacity; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) best = better(best, tree[l++]);
+            if ((r & 1) == 1) best = better(best, tree[--r]);
+        }
+        return best;
+    }
+
+    /** Higher score wins; equal scores go to the earlier position. -1 means "no position". */
+    private int better(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return compare(a, b) <= 0 ? a : b;
+    }
+
+    private int compare(int a, int b) {
+        int byScore = Integer.compare(scores[b], scores[a]);
+        return byScore != 0 ? byScore : Integer.compare(a, b);
+    }
+
+    /** @return the first position whose timestamp is at or after {@code epochMinute} */
+    private int lowerBound(int epochMinute) {
+        long target = (long) epochMinute << 32;
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < target) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
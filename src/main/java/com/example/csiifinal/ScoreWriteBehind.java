@@ -0,0 +1,192 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind queue that persists high score entries to a {@link ScoreLog} in the background.
+ * <p>
+ * Callers hand entries to {@link #submit(HighScoreEntry)} and return immediately. Writes run in
+ * order on an {@link AppExecutor} lane named {@code score-write-behind}. The writer
+ * drains everything queued so far into one batch, so a burst of saves costs one lock, one write and
+ * one index update. After every drain the listener receives the log's merged leaderboard (which
+ * includes entries from other seats) together with the entries still waiting in the queue.
+ * <p>
+ * A batch the log fails to take, for example because the lock file cannot be opened, is kept and
+ * written ahead of newer entries on the next drain, which is retried after
+ * {@value #RETRY_DELAY_MILLIS} ms. Until then it counts as still queued.
+ */
+public class ScoreWriteBehind implements AutoCloseable {
+
+    /** When the log is forced to stable storage. */
+    public enum FsyncPolicy {
+        /** Leave flushing to the operating system. */
+        NEVER,
+        /** Force the log only when {@link #flush()} or {@link #close()} is called. */
+        ON_FLUSH,
+        /** Force the log after every batch. */
+        EVERY_BATCH
+    }
+
+    /**
+     * Snapshot of the queue's counters.
+     *
+     * @param queueDepth      entries currently waiting to be written
+     * @param maxQueueDepth   largest queue depth seen
+     * @param batches         number of batches written
+     * @param recordsWritten  number of entries written
+     * @param lastWriteMillis duration of the most recent batch write
+     * @param meanWriteMillis mean batch write duration
+     * @param maxWriteMillis  longest batch write duration
+     */
+    public record Metrics(int queueDepth, int maxQueueDepth, long batches, long recordsWritten,
+                          double lastWriteMillis, double meanWriteMillis, double maxWriteMillis) {
+    }
+
+    static final long RETRY_DELAY_MILLIS = 1_000;
+
+    private final ScoreLog scoreLog;
+    private final FsyncPolicy fsyncPolicy;
+    private final BiConsumer<List<HighScoreEntry>, Supplier<List<HighScoreEntry>>> listener;
+
+    private final ConcurrentLinkedQueue<HighScoreEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Executor writer = AppExecutor.lane("score-write-behind");
+    // a batch the log refused, written first on the next drain; only touched on the writer lane
+    private List<HighScoreEntry> failed = new ArrayList<>();
+    private volatile boolean closed;
+
+    // metrics; queue depth is written by submitters, the rest only by the writer lane
+    private final Object metricsLock = new Object();
+    private int queueDepth;
+    private int maxQueueDepth;
+    private long batches;
+    private long recordsWritten;
+    private long lastWriteNanos;
+    private long totalWriteNanos;
+    private long maxWriteNanos;
+
+    /**
+     * @param scoreLog    the log to write to
+     * @param fsyncPolicy when to force writes to disk
+     * @param listener    receives the persisted leaderboard and a supplier of the entries still queued
+     *                    after each drain; runs on the writer lane. The supplier reads the queue when
+     *                    called, so a listener calling it under the lock its submitters hold sees every
+     *                    entry they submitted.
+     */
+    public ScoreWriteBehind(ScoreLog scoreLog, FsyncPolicy fsyncPolicy,
+                            BiConsumer<List<HighScoreEntry>, Supplier<List<HighScoreEntry>>> listener) {
+        this.scoreLog = scoreLog;
+        this.fsyncPolicy = fsyncPolicy;
+        this.listener = listener;
+    }
+
+    /** Queues an entry for writing. Never blocks on I/O. */
+    public void submit(HighScoreEntry entry) {
+        queue.add(entry);
+        synchronized (metricsLock) {
+            queueDepth++;
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+        scheduleDrain();
+    }
+
+    /** Asks the writer to pick up entries saved by other seats and report them to the listener. */
+    public void requestRefresh() {
+        scheduleDrain();
+    }
+
+    /**
+     * Writes everything queued so far and waits for it to reach the log.
+     */
+    public void flush() {
+        if (closed) return; // close() flushed everything
+        try {
+            CompletableFuture.runAsync(() -> drain(fsyncPolicy != FsyncPolicy.NEVER), writer).get();
+        } catch (RejectedExecutionException e) {
+            System.err.println("High score writer is shut down: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /** Flushes the queue and stops writing; entries submitted afterwards are not persisted. */
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        int lost = getMetrics().queueDepth();
+        if (lost > 0) System.err.println("High score writer closed with " + lost + " unwritten scores");
+    }
+
+    public Metrics getMetrics() {
+        synchronized (metricsLock) {
+            return new Metrics(queueDepth, maxQueueDepth, batches, recordsWritten,
+                    lastWriteNanos / 1e6,
+                    batches == 0 ? 0 : totalWriteNanos / 1e6 / batches,
+                    maxWriteNanos / 1e6);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (closed) return;
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(() -> {
+                    drainScheduled.set(false);
+                    drain(fsyncPolicy == FsyncPolicy.EVERY_BATCH);
+                });
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    /** Runs on the writer lane only. */
+    private void drain(boolean force) {
+        List<HighScoreEntry> batch = failed;
+        failed = new ArrayList<>();
+        HighScoreEntry entry;
+        while ((entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+
+        long start = System.nanoTime();
+        List<HighScoreEntry> leaderboard;
+        if (batch.isEmpty()) {
+            if (force) scoreLog.force();
+            leaderboard = scoreLog.refresh();
+        } else if (scoreLog.appendAll(batch, force) < 0) {
+            failed = batch;
+            leaderboard = scoreLog.leaderboard();
+            System.err.println("Could not write " + batch.size() + " high scores; retrying in " + RETRY_DELAY_MILLIS + " ms");
+            CompletableFuture.runAsync(this::scheduleDrain,
+                    CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        } else {
+            leaderboard = scoreLog.leaderboard();
+            long elapsed = System.nanoTime() - start;
+            synchronized (metricsLock) {
+                queueDepth -= batch.size();
+                batches++;
+                recordsWritten += batch.size();
+                lastWriteNanos = elapsed;
+                totalWriteNanos += elapsed;
+                maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+            }
+        }
+        List<HighScoreEntry> unwritten = failed;
+        listener.accept(leaderboard, () -> {
+            List<HighScoreEntry> pending = new ArrayList<>(unwritten);
+            pending.addAll(queue);
+            return pending;
+        });
+    }
+}
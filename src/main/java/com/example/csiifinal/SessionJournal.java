@@ -0,0 +1,271 @@
+package com.example.csiifinal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary journal of everything that happens in one game session.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE}-byte header (magic, version, the
+ * {@link TargetScheduler#kind() kind} of target scheduler, session start as epoch milliseconds, the
+ * {@link GameRules} seed of the session) followed by {@value #EVENT_SIZE}-byte events:
+ * <pre>
+ *  0  long   nanoseconds since the session started
+ *  8  byte   event type, one of the TYPE_ constants
+ *  9  byte   AngleDisplayMode ordinal at the time of the event
+ * 10  short  arg   (see the event type)
+ * 12  int    value (see the event type)
+ * </pre>
+ * Fixed-width events make the file cheap to scan front to back with {@link #scan}, and a torn last
+ * event after a crash is simply ignored. Together with the seed, the events are enough for
+ * {@link SessionReplay} to play the session back.
+ * <p>
+ * Events are encoded into an in-memory buffer on the calling (FX) thread, which costs a few stores
+ * and no allocation. Full buffers, and the current buffer on every {@link #flush()}, are handed to
+ * a background writer thread, so the caller never touches the disk.
+ */
+public class SessionJournal implements AutoCloseable {
+
+    static final int MAGIC = 0x55434A31; // "UCJ1"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int EVENT_SIZE = 16;
+
+    /** A new prompt; arg = target angle. */
+    public static final byte TYPE_TARGET = 1;
+    /** An angle button was clicked; arg = angle clicked, value = 1 if correct, 0 if not. */
+    public static final byte TYPE_ANSWER = 2;
+    /** The score changed; arg = delta, value = score afterwards. */
+    public static final byte TYPE_SCORE = 3;
+    /** The countdown ticked; value = seconds remaining. */
+    public static final byte TYPE_TICK = 4;
+    /** The display mode changed; the mode byte holds the new mode. */
+    public static final byte TYPE_MODE = 5;
+    /** The session ended; value = final score. */
+    public static final byte TYPE_END = 6;
+    /**
+     * State of one scheduler item when the session started; the mode byte holds the item's mode,
+     * arg = angle, value = the packed {@link TargetScheduler#getState state}.
+     */
+    public static final byte TYPE_SCHEDULER_STATE = 7;
+
+    private static final int EVENTS_PER_BUFFER = 1024;
+
+    // one writer for all journals; sessions are sequential, so there is never much to do
+    private static final Executor WRITER = AppExecutor.lane("session-journal");
+
+    /**
+     * Header of a scanned journal.
+     *
+     * @param startMillis session start in epoch milliseconds
+     * @param seed        the seed the session's {@link GameRules} were started with
+     * @param scheduler   kind of {@link TargetScheduler} the session was played with
+     */
+    public record Header(long startMillis, long seed, int scheduler) {
+    }
+
+    /** Receives the events of a journal during {@link #scan}. */
+    public interface EventVisitor {
+        void event(long nanos, byte type, UnitCircleApp.AngleDisplayMode mode, int arg, int value);
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long startMillis;
+    private final long startNanos;
+    private final ConcurrentLinkedQueue<ByteBuffer> spareBuffers = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private ByteBuffer current = ByteBuffer.allocate(EVENTS_PER_BUFFER * EVENT_SIZE);
+    private UnitCircleApp.AngleDisplayMode mode;
+    private boolean closing;
+
+    private SessionJournal(Path file, FileChannel channel, long startMillis, long startNanos, UnitCircleApp.AngleDisplayMode mode) {
+        this.file = file;
+        this.channel = channel;
+        this.startMillis = startMillis;
+        this.startNanos = startNanos;
+        this.mode = mode;
+    }
+
+    /**
+     * Starts a new journal file in {@code directory}, named after the session start time.
+     *
+     * @param mode the display mode the session starts in
+     * @param seed      the seed the session's {@link GameRules} are started with
+     * @param scheduler kind of {@link TargetScheduler} the rules use
+     */
+    public static SessionJournal start(Path directory, UnitCircleApp.AngleDisplayMode mode, long seed, int scheduler) throws IOException {
+        Files.createDirectories(directory);
+        long startMillis = System.currentTimeMillis();
+        Path file = directory.resolve("session-" + startMillis + ".jnl");
+        for (int n = 1; Files.exists(file); n++) {
+            file = directory.resolve("session-" + startMillis + "-" + n + ".jnl");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        SessionJournal journal = new SessionJournal(file, channel, startMillis, System.nanoTime(), mode);
+        journal.current.putInt(MAGIC).putShort(VERSION).putShort((short) scheduler).putLong(startMillis).putLong(seed);
+        return journal;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return the session start in epoch milliseconds, as written to the header */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Records the state one scheduler item starts the session with; call before the first target.
+     * Items in their initial state (0) need not be recorded.
+     */
+    public void schedulerState(UnitCircleApp.AngleDisplayMode itemMode, int angle, int state) {
+        UnitCircleApp.AngleDisplayMode sessionMode = mode;
+        mode = itemMode;
+        append(TYPE_SCHEDULER_STATE, angle, state);
+        mode = sessionMode;
+    }
+
+    public void targetChosen(int angle) {
+        append(TYPE_TARGET, angle, 0);
+    }
+
+    public void answered(int angle, boolean correct) {
+        append(TYPE_ANSWER, angle, correct ? 1 : 0);
+    }
+
+    public void scoreChanged(int delta, int score) {
+        append(TYPE_SCORE, delta, score);
+    }
+
+    public void timerTick(int secondsRemaining) {
+        append(TYPE_TICK, 0, secondsRemaining);
+    }
+
+    public void modeChanged(UnitCircleApp.AngleDisplayMode newMode) {
+        mode = newMode;
+        append(TYPE_MODE, 0, 0);
+    }
+
+    private void append(byte type, int arg, int value) {
+        if (closing) return;
+        current.putLong(System.nanoTime() - startNanos)
+                .put(type)
+                .put((byte) mode.ordinal())
+                .putShort((short) arg)
+                .putInt(value);
+        if (current.remaining() < EVENT_SIZE) flush();
+    }
+
+    /** Hands the buffered events to the writer thread. Never blocks. */
+    public void flush() {
+        if (current.position() == 0) return;
+        ByteBuffer full = current;
+        ByteBuffer spare = spareBuffers.poll();
+        current = spare != null ? spare : ByteBuffer.allocate(EVENTS_PER_BUFFER * EVENT_SIZE);
+        write(full);
+    }
+
+    /**
+     * Records the end of the session and closes the file once the writer has caught up. Returns
+     * immediately; use {@link #awaitClosed} to wait.
+     */
+    public void end(int finalScore) {
+        if (closing) return;
+        append(TYPE_END, 0, finalScore);
+        close();
+    }
+
+    /** Flushes and closes the journal in the background. Returns immediately. */
+    @Override
+    public void close() {
+        if (closing) return;
+        flush();
+        closing = true;
+        try {
+            WRITER.execute(this::closeChannel);
+        } catch (RejectedExecutionException e) {
+            closeChannel();
+        }
+    }
+
+    /** @return true if the journal file was closed within the timeout */
+    public boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+        return closed.await(timeout, unit);
+    }
+
+    private void write(ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            WRITER.execute(() -> {
+                try {
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                } catch (IOException e) {
+                    System.err.println("Error writing session journal: " + e.getMessage());
+                }
+                buffer.clear();
+                spareBuffers.add(buffer);
+            });
+        } catch (RejectedExecutionException e) {
+            buffer.clear();
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing session journal: " + e.getMessage());
+        } finally {
+            closed.countDown();
+        }
+    }
+
+    /**
+     * Reads a journal front to back.
+     *
+     * @return the journal header
+     * @throws IOException if the file is not a journal of this version
+     */
+    public static Header scan(Path file, EventVisitor visitor) throws IOException {
+        UnitCircleApp.AngleDisplayMode[] modes = UnitCircleApp.AngleDisplayMode.values();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(64 * EVENT_SIZE);
+            while (buf.position() < HEADER_SIZE && channel.read(buf) >= 0) {
+                // keep reading until the header is in
+            }
+            buf.flip();
+            if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC) throw new IOException("Not a session journal: " + file);
+            short version = buf.getShort();
+            if (version != VERSION) throw new IOException("Unsupported journal version " + version + ": " + file);
+            int scheduler = buf.getShort();
+            long startMillis = buf.getLong();
+            long seed = buf.getLong();
+
+            while (true) {
+                while (buf.remaining() >= EVENT_SIZE) {
+                    long nanos = buf.getLong();
+                    byte type = buf.get();
+                    byte mode = buf.get();
+                    int arg = buf.getShort();
+                    int value = buf.getInt();
+                    visitor.event(nanos, type, mode >= 0 && mode < modes.length ? modes[mode] : null, arg, value);
+                }
+                buf.compact();
+                if (channel.read(buf) < 0) break;
+                buf.flip();
+            }
+            return new Header(startMillis, seed, scheduler);
+        }
+    }
+}
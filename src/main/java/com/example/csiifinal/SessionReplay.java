@@ -0,0 +1,223 @@
+package com.example.csiifinal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a recorded game session back through {@link GameRules}, without a display.
+ * <p>
+ * A session is determined by its seed, its start time, the state its {@link TargetScheduler}
+ * started with and the player's inputs, so
+ * feeding the recorded inputs to fresh rules must reproduce everything the game did. Input events
+ * ({@code ANSWER}, {@code TICK}, {@code MODE}) are applied to the rules; outcome events
+ * ({@code TARGET}, {@code SCORE}, {@code END}) are compared with the rules' state, and every
+ * difference is counted as a mismatch. That turns any journal into a regression test for scoring
+ * and miss weighting.
+ * <p>
+ * Playback runs either as fast as possible or at the speed it was recorded, waiting until each
+ * event's timestamp. One instance reuses its rules between replays, so a replay allocates nothing but
+ * its result.
+ */
+public class SessionReplay {
+
+    /** Seed plus event stream of one session, held in primitive arrays. */
+    public static final class Recording {
+        private long seed;
+        private int scheduler;
+        private long startMillis;
+        private long[] nanos = new long[256];
+        private byte[] types = new byte[256];
+        private byte[] modes = new byte[256];
+        private int[] args = new int[256];
+        private int[] values = new int[256];
+        private int size;
+
+        /** A recording of a session played with a {@link MissCountScheduler}. */
+        public Recording(long seed) {
+            this(seed, MissCountScheduler.KIND, 0);
+        }
+
+        /**
+         * @param scheduler   kind of {@link TargetScheduler} the session was played with
+         * @param startMillis start of the session in epoch milliseconds
+         */
+        public Recording(long seed, int scheduler, long startMillis) {
+            this.seed = seed;
+            this.scheduler = scheduler;
+            this.startMillis = startMillis;
+        }
+
+        /** Reads a recording from a {@link SessionJournal} file. */
+        public static Recording read(Path journal) throws IOException {
+            Recording recording = new Recording(0);
+            SessionJournal.Header header = SessionJournal.scan(journal,
+                    (nanos, type, mode, arg, value) -> recording.add(nanos, type, mode == null ? 0 : mode.ordinal(), arg, value));
+            recording.seed = header.seed();
+            recording.scheduler = header.scheduler();
+            recording.startMillis = header.startMillis();
+            return recording;
+        }
+
+        /** Appends an event in the first display mode. */
+        public Recording add(long nanos, byte type, int arg, int value) {
+            return add(nanos, type, 0, arg, value);
+        }
+
+        /**
+         * Appends an event, with the same meaning of {@code mode}, {@code arg} and {@code value} as
+         * in {@link SessionJournal}.
+         *
+         * @param mode display mode ordinal
+         */
+        public Recording add(long nanos, byte type, int mode, int arg, int value) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                this.nanos = Arrays.copyOf(this.nanos, capacity);
+                types = Arrays.copyOf(types, capacity);
+                modes = Arrays.copyOf(modes, capacity);
+                args = Arrays.copyOf(args, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            this.nanos[size] = nanos;
+            types[size] = type;
+            modes[size] = (byte) mode;
+            args[size] = arg;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getScheduler() {
+            return scheduler;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public byte typeAt(int i) {
+            return types[i];
+        }
+
+        public int modeAt(int i) {
+            return modes[i];
+        }
+
+        public int argAt(int i) {
+            return args[i];
+        }
+
+        public int valueAt(int i) {
+            return values[i];
+        }
+    }
+
+    /**
+     * Outcome of one replay.
+     *
+     * @param finalScore    score of the rules after the last event
+     * @param mismatches    outcome events that did not match the replayed rules
+     * @param firstMismatch index of the first mismatching event, or -1
+     */
+    public record Result(int finalScore, int mismatches, int firstMismatch) {
+        public boolean matches() {
+            return mismatches == 0;
+        }
+    }
+
+    private final int[] angles;
+    private final GameRules rules;
+    private final MissCountScheduler missCounts;
+    private final LeitnerScheduler leitner;
+
+    /**
+     * @param angles the angles the recorded game could ask, in ascending order
+     */
+    public SessionReplay(int[] angles) {
+        this.angles = angles.clone();
+        this.missCounts = new MissCountScheduler(angles);
+        this.leitner = new LeitnerScheduler(angles);
+        this.rules = new GameRules(angles, missCounts);
+    }
+
+    /** @return the rules as the last replay left them */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Replays {@code recording} from a clean state.
+     *
+     * @param realSpeed true to wait for each event's recorded time, false to run as fast as possible
+     * @throws IllegalArgumentException if the recording was played with an unknown scheduler
+     */
+    public Result replay(Recording recording, boolean realSpeed) {
+        TargetScheduler scheduler = switch (recording.scheduler) {
+            case MissCountScheduler.KIND -> missCounts;
+            case LeitnerScheduler.KIND -> leitner;
+            default -> throw new IllegalArgumentException("Unknown target scheduler " + recording.scheduler);
+        };
+        scheduler.clear();
+        rules.setScheduler(scheduler);
+        boolean started = false;
+        int mismatches = 0;
+        int firstMismatch = -1;
+        long startNanos = System.nanoTime();
+
+        for (int i = 0; i < recording.size; i++) {
+            if (realSpeed) waitUntil(startNanos + recording.nanos[i]);
+            byte type = recording.types[i];
+            int arg = recording.args[i];
+            int value = recording.values[i];
+            rules.setMode(recording.modes[i]);
+
+            if (type == SessionJournal.TYPE_SCHEDULER_STATE && !started) {
+                int angleIndex = Arrays.binarySearch(angles, arg);
+                if (angleIndex >= 0) scheduler.setState(recording.modes[i], angleIndex, value);
+                continue;
+            }
+            if (!started) {
+                rules.start(recording.seed, recording.startMillis);
+                started = true;
+            }
+
+            boolean matches = switch (type) {
+                case SessionJournal.TYPE_TARGET -> rules.getTarget() == arg;
+                case SessionJournal.TYPE_ANSWER -> rules.answer(arg) == (value != 0);
+                case SessionJournal.TYPE_SCORE -> rules.getScore() == value;
+                case SessionJournal.TYPE_TICK -> {
+                    rules.tick();
+                    yield rules.getSecondsRemaining() == value;
+                }
+                case SessionJournal.TYPE_MODE -> {
+                    rules.pickNewTarget();
+                    yield true;
+                }
+                case SessionJournal.TYPE_END -> rules.getScore() == value;
+                default -> true;
+            };
+            if (!matches) {
+                if (mismatches == 0) firstMismatch = i;
+                mismatches++;
+            }
+        }
+        return new Result(rules.getScore(), mismatches, firstMismatch);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
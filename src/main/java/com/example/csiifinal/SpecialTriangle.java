@@ -1,5 +1,6 @@
 package com.example.csiifinal;
 
+import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -9,9 +10,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
-import java.util.Map;
-import java.util.Set;
-
 public class SpecialTriangle {
 
     public enum TriangleType {
@@ -19,78 +17,31 @@ public class SpecialTriangle {
         TRIANGLE_45_45_90
     }
 
-    private static final Map<Integer, TriangleType> angleToTriangle = Map.ofEntries(
-            Map.entry(30, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(60, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(120, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(150, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(210, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(240, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(300, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(330, TriangleType.TRIANGLE_30_60_90),
-            Map.entry(45, TriangleType.TRIANGLE_45_45_90),
-            Map.entry(135, TriangleType.TRIANGLE_45_45_90),
-            Map.entry(225, TriangleType.TRIANGLE_45_45_90),
-            Map.entry(315, TriangleType.TRIANGLE_45_45_90)
-    );
-
-    private static final Set<Integer> ROTATE_CW_90 = Set.of(60, 300);
-    private static final Set<Integer> ROTATE_CCW_90 = Set.of(120, 240);
-
     public static void showTriangleForAngle(int angle) {
-        TriangleType type = angleToTriangle.get(angle);
+        AngleTable table = AngleTable.everyDegree();
+        int slot = table.slot(angle);
+        TriangleType type = slot < 0 ? null : table.triangle(slot);
         if (type == null) return;
 
-        int xFlip = -1;
-        int yFlip = 1;
-
-        switch (angle) {
-            case 30, 45 -> {
-                xFlip = -1;
-                yFlip = 1;
-            }
-            case 60 -> {
-                xFlip = 1;
-                yFlip = 1;
-            }
-            case 120 -> {
-                xFlip = -1;
-                yFlip = 1;
-            }
-            case 135, 150 -> {
-                xFlip = 1;
-                yFlip = 1;
-            }
-            case 210, 225 -> {
-                xFlip = 1;
-                yFlip = -1;
-            }
-            case 240 -> {
-                xFlip = 1;
-                yFlip = 1;
-            }
-            case 300 -> {
-                xFlip = -1;
-                yFlip = 1;
-            }
-            case 315, 330 -> {
-                xFlip = -1;
-                yFlip = -1;
-            }
-        }
-
-        boolean rotateCW = ROTATE_CW_90.contains(angle);
-        boolean rotateCCW = ROTATE_CCW_90.contains(angle);
-
-        Stage popup = new Stage();
-        popup.setTitle("Special Triangle: " + angle + "°");
-
-        Canvas canvas = new Canvas(600, 600);
-        drawTriangle(canvas, type, xFlip, yFlip, rotateCW, rotateCCW);
-
-        StackPane pane = new StackPane(canvas);
-        popup.setScene(new Scene(pane));
-        popup.show();
+        int xFlip = table.xFlip(slot);
+        int yFlip = table.yFlip(slot);
+        boolean rotateCW = table.rotatesClockwise(slot);
+        boolean rotateCCW = table.rotatesCounterClockwise(slot);
+
+        // a canvas not yet in a scene may be drawn on any thread; only the window needs the UI thread
+        AppExecutor.get().submit("render-triangle", () -> {
+            Canvas canvas = new Canvas(600, 600);
+            drawTriangle(canvas, type, xFlip, yFlip, rotateCW, rotateCCW);
+            return canvas;
+        }).thenAcceptAsync(canvas -> {
+            Stage popup = new Stage();
+            popup.setTitle("Special Triangle: " + angle + "°");
+            popup.setScene(new Scene(new StackPane(canvas)));
+            popup.show();
+        }, Platform::runLater).exceptionally(e -> {
+            System.err.println("Could not draw the special triangle for " + angle + "°: " + e);
+            return null;
+        });
     }
 
     private static void drawTriangle(Canvas canvas, TriangleType type, int xFlip, int yFlip, boolean rotateCW, boolean rotateCCW) {
@@ -0,0 +1,156 @@
+package com.example.csiifinal;
+
+/**
+ * An exact number {@code (a + b√c) / d} with integers a, b, d and a square-free radicand c, closed
+ * under the four operations as long as both operands share the radicand (or one is rational).
+ * <p>
+ * {@link ExactTrig} derives every trigonometric value it knows in these fields: the cosines of
+ * multiples of 30° lie in Q(√3) and those of multiples of 36° in Q(√5). Values are kept in lowest
+ * terms with {@code d > 0}; a rational has {@code b = 0} and {@code c = 1}.
+ */
+final class Surd {
+
+    static final Surd ZERO = rational(0, 1);
+    static final Surd ONE = rational(1, 1);
+
+    final long a;
+    final long b;
+    final long c;
+    final long d;
+
+    private Surd(long a, long b, long c, long d) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+    }
+
+    /** @return {@code (a + b√c) / d} in lowest terms; c must be square-free */
+    static Surd of(long a, long b, long c, long d) {
+        if (d == 0) throw new ArithmeticException("Division by zero");
+        if (c == 1) {
+            a += b;
+            b = 0;
+        }
+        if (b == 0) c = 1;
+        if (d < 0) {
+            a = -a;
+            b = -b;
+            d = -d;
+        }
+        long g = gcd(gcd(Math.abs(a), Math.abs(b)), d);
+        if (g > 1) {
+            a /= g;
+            b /= g;
+            d /= g;
+        }
+        return new Surd(a, b, c, d);
+    }
+
+    static Surd rational(long numerator, long denominator) {
+        return of(numerator, 0, 1, denominator);
+    }
+
+    boolean isRational() {
+        return b == 0;
+    }
+
+    Surd negate() {
+        return new Surd(-a, -b, c, d);
+    }
+
+    Surd add(Surd o) {
+        long radicand = radicand(o);
+        return of(Math.addExact(Math.multiplyExact(a, o.d), Math.multiplyExact(o.a, d)),
+                Math.addExact(Math.multiplyExact(b, o.d), Math.multiplyExact(o.b, d)),
+                radicand, Math.multiplyExact(d, o.d));
+    }
+
+    Surd subtract(Surd o) {
+        return add(o.negate());
+    }
+
+    Surd multiply(Surd o) {
+        long radicand = radicand(o);
+        // (a + b√c)(e + f√c) = ae + bfc + (af + be)√c
+        long rational = Math.addExact(Math.multiplyExact(a, o.a), Math.multiplyExact(Math.multiplyExact(b, o.b), radicand));
+        long irrational = Math.addExact(Math.multiplyExact(a, o.b), Math.multiplyExact(b, o.a));
+        return of(rational, irrational, radicand, Math.multiplyExact(d, o.d));
+    }
+
+    Surd divide(Surd o) {
+        if (o.signum() == 0) throw new ArithmeticException("Division by zero");
+        // multiply by the conjugate (e - f√c) / (e - f√c); the denominator becomes rational
+        Surd conjugate = new Surd(o.a, -o.b, o.c, o.d);
+        Surd numerator = multiply(conjugate);
+        Surd norm = o.multiply(conjugate);
+        return of(Math.multiplyExact(numerator.a, norm.d), Math.multiplyExact(numerator.b, norm.d),
+                numerator.c, Math.multiplyExact(numerator.d, norm.a));
+    }
+
+    /** @return -1, 0 or 1, decided exactly */
+    int signum() {
+        int sa = Long.signum(a);
+        int sb = Long.signum(b);
+        if (sb == 0 || sa == sb) return sa != 0 ? sa : sb;
+        if (sa == 0) return sb;
+        // opposite signs: compare a² with b²c
+        int cmp = Long.compare(Math.multiplyExact(a, a), Math.multiplyExact(Math.multiplyExact(b, b), c));
+        return cmp == 0 ? 0 : cmp > 0 ? sa : sb;
+    }
+
+    double toDouble() {
+        return (a + b * Math.sqrt(c)) / d;
+    }
+
+    private long radicand(Surd o) {
+        if (b == 0) return o.c;
+        if (o.b == 0 || o.c == c) return c;
+        throw new ArithmeticException("Different radicands: √" + c + " and √" + o.c);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Surd s && a == s.a && b == s.b && c == s.c && d == s.d;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(((a * 31 + b) * 31 + c) * 31 + d);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + a + (b < 0 ? "-" : "+") + Math.abs(b) + "√" + c + ")/" + d;
+    }
+
+    static long gcd(long x, long y) {
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return Math.abs(x);
+    }
+
+    /** @return the largest k with k² dividing {@code n} */
+    static long squarePart(long n) {
+        long k = 1;
+        for (long f = 2; f * f <= n; f++) {
+            while (n % (f * f) == 0) {
+                n /= f * f;
+                k *= f;
+            }
+        }
+        return k;
+    }
+
+    /** @return the square root of {@code n} if it is a perfect square, otherwise -1 */
+    static long exactSqrt(long n) {
+        if (n < 0) return -1;
+        long r = (long) Math.sqrt((double) n);
+        while (r * r > n) r--;
+        while ((r + 1) * (r + 1) <= n) r++;
+        return r * r == n ? r : -1;
+    }
+}
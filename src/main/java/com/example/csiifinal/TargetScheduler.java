@@ -0,0 +1,50 @@
+package com.example.csiifinal;
+
+import java.util.Random;
+
+/**
+ * Decides which angle {@link GameRules} asks next and learns from how each one was answered.
+ * <p>
+ * Items are (display mode, angle) pairs, addressed by the mode ordinal and the angle's index in the
+ * game's ascending angle array. Each item's learning state packs into one {@code int}, so a
+ * scheduler can be written compactly to disk and snapshotted into a {@link SessionJournal} at the
+ * start of every game; {@link SessionReplay} rebuilds the scheduler from {@link #kind()} and that
+ * snapshot. Implementations must draw all their randomness from the {@link Random} they are given.
+ */
+public interface TargetScheduler {
+
+    /** @return the id session journals use for this implementation */
+    int kind();
+
+    /**
+     * @return number of modes the scheduler keeps separate state for; 1 if state is shared by all
+     * modes, in which case the mode arguments are ignored
+     */
+    int modes();
+
+    /**
+     * Called when a game starts. Time-based changes to the items are brought up to date here, so
+     * they cost nothing while the game runs and a game is not affected by when its answers came.
+     */
+    void startSession(long nowMillis);
+
+    /**
+     * Picks the next angle to ask in {@code mode}.
+     *
+     * @param current index of the angle asked now, which is never picked again; -1 for none
+     * @return index of the angle to ask
+     */
+    int next(int mode, int current, Random random);
+
+    /** Records the answer to the prompt for angle {@code angleIndex} in {@code mode}. */
+    void graded(int mode, int angleIndex, boolean correct);
+
+    /** @return the packed state of one item; 0 for an item that was never asked */
+    int getState(int mode, int angleIndex);
+
+    /** Restores the packed state of one item, as {@link #getState} returned it; out-of-range values are clamped. */
+    void setState(int mode, int angleIndex, int state);
+
+    /** Forgets everything, as for a new learner. */
+    void clear();
+}
@@ -1,7 +1,5 @@
 package com.example.csiifinal;
 
-import java.util.Map;
-
 /**
  * Helper class for the UnitCircleApp that provides utility methods and constant mappings
  * for trigonometric values and angle representations.
@@ -10,117 +8,51 @@ public class UCAHelpers {
 
 
     /**
-     * Returns a string representation of the given degree in terms of π fractions.
-     * If the degree does not map to a common π fraction, returns the radian approximation.
+     * Returns a string representation of the given degree in terms of π fractions, such as
+     * {@code "7π/6"}; every whole degree has one, down to {@code "π/180"}.
      *
      * @param degrees angle in degrees
-     * @return string representation in π fraction or decimal radians
+     * @return string representation as a π fraction
      */
     public static String getPiFraction(int degrees) {
-        return switch (degrees) {
-            case 0 -> "0";
-            case 30 -> "π/6";
-            case 45 -> "π/4";
-            case 60 -> "π/3";
-            case 90 -> "π/2";
-            case 120 -> "2π/3";
-            case 135 -> "3π/4";
-            case 150 -> "5π/6";
-            case 180 -> "π";
-            case 210 -> "7π/6";
-            case 225 -> "5π/4";
-            case 240 -> "4π/3";
-            case 270 -> "3π/2";
-            case 300 -> "5π/3";
-            case 315 -> "7π/4";
-            case 330 -> "11π/6";
-            default -> String.format("%.2f", Math.toRadians(degrees));
-        };
+        return ExactTrig.get().piFraction(degrees);
     }
 
-    /**
-     * Map of common angles (in degrees) to their corresponding sine values.
-     * Values are represented as simplified square root fractions or decimals.
-     */
-    public static final Map<Integer, String> SIN_VALUES = Map.ofEntries(
-            Map.entry(0, "0"),
-            Map.entry(30, "1/2"),
-            Map.entry(45, "√2/2"),
-            Map.entry(60, "√3/2"),
-            Map.entry(90, "1"),
-            Map.entry(120, "√3/2"),
-            Map.entry(135, "√2/2"),
-            Map.entry(150, "1/2"),
-            Map.entry(180, "0"),
-            Map.entry(210, "-1/2"),
-            Map.entry(225, "-√2/2"),
-            Map.entry(240, "-√3/2"),
-            Map.entry(270, "-1"),
-            Map.entry(300, "-√3/2"),
-            Map.entry(315, "-√2/2"),
-            Map.entry(330, "-1/2")
-    );
+    /** Angles used around the unit circle in degrees. */
+    static final int[] ANGLES = {0, 30, 45, 60, 90, 120, 135, 150, 180, 210, 225, 240, 270, 300, 315, 330};
 
     /**
-     * Map of common angles (in degrees) to their corresponding cosine values.
-     * Values are represented as simplified square root fractions or decimals.
+     * Returns the angle set named by {@code spec}: {@code "special"} for {@link #ANGLES}, or a step in
+     * degrees that divides 360, such as {@code "15"} or {@code "1"}, for every multiple of it. A set
+     * needs at least two angles, since the next prompt never repeats the one just answered.
+     *
+     * @return angles in degrees, ascending, starting at 0
+     * @throws IllegalArgumentException if {@code spec} names no angle set
      */
-    public static final Map<Integer, String> COS_VALUES = Map.ofEntries(
-            Map.entry(0, "1"),
-            Map.entry(30, "√3/2"),
-            Map.entry(45, "√2/2"),
-            Map.entry(60, "1/2"),
-            Map.entry(90, "0"),
-            Map.entry(120, "-1/2"),
-            Map.entry(135, "-√2/2"),
-            Map.entry(150, "-√3/2"),
-            Map.entry(180, "-1"),
-            Map.entry(210, "-√3/2"),
-            Map.entry(225, "-√2/2"),
-            Map.entry(240, "-1/2"),
-            Map.entry(270, "0"),
-            Map.entry(300, "1/2"),
-            Map.entry(315, "√2/2"),
-            Map.entry(330, "√3/2")
-    );
+    public static int[] angleSet(String spec) {
+        if (spec.equals("special")) return ANGLES.clone();
+        int step;
+        try {
+            step = Integer.parseInt(spec);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an angle set: " + spec);
+        }
+        if (step <= 0 || 360 % step != 0) throw new IllegalArgumentException("Angle step must divide 360: " + spec);
+        if (step > 180) throw new IllegalArgumentException("Angle step leaves fewer than two angles: " + spec);
+        int[] angles = new int[360 / step];
+        for (int i = 0; i < angles.length; i++) {
+            angles[i] = i * step;
+        }
+        return angles;
+    }
 
     /**
-     * Map of common angles (in degrees) to their corresponding tangent values.
-     * Values include simplified fractions, decimals, and "DNE" where undefined.
+     * Returns the label of {@code angle} in {@code mode}, such as {@code "sin: √3/2"}. Angles in
+     * [0, 360) come precomputed from {@link AngleTable#everyDegree()}.
      */
-    public static final Map<Integer, String> TAN_VALUES = Map.ofEntries(
-            Map.entry(0, "0"),
-            Map.entry(30, "√3/3"),
-            Map.entry(45, "1"),
-            Map.entry(60, "√3"),
-            Map.entry(90, "DNE Y>0"),
-            Map.entry(120, "-√3"),
-            Map.entry(135, "-1"),
-            Map.entry(150, "-√3/3"),
-            Map.entry(180, "0"),
-            Map.entry(210, "√3/3"),
-            Map.entry(225, "1"),
-            Map.entry(240, "√3"),
-            Map.entry(270, "DNE Y<0"),
-            Map.entry(300, "-√3"),
-            Map.entry(315, "-1"),
-            Map.entry(330, "-√3/3")
-    );
-
-    /** Angles used around the unit circle in degrees. */
-    static final int[] ANGLES = {0, 30, 45, 60, 90, 120, 135, 150, 180, 210, 225, 240, 270, 300, 315, 330};
-
     public static String getLabelForAngle(int angle, UnitCircleApp.AngleDisplayMode mode, boolean includePrefix) {
-        return switch (mode) {
-            case DEGREES -> angle + "°";
-            case RADIANS -> getPiFraction(angle) + (includePrefix ? " rad" : "");
-            case SIN -> (includePrefix ? "sin: " : "") + SIN_VALUES.getOrDefault(angle, "?");
-            case COS -> (includePrefix ? "cos: " : "") + COS_VALUES.getOrDefault(angle, "?");
-            case TAN -> (includePrefix ? "tan: " : "") + TAN_VALUES.getOrDefault(angle, "?");
-        };
+        AngleTable table = AngleTable.everyDegree();
+        int slot = table.slot(angle);
+        return slot >= 0 ? table.label(slot, mode, includePrefix) : AngleTable.formatLabel(angle, mode, includePrefix);
     }
-
-
 }
-
-
@@ -14,8 +14,19 @@ import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 import javafx.scene.media.AudioClip;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -25,27 +36,31 @@ import static com.example.csiifinal.UCAHelpers.*;
 /**
  * JavaFX application that displays an interactive unit circle.
  * Allows users to explore trigonometric values and practice identifying them in a game mode.
+ * <p>
+ * {@code --renderer=canvas} draws the circle on one {@link CircleCanvas} instead of a node per part,
+ * for slow lab machines; the game behaves the same with either {@link Renderer}. {@code --angles=15},
+ * {@code 5} or {@code 1} drills every 15°, 5° or 1° instead of the special angles.
  */
 public class UnitCircleApp extends Application {
 
     URL correctURL = getClass().getResource("/sounds/correct.wav");
     URL incorrectURL = getClass().getResource("/sounds/incorrect.mp3");
 
-    private final AudioClip correctSound;
-    {
-        AudioClip temp = null;
-        try {
-            if (correctURL != null)
-                temp = new AudioClip(correctURL.toExternalForm());
-        } catch (Exception | Error e) {
-            System.err.println("Could not load correct sound: " + e);
-        }
-        correctSound = temp;
-    }
-    private final AudioClip incorrectSound = incorrectURL != null ? new AudioClip(incorrectURL.toExternalForm()) : null;
-
-    private int currentTargetAngle = 0;
-    private final Random random = new Random();
+    // decoded in the background by loadSounds(); null until then, or if a sound could not be loaded
+    private volatile AudioClip correctSound;
+    private volatile AudioClip incorrectSound;
+
+    // the angles around the circle, chosen by --angles=special|15|5|1 (degrees between angles)
+    private int[] angles;
+    // the game itself: input is forwarded to it and GameObserver draws what it reports
+    private GameEngine engine;
+    // where the learner's spaced-repetition state is saved, null until it has been loaded
+    private static final Path LEARNER_DIR = Paths.get("learners");
+    private Path learnerFile;
+    // reads and writes of the learner file, in order and off the FX thread
+    private final Executor learnerLane = AppExecutor.lane("learner-state");
+    // a learner state that finished loading during a game; takes over when the next game starts
+    private Runnable pendingLearner;
     private final Label promptLabel = new Label("Click the button at 30 degrees");
     private final Button startGameButton = new Button("Start Game");
     // the big circle
@@ -59,6 +74,8 @@ public class UnitCircleApp extends Application {
     private static final Color CORRECT_COLOR = Color.LIGHTGREEN;
     private static final Color INCORRECT_COLOR = Color.INDIANRED;
     private static final Color DEFAULT_COLOR = Color.CORNFLOWERBLUE;
+    // one reusable flash for answer feedback; a new answer restarts it
+    private final FlashEffect answerFlash = new FlashEffect(circle, DEFAULT_COLOR, Duration.millis(300));
 
     // sounds
     //private final AudioClip correctSound = new AudioClip(getClass().getResource("/sounds/correct.wav").toExternalForm());
@@ -67,22 +84,28 @@ public class UnitCircleApp extends Application {
     // timer
     private final Label timerLabel = new Label();
     private Timeline countdownTimer;
-    private int secondsRemaining = 120;
 
     // score ui
     private final Label scoreLabel = new Label("Score: 0");
-    private int score = 0;
 
     // scores history
     private final Button historyButton = new Button("Score History");
     private final ScoreHistoryManager scoreHistoryManager = new ScoreHistoryManager(50);
+    // event journal of the running game session, null between sessions
+    private static final Path JOURNAL_DIR = Paths.get("sessions");
+    private SessionJournal journal;
 
     // end game button
     private final Button endGameButton = new Button("End Game");
 
     // high score save game and button
     private final Button highScoresButton = new Button("High Scores");
-    private final HighScoreManager highScoreManager = new HighScoreManager();
+    // reads the score log, index and player stats in the background; see loadHighScores()
+    private CompletableFuture<HighScoreManager> highScoreManager;
+    // set when scores go to another kiosk's leaderboard server (--leaderboard-url)
+    private LeaderboardClient leaderboardClient;
+    // set when this kiosk serves its leaderboard to others (--leaderboard-port)
+    private LeaderboardServer leaderboardServer;
 
     // overlays to restrict sin, cos, tangent domains
     private final Rectangle quadrantIOverlay = new Rectangle();
@@ -93,15 +116,20 @@ public class UnitCircleApp extends Application {
     // new pane for the overlays
     private final Pane overlayPane = new Pane();
 
-    // used for adding weights to the game progress to focus on missed items
-    private final Map<Integer, Integer> missCounts = new HashMap<>();
-
 
     /** Enum for the mode of trigonometric value display. */
     enum AngleDisplayMode {
         DEGREES, RADIANS, SIN, COS, TAN
     }
 
+    /** How the unit circle itself is drawn; the controls around it are nodes either way. */
+    public enum Renderer {
+        /** a node per circle, spoke, overlay and angle button */
+        NODES,
+        /** everything on one {@link CircleCanvas}, for slow machines */
+        CANVAS
+    }
+
     /** Defines different application modes for the app. */
     public enum AppMode {
         EXPLORATION,
@@ -109,8 +137,6 @@ public class UnitCircleApp extends Application {
         SPECIAL_TRIANGLES
     }
 
-    // sets default function mode to degrees
-    private AngleDisplayMode currentMode = AngleDisplayMode.DEGREES;
     // function mode selector combo box and label
     private final Label functionLabel = new Label("FUNCTION");
     private final ComboBox<String> modeSelector = new ComboBox<>();
@@ -123,6 +149,25 @@ public class UnitCircleApp extends Application {
     // array lists for the buttons and lines for the different angles
     private final List<Button> buttons = new ArrayList<>();
     private final List<Line> lines = new ArrayList<>();
+    // where each angle's spoke ends on a unit circle, so layout needs no trigonometry
+    private UnitVectors unitVectors;
+    // set when the window size changes; the layout is redone once, before the next pulse lays out the scene
+    private boolean layoutDirty;
+    // chosen by --renderer=nodes|canvas; with CANVAS the circle nodes above only hold state and
+    // circleCanvas draws it, and there are no angle buttons or lines
+    private Renderer renderer;
+    private CircleCanvas circleCanvas;
+    // spokes and pooled buttons of the node renderer when there are too many angles for a button each
+    private VirtualAngleLabels angleLabels;
+
+    public UnitCircleApp() {
+    }
+
+    /** Starts with the given renderer and angle set instead of reading {@code --renderer} and {@code --angles}. */
+    UnitCircleApp(Renderer renderer, int[] angles) {
+        this.renderer = renderer;
+        this.angles = angles;
+    }
 
 
 
@@ -134,6 +179,14 @@ public class UnitCircleApp extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        loadSounds();
+        loadHighScores();
+        configureAngles();
+        engine.addListener(new GameObserver());
+        configureLeaderboard();
+        configureLearner();
+        configureRenderer();
+
         // Set up root container
         Pane root = new Pane();
         root.setStyle("-fx-background-color: #808080;");
@@ -145,8 +198,16 @@ public class UnitCircleApp extends Application {
 
 
         // Create the main unit circle
+        circle.setId("unitCircle");
         circle.setFill(Color.CORNFLOWERBLUE);
-        root.getChildren().add(circle);
+        if (renderer == Renderer.CANVAS) {
+            circleCanvas = new CircleCanvas(angles, unitVectors, this::angleClicked);
+            circleCanvas.setId("circleCanvas");
+            root.getChildren().add(circleCanvas);
+            mirrorOnCanvas();
+        } else {
+            root.getChildren().add(circle);
+        }
 
         // Clip mask for overlays (so overlays only cover the circle)
         Circle clipCircle = new Circle();
@@ -159,7 +220,7 @@ public class UnitCircleApp extends Application {
         double halfRadius = circle.getRadius();
         double cx = circle.getCenterX();
         double cy = circle.getCenterY();
-        root.getChildren().add(overlayPane);
+        if (circleCanvas == null) root.getChildren().add(overlayPane);
 
         // Position quadrant overlays
         quadrantIOverlay.setX(cx);
@@ -183,12 +244,18 @@ public class UnitCircleApp extends Application {
         overlayPane.setVisible(false);
 
         // Create radial lines from origin to each angle
-        for (int angle : ANGLES) {
-            Line line = new Line();
-            line.setStroke(Color.BLACK);
-            line.setStrokeWidth(1.5);
-            lines.add(line);
-            root.getChildren().add(line);
+        if (circleCanvas == null && angles.length > AngleRing.MAX_LABELLED) {
+            angleLabels = new VirtualAngleLabels(angles, unitVectors, this::angleClicked);
+            angleLabels.setPickOnBounds(true);
+            root.getChildren().add(angleLabels);
+        } else if (circleCanvas == null) {
+            for (int angle : angles) {
+                Line line = new Line();
+                line.setStroke(Color.BLACK);
+                line.setStrokeWidth(1.5);
+                lines.add(line);
+                root.getChildren().add(line);
+            }
         }
 
         // Score display
@@ -197,52 +264,34 @@ public class UnitCircleApp extends Application {
         root.getChildren().add(scoreLabel);
 
         // Create interactive angle buttons
-        for (int angle : ANGLES) {
-            Button btn = new Button(angle + "°");
-            btn.setId("angleBtn" + angle);
-            btn.setPrefSize(75, 45);
-            btn.setFocusTraversable(false);
-            btn.setStyle("-fx-font-size: 14px;");
-            final int btnAngle = angle;
-
-            btn.setOnAction(e -> {
-                if (currentAppMode == AppMode.SPECIAL_TRIANGLES) {
-                    SpecialTriangle.showTriangleForAngle(btnAngle);
-                    return;
-                }
-
-                if (currentAppMode != AppMode.UNIT_CIRCLE) return;
-
-                String expectedLabel = switch (currentMode) {
-                    case DEGREES -> btnAngle + "°";
-                    case RADIANS -> getPiFraction(btnAngle);
-                    case SIN -> "sin: " + SIN_VALUES.getOrDefault(btnAngle, "?");
-                    case COS -> "cos: " + COS_VALUES.getOrDefault(btnAngle, "?");
-                    case TAN -> "tan: " + TAN_VALUES.getOrDefault(btnAngle, "?");
-                };
-
-                if (btnAngle == currentTargetAngle) {
-                    updateScore(1);
-                    flashCircle(CORRECT_COLOR, true);
-                    pickNewTargetAngle();
-                    missCounts.put(btnAngle, Math.max(0, missCounts.getOrDefault(btnAngle, 0) - 1));
-                } else {
-                    updateScore(-1);
-                    flashCircle(INCORRECT_COLOR, false);
-                    missCounts.put(currentTargetAngle, missCounts.getOrDefault(currentTargetAngle, 0) + 10);
-                }
-            });
-
-            buttons.add(btn);
-            root.getChildren().add(btn);
+        if (circleCanvas == null && angleLabels == null) {
+            for (int angle : angles) {
+                Button btn = new Button(angle + "°");
+                btn.setId("angleBtn" + angle);
+                btn.setPrefSize(75, 45);
+                btn.setFocusTraversable(false);
+                btn.setStyle("-fx-font-size: 14px;");
+                final int btnAngle = angle;
+
+                btn.setOnAction(e -> angleClicked(btnAngle));
+
+                buttons.add(btn);
+                root.getChildren().add(btn);
+            }
         }
 
-        // Adjust layout on window resize
-        root.widthProperty().addListener((obs, oldVal, newVal) -> updateLayout(root));
-        root.heightProperty().addListener((obs, oldVal, newVal) -> updateLayout(root));
+        // Adjust layout on window resize. A resize changes width and height separately, and a window
+        // drag changes them many times between frames, so only mark the layout dirty here
+        root.widthProperty().addListener((obs, oldVal, newVal) -> layoutDirty = true);
+        root.heightProperty().addListener((obs, oldVal, newVal) -> layoutDirty = true);
 
         // Initialize main scene
         Scene scene = new Scene(root, 1000, 1000);
+        scene.addPreLayoutPulseListener(() -> {
+            if (!layoutDirty) return;
+            layoutDirty = false;
+            updateLayout(root);
+        });
         primaryStage.setTitle("Unit Circle");
         primaryStage.setScene(scene);
         primaryStage.show();
@@ -251,7 +300,8 @@ public class UnitCircleApp extends Application {
 
         // Add small gray inner circle
         innerCircle.setFill(Color.GRAY);
-        root.getChildren().add(innerCircle);
+        innerCircle.setMouseTransparent(true);
+        if (circleCanvas == null) root.getChildren().add(innerCircle);
 
         // UI labels and dropdowns
         promptLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
@@ -263,16 +313,15 @@ public class UnitCircleApp extends Application {
         modeSelector.getItems().addAll("Degrees", "Radians", "sin(x)", "cos(x)", "tan(x)");
         modeSelector.setValue("Degrees");
         modeSelector.setOnAction(e -> {
-            currentMode = switch (modeSelector.getValue()) {
+            engine.setMode(switch (modeSelector.getValue()) {
                 case "Degrees" -> AngleDisplayMode.DEGREES;
                 case "Radians" -> AngleDisplayMode.RADIANS;
                 case "sin(x)" -> AngleDisplayMode.SIN;
                 case "cos(x)" -> AngleDisplayMode.COS;
                 case "tan(x)" -> AngleDisplayMode.TAN;
-                default -> currentMode;
-            };
-            updateButtonLabels();
-            if (currentAppMode == AppMode.UNIT_CIRCLE) pickNewTargetAngle();
+                default -> engine.getMode();
+            });
+            if (currentAppMode == AppMode.UNIT_CIRCLE) engine.pickNewTarget();
         });
         root.getChildren().add(modeSelector);
 
@@ -309,12 +358,16 @@ public class UnitCircleApp extends Application {
         startGameButton.setFocusTraversable(false);
         startGameButton.setVisible(false);
         startGameButton.setOnAction(e -> {
+            long seed = System.nanoTime();
+            if (pendingLearner != null) {
+                pendingLearner.run();
+                pendingLearner = null;
+            }
+            startJournal(seed);
             startGameButton.setVisible(false);
             promptLabel.setVisible(true);
+            engine.start(seed, journal != null ? journal.getStartMillis() : System.currentTimeMillis());
             startTimer();
-            pickNewTargetAngle();
-            score = 0;
-            updateScore(0);
             scoreLabel.setVisible(true);
             scoreHistoryManager.clear();
             historyButton.setVisible(true);
@@ -344,19 +397,43 @@ public class UnitCircleApp extends Application {
 
         highScoresButton.setStyle("-fx-font-size: 14px;");
         highScoresButton.setFocusTraversable(false);
-        highScoresButton.setOnAction(e -> highScoreManager.showHighScoresPopup());
+        highScoresButton.setOnAction(e -> showHighScores());
         highScoresButton.setVisible(true);
         root.getChildren().add(highScoresButton);
-
-        // Initialize missCounts for weighted learning
-        for (int angle : ANGLES) {
-            missCounts.put(angle, 0);
-        }
     }
 
 
 
 
+    /**
+     * Handles a click on an angle, from its button or from the canvas: shows the special triangle,
+     * or answers the game's prompt.
+     *
+     * @param angle the clicked angle in degrees
+     */
+    private void angleClicked(int angle) {
+        if (currentAppMode == AppMode.SPECIAL_TRIANGLES) {
+            SpecialTriangle.showTriangleForAngle(angle);
+            return;
+        }
+
+        if (currentAppMode == AppMode.UNIT_CIRCLE) engine.answer(angle);
+    }
+
+    /**
+     * Keeps {@link #circleCanvas} showing what the circle nodes hold: the circle's fill (answer
+     * flashes) and which quadrant overlays are showing.
+     */
+    private void mirrorOnCanvas() {
+        circle.fillProperty().addListener((obs, oldFill, fill) -> circleCanvas.setCircleFill(fill));
+        overlayPane.visibleProperty().addListener((obs, was, visible) -> circleCanvas.setMasksVisible(visible));
+        List<Rectangle> overlays = List.of(quadrantIOverlay, quadrantIIOverlay, quadrantIIIOverlay, quadrantIVOverlay);
+        for (int i = 0; i < overlays.size(); i++) {
+            int quadrant = i + 1;
+            overlays.get(i).visibleProperty().addListener((obs, was, visible) -> circleCanvas.setMasked(quadrant, visible));
+        }
+    }
+
     /**
      * Used to show and hide the prompt for a given game mode and makes sure it checks centering
      */
@@ -381,11 +458,12 @@ public class UnitCircleApp extends Application {
     }
 
     /**
-     * Updates the layout of all buttons and UI elements based on window size.
+     * Updates the layout of all buttons and UI elements based on window size. Runs at most once per
+     * pulse while the window is resized.
      * @param root the root pane to update
      */
     private void updateLayout(Pane root) {
-        if (buttons.size() != ANGLES.length || lines.size() != ANGLES.length) return;
+        if (buttons.size() != lines.size()) return;
 
         double w = root.getWidth();
         double h = root.getHeight();
@@ -398,12 +476,17 @@ public class UnitCircleApp extends Application {
         circle.setCenterX(centerX);
         circle.setCenterY(centerY);
 
+        // the canvas draws the circle itself once the root has laid it out at this size
+        if (circleCanvas != null) circleCanvas.setPrefSize(w, h);
+        if (angleLabels != null) {
+            angleLabels.setPrefSize(w, h);
+            angleLabels.layoutRing(centerX, centerY, radius);
+        }
+
         // Position buttons and lines around the circle
-        for (int i = 0; i < ANGLES.length; i++) {
-            int angleDeg = ANGLES[i];
-            double radians = Math.toRadians(angleDeg);
-            double endX = centerX + Math.cos(radians) * radius;
-            double endY = centerY - Math.sin(radians) * radius;
+        for (int i = 0; i < buttons.size(); i++) {
+            double endX = unitVectors.x(i, centerX, radius);
+            double endY = unitVectors.y(i, centerY, radius);
 
             Button btn = buttons.get(i);
             double btnWidth = btn.getWidth() == 0 ? 40 : btn.getWidth();
@@ -493,88 +576,284 @@ public class UnitCircleApp extends Application {
      * Updates the labels of all angle buttons based on the current display mode.
      */
     private void updateButtonLabels() {
-        for (int i = 0; i < ANGLES.length; i++) {
-            Button btn = buttons.get(i);
-
-            if (currentAppMode == AppMode.UNIT_CIRCLE) {
-                btn.setText("x");
-                continue;
+        for (int i = 0; i < angles.length; i++) {
+            String label = currentAppMode == AppMode.UNIT_CIRCLE ? "x" : engine.getAngleTable().label(i, engine.getMode(), false);
+            if (circleCanvas != null) {
+                circleCanvas.setLabel(i, label);
+            } else if (angleLabels != null) {
+                angleLabels.setLabel(i, label);
+            } else {
+                buttons.get(i).setText(label);
             }
+        }
+    }
 
-            int angle = ANGLES[i];
-            double radians = Math.toRadians(angle);
+    /**
+     * Briefly flashes the main circle with a specified color to indicate whether the player's answer was correct or incorrect,
+     * and plays the corresponding sound effect. After a short delay, the circle returns to its default color; an answer
+     * during a flash restarts it with the new color.
+     *
+     * @param flashColor the color to flash the circle with (e.g., green for correct, red for incorrect)
+     * @param isCorrect  whether the answer was correct (true) or incorrect (false); used to determine sound effect
+     */
+    private void flashCircle(Color flashColor, boolean isCorrect) {
+        // Set the fill color of the circle to indicate correctness, and schedule the return to its default color
+        answerFlash.flash(flashColor);
 
-            String label = getLabelForAngle(angle, currentMode, false);
-            btn.setText(label);
+        // Play the appropriate sound based on whether the answer was correct
+        if (isCorrect && correctSound != null) {
+            correctSound.play();
+        } else if (!isCorrect && incorrectSound != null) {
+            incorrectSound.play();
         }
     }
 
+
+    /** Called by JavaFX before {@link #start}; starts the executor all background work runs on. */
+    @Override
+    public void init() {
+        AppExecutor.get();
+    }
+
     /**
-     * Picks a new target angle for the game mode and updates the prompt label.
+     * Called by JavaFX when the application exits. Waits for any queued high score writes so
+     * nothing is lost on shutdown, then for the rest of the background work.
      */
-    private void pickNewTargetAngle() {
-        if (currentAppMode != AppMode.UNIT_CIRCLE) return;
-
-        // Weighted selection based on miss counts
-        List<Integer> weightedAngles = new ArrayList<>();
-        for (int angle : ANGLES) {
-            int weight = 1 + missCounts.getOrDefault(angle, 0); // base weight of 1
-            for (int i = 0; i < weight; i++) {
-                weightedAngles.add(angle);
+    @Override
+    public void stop() {
+        if (journal != null) {
+            SessionJournal last = journal;
+            endJournal();
+            try {
+                last.awaitClosed(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        saveLearner();
+        if (leaderboardServer != null) {
+            leaderboardServer.close();
+        }
+        if (highScoreManager != null) {
+            // still loading means nothing was saved yet; it is closed once loaded, before the executor stops
+            highScoreManager.thenAccept(HighScoreManager::close);
+        }
+        try {
+            if (!AppExecutor.shutdown(5, TimeUnit.SECONDS)) {
+                System.err.println("Background tasks did not finish in time");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        int newAngle;
-        do {
-            newAngle = weightedAngles.get(random.nextInt(weightedAngles.size()));
-        } while (newAngle == currentTargetAngle);
+    /** Decodes the answer sounds off the UI thread; answers given before they are ready play silently. */
+    private void loadSounds() {
+        AppExecutor.get().execute("load-sounds", () -> {
+            correctSound = loadSound(correctURL);
+            incorrectSound = loadSound(incorrectURL);
+        });
+    }
 
-        currentTargetAngle = newAngle;
+    /**
+     * Reads the high score files off the UI thread: the CSV import, the score log and its index, and
+     * the player statistics. Until they are read nothing needs them: a game lasts
+     * {@value GameRules#GAME_SECONDS} seconds, and a leaderboard asked for earlier opens once loaded.
+     */
+    private void loadHighScores() {
+        highScoreManager = AppExecutor.get().submit("load-high-scores", HighScoreManager::new);
+        highScoreManager.exceptionally(e -> {
+            System.err.println("Could not load high scores: " + e);
+            return null;
+        });
+    }
 
-        String label = getLabelForAngle(currentTargetAngle, currentMode, true);
-        promptLabel.setText("Click the button at " + label);
+    /** Runs {@code action} on the UI thread with the high scores, now if they are loaded, otherwise once they are. */
+    private void withHighScores(Consumer<HighScoreManager> action) {
+        HighScoreManager loaded = highScoreManager.getNow(null);
+        if (loaded != null) {
+            action.accept(loaded);
+        } else {
+            highScoreManager.thenAcceptAsync(action, Platform::runLater);
+        }
+    }
 
-        switch (currentMode) {
-            case SIN -> updateQuadrantOverlaysForSin();
-            case COS -> updateQuadrantOverlaysForCos();
-            case TAN -> updateQuadrantOverlaysForTan();
-            default -> showOnlyQuadrants(1, 2, 3, 4);
+    private static AudioClip loadSound(URL url) {
+        if (url == null) return null;
+        try {
+            return new AudioClip(url.toExternalForm());
+        } catch (Exception | Error e) {
+            System.err.println("Could not load sound " + url + ": " + e);
+            return null;
         }
     }
 
+    /**
+     * Reads the optional leaderboard parameters. {@code --leaderboard-url=http://host:port/} sends
+     * scores to another kiosk's server instead of the local file; {@code --leaderboard-port=N}
+     * serves this kiosk's leaderboard to others on port N.
+     */
+    private void configureLeaderboard() {
+        Map<String, String> named = getParameters() == null ? Map.of() : getParameters().getNamed();
+        String url = named.get("leaderboard-url");
+        if (url != null) {
+            leaderboardClient = new LeaderboardClient(URI.create(url));
+            leaderboardClient.fetchTop(LeaderboardServer.MAX_TOP).exceptionally(e -> List.of());
+        }
+        String port = named.get("leaderboard-port");
+        if (port != null) {
+            withHighScores(scores -> {
+                try {
+                    leaderboardServer = new LeaderboardServer(scores, new InetSocketAddress(Integer.parseInt(port)));
+                    leaderboardServer.start();
+                } catch (IOException | NumberFormatException e) {
+                    System.err.println("Could not start leaderboard server on port " + port + ": " + e.getMessage());
+                }
+            });
+        }
+    }
 
     /**
-     * Briefly flashes the main circle with a specified color to indicate whether the player's answer was correct or incorrect,
-     * and plays the corresponding sound effect. After a short delay, the circle returns to its default color.
-     *
-     * @param flashColor the color to flash the circle with (e.g., green for correct, red for incorrect)
-     * @param isCorrect  whether the answer was correct (true) or incorrect (false); used to determine sound effect
+     * Reads {@code --angles}: {@code special} (the default) for the special angles, or the degrees
+     * between two angles, such as {@code 15}, {@code 5} or {@code 1}. Sets up everything sized by
+     * the angle set.
      */
-    private void flashCircle(Color flashColor, boolean isCorrect) {
-        // Set the fill color of the circle to indicate correctness
-        circle.setFill(flashColor);
+    private void configureAngles() {
+        if (angles == null) {
+            Map<String, String> named = getParameters() == null ? Map.of() : getParameters().getNamed();
+            String spec = named.getOrDefault("angles", "special");
+            try {
+                angles = angleSet(spec);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage() + ", using the special angles");
+                angles = ANGLES.clone();
+            }
+        }
+        engine = new GameEngine(angles);
+        unitVectors = new UnitVectors(angles);
+    }
 
-        // Play the appropriate sound based on whether the answer was correct
-        if (isCorrect && correctSound != null) {
-            correctSound.play();
-        } else if (!isCorrect && incorrectSound != null) {
-            incorrectSound.play();
+    /**
+     * Reads {@code --renderer=canvas} or {@code --renderer=nodes} (the default), unless a renderer
+     * was given to the constructor.
+     */
+    private void configureRenderer() {
+        if (renderer != null) return;
+        Map<String, String> named = getParameters() == null ? Map.of() : getParameters().getNamed();
+        String name = named.getOrDefault("renderer", "nodes");
+        try {
+            renderer = Renderer.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown renderer " + name + ", using nodes");
+            renderer = Renderer.NODES;
         }
+    }
 
-        // Launch a background thread to wait briefly, then revert the circle color
-        new Thread(() -> {
+    /**
+     * Loads the spaced-repetition state of the learner named by {@code --learner=NAME}, or of the
+     * operating system user, from {@code learners/NAME.srs} in the background. Until it is loaded
+     * the game schedules from scratch; a state that arrives during a game takes over when the next
+     * one starts. If the file cannot be read the game keeps scheduling from scratch and leaves the
+     * file alone.
+     */
+    private void configureLearner() {
+        Map<String, String> named = getParameters() == null ? Map.of() : getParameters().getNamed();
+        String learner = named.getOrDefault("learner", System.getProperty("user.name", "default"));
+        Path file = LEARNER_DIR.resolve(learner.replaceAll("[^A-Za-z0-9_-]", "_") + ".srs");
+        engine.setScheduler(new LeitnerScheduler(angles));
+        learnerLane.execute(() -> {
             try {
-                // Pause for 300 milliseconds to let the user see the flash
-                Thread.sleep(300);
-            } catch (InterruptedException ignored) {
-                // If the thread is interrupted, ignore it; not critical for UI feedback
+                LeitnerScheduler loaded = LeitnerScheduler.load(file, angles);
+                Platform.runLater(() -> {
+                    Runnable adopt = () -> {
+                        engine.setScheduler(loaded);
+                        learnerFile = file;
+                    };
+                    if (engine.isRunning()) {
+                        pendingLearner = adopt;
+                    } else {
+                        adopt.run();
+                    }
+                });
+            } catch (IOException e) {
+                System.err.println("Could not load learner " + learner + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Saves the learner's spaced-repetition state, if it was loaded. The state is copied here and
+     * written on the learner lane, after any earlier load or save.
+     */
+    private void saveLearner() {
+        if (learnerFile == null || !(engine.getScheduler() instanceof LeitnerScheduler leitner)) return;
+        Path file = learnerFile;
+        ByteBuffer state = leitner.encode();
+        try {
+            learnerLane.execute(() -> {
+                try {
+                    LeitnerScheduler.write(file, state);
+                } catch (IOException e) {
+                    System.err.println("Error saving learner state: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("Learner state not saved, background tasks are shut down: " + e.getMessage());
+        }
+    }
+
+    /** Saves the current score to the leaderboard server in client mode, otherwise locally. */
+    private void saveScore() {
+        if (leaderboardClient != null) {
+            leaderboardClient.trySaveScore(engine.getScore(), engine.getMode().name());
+        } else {
+            int score = engine.getScore();
+            String mode = engine.getMode().name();
+            withHighScores(scores -> scores.trySaveScore(score, mode));
+        }
+    }
+
+    private void showHighScores() {
+        if (leaderboardClient != null) {
+            leaderboardClient.showHighScoresPopup();
+        } else {
+            withHighScores(HighScoreManager::showHighScoresPopup);
+        }
+    }
+
+    /**
+     * Opens a journal for the session that is starting and records the scheduler state it starts
+     * with; the game runs without one if that fails.
+     */
+    private void startJournal(long seed) {
+        endJournal();
+        TargetScheduler scheduler = engine.getScheduler();
+        try {
+            journal = SessionJournal.start(JOURNAL_DIR, engine.getMode(), seed, scheduler.kind());
+            AngleDisplayMode[] modes = AngleDisplayMode.values();
+            for (int mode = 0; mode < scheduler.modes(); mode++) {
+                for (int i = 0; i < angles.length; i++) {
+                    int state = scheduler.getState(mode, i);
+                    if (state != 0) journal.schedulerState(modes[mode], angles[i], state);
+                }
             }
+        } catch (IOException e) {
+            System.err.println("Could not start session journal: " + e.getMessage());
+        }
+    }
 
-            // Return the circle to its default color on the JavaFX Application Thread
-            Platform.runLater(() -> circle.setFill(DEFAULT_COLOR));
-        }).start();
+    /** Records the final score and closes the session journal in the background. */
+    private void endJournal() {
+        if (journal != null) {
+            journal.end(engine.getScore());
+            journal = null;
+        }
     }
 
+    /** @return reaction times recorded since the app started */
+    ReactionTimes getReactionTimes() {
+        return engine.getReactionTimes();
+    }
 
     public static void main(String[] args) {
         launch(args);
@@ -583,27 +862,15 @@ public class UnitCircleApp extends Application {
     /**
      * Starts a countdown timer for the game session.
      * <p>
-     * Initializes the timer with 120 seconds and updates the timer label to display the
-     * initial time. The method creates a {@code Timeline} that decrements the remaining
-     * time every second and updates the display accordingly. When the timer reaches zero,
-     * it stops the countdown, displays a final message with the score, and attempts to
-     * save the high score using the current game mode.
+     * Updates the timer label to display the time of the game {@link #engine} just started.
+     * The method creates a {@code Timeline} that ticks the engine's countdown every second;
+     * {@link GameObserver} updates the display and ends the game when time is up.
      */
     private void startTimer() {
-        secondsRemaining = 120;
         timerLabel.setVisible(true);
         updateTimerLabel();
 
-        countdownTimer = new Timeline(new KeyFrame(Duration.seconds(1), event -> {
-            secondsRemaining--;
-            updateTimerLabel();
-
-            if (secondsRemaining <= 0) {
-                countdownTimer.stop();
-                promptLabel.setText("Time's up! Final Score: " + score);
-                Platform.runLater(() -> highScoreManager.trySaveScore(score, currentMode.name()));
-            }
-        }));
+        countdownTimer = new Timeline(new KeyFrame(Duration.seconds(1), event -> engine.tick()));
         countdownTimer.setCycleCount(Timeline.INDEFINITE);
         countdownTimer.play();
     }
@@ -619,6 +886,9 @@ public class UnitCircleApp extends Application {
         if (countdownTimer != null) {
             countdownTimer.stop();
         }
+        engine.stop();
+        endJournal();
+        saveLearner();
         timerLabel.setVisible(false);
         scoreLabel.setVisible(false);
         historyButton.setVisible(false);
@@ -630,9 +900,10 @@ public class UnitCircleApp extends Application {
      * <p>
      * The label is formatted as "Time Left: M:SS", and repositioned based on the current
      * scene width to ensure it's horizontally centered.
-     * This method should be called whenever {@code secondsRemaining} changes.
+     * This method should be called whenever the countdown in {@link #engine} changes.
      */
     private void updateTimerLabel() {
+        int secondsRemaining = engine.getSecondsRemaining();
         int minutes = secondsRemaining / 60;
         int seconds = secondsRemaining % 60;
         timerLabel.setText(String.format("Time Left: %d:%02d", minutes, seconds));
@@ -642,21 +913,6 @@ public class UnitCircleApp extends Application {
         }
     }
 
-    /**
-     * Updates the current game score by a specified delta and reflects the change in the UI.
-     * <p>
-     * This method increments (or decrements) the score by the given {@code delta}, updates the score label
-     * displayed in the user interface, and logs the result in the score history manager.
-     *
-     * @param delta the amount to add to the current score (can be negative to represent a penalty)
-     */
-    private void updateScore(int delta) {
-        score += delta;
-        scoreLabel.setText("Score: " + score);
-
-        scoreHistoryManager.record(delta > 0, score);
-    }
-
     /**
      * Resets the game state to its initial configuration.
      * <p>
@@ -672,10 +928,9 @@ public class UnitCircleApp extends Application {
      * This ensures the UI and internal state are ready for a new game session.
      */
     private void resetGame() {
-        highScoreManager.trySaveScore(score, currentMode.name());
+        saveScore();
         stopTimer();
-        score = 0;
-        updateScore(0);
+        engine.reset();
         scoreLabel.setVisible(false);
         promptLabel.setVisible(false);
         historyButton.setVisible(false);
@@ -690,150 +945,70 @@ public class UnitCircleApp extends Application {
     }
 
     /**
-     * Shows only the specified quadrants by hiding the overlays for all quadrants first,
-     * then making the overlays for the specified quadrants invisible.
+     * Shows only the specified quadrants by hiding the overlays for all other quadrants.
      * <p>
      * This is used to visually restrict the view to certain quadrants in the unit circle,
      * often to help users deduce sine, cosine, or tangent values based on quadrant behavior.
-     * <p>
-     * Quadrant numbering follows standard mathematical convention:
-     * <ul>
-     *   <li>1 → Quadrant I</li>
-     *   <li>2 → Quadrant II</li>
-     *   <li>3 → Quadrant III</li>
-     *   <li>4 → Quadrant IV</li>
-     * </ul>
      *
-     * @param visibleQuadrants The quadrant numbers (1–4) to make visible. All other overlays remain shown.
-     *                         Internally, these quadrants will have their overlay visibility set to {@code false},
-     *                         revealing the quadrant content.
+     * @param visibleQuadrants mask of the quadrants to reveal, as {@link GameEngine#getVisibleQuadrants()} returns it
      */
-    private void showOnlyQuadrants(int... visibleQuadrants) {
-        quadrantIOverlay.setVisible(true);
-        quadrantIIOverlay.setVisible(true);
-        quadrantIIIOverlay.setVisible(true);
-        quadrantIVOverlay.setVisible(true);
-
-        for (int q : visibleQuadrants) {
-            switch (q) {
-                case 1 -> quadrantIOverlay.setVisible(false);
-                case 2 -> quadrantIIOverlay.setVisible(false);
-                case 3 -> quadrantIIIOverlay.setVisible(false);
-                case 4 -> quadrantIVOverlay.setVisible(false);
-            }
-        }
+    private void showOnlyQuadrants(int visibleQuadrants) {
+        quadrantIOverlay.setVisible((visibleQuadrants & GameEngine.QUADRANT_I) == 0);
+        quadrantIIOverlay.setVisible((visibleQuadrants & GameEngine.QUADRANT_II) == 0);
+        quadrantIIIOverlay.setVisible((visibleQuadrants & GameEngine.QUADRANT_III) == 0);
+        quadrantIVOverlay.setVisible((visibleQuadrants & GameEngine.QUADRANT_IV) == 0);
     }
 
     /**
-     * Updates the quadrant overlays for the sine display mode in the Unit Circle game.
-     * <p>
-     * When the app is in {@link AppMode#UNIT_CIRCLE} and {@link AngleDisplayMode#SIN} mode,
-     * this method restricts which quadrants are visually shown to help the user
-     * deduce the correct angle for a given sine value (y-coordinate on the unit circle).
-     * <p>
-     * Since sine is positive in Quadrants I and II, and negative in Quadrants III and IV,
-     * this method determines the correct hemisphere to display based on the target angle:
-     * <ul>
-     *   <li>If the angle is in QI or QIV (angle &lt; 90 or &gt; 270), show the right half (QI and QIV).</li>
-     *   <li>If the angle is in QII or QIII (angle ≥ 90 and ≤ 270), show the left half (QII and QIII).</li>
-     * </ul>
-     * If the app is not in the correct mode, all quadrants are shown.
+     * Draws what {@link #engine} reports and journals it: prompts, answers, score, countdown and
+     * mode changes. This is the only way game state reaches the screen.
      */
-    private void updateQuadrantOverlaysForSin() {
-        if (currentMode != AngleDisplayMode.SIN || !(currentAppMode == AppMode.UNIT_CIRCLE)) {
-            showOnlyQuadrants(1, 2, 3, 4); // show all
-            return;
-        }
+    private class GameObserver implements GameEngine.Listener {
 
-        int angle = currentTargetAngle;
-        // Quadrants where x > 0: QI, QIV
-        if (angle < 90 || angle > 270) {
-            // Button is in QI or QIV → show right side → hide QII & QIII
-            showOnlyQuadrants(1, 4);
-        } else {
-            // Button is in QII or QIII → show left side → hide QI & QIV
-            showOnlyQuadrants(2, 3);
+        @Override
+        public void targetChanged(int target) {
+            promptLabel.setText("Click the button at " + engine.getPromptLabel());
+            if (journal != null) journal.targetChosen(target);
+            showOnlyQuadrants(engine.getVisibleQuadrants());
         }
-    }
 
-    /**
-     * Updates the quadrant overlays based on the current angle when in COS mode.
-     * <p>
-     * In the Unit Circle game mode with the display set to COS, this method determines
-     * whether to show the left or right half of the circle to visually restrict
-     * user choices based on the cosine value.
-     * <p>
-     * Cosine (x-coordinate on the unit circle) is positive in Quadrants I and IV,
-     * and negative in Quadrants II and III. This method uses that rule to determine
-     * which quadrants to display:
-     * <ul>
-     *   <li>If the angle is between 0° and 180° inclusive, it shows Quadrants I and II (right side).</li>
-     *   <li>Otherwise, it shows Quadrants III and IV (left side).</li>
-     * </ul>
-     * If the mode is not COS or not in UNIT_CIRCLE app mode, all four quadrants are shown.
-     */
-    private void updateQuadrantOverlaysForCos() {
-        if (currentMode != AngleDisplayMode.COS || !(currentAppMode == AppMode.UNIT_CIRCLE)) {
-            showOnlyQuadrants(1, 2, 3, 4);
-            return;
+        @Override
+        public void answered(int angle, boolean correct) {
+            if (journal != null) journal.answered(angle, correct);
+            flashCircle(correct ? CORRECT_COLOR : INCORRECT_COLOR, correct);
         }
 
-        int angle = currentTargetAngle;
-        // Quadrants where x > 0: QI, QIV
-        if (angle >= 0 && angle <= 180) {
-            // Button is in QI or QIV → show right side → hide QII & QIII
-            showOnlyQuadrants(1, 2);
-        } else {
-            // Button is in QII or QIII → show left side → hide QI & QIV
-            showOnlyQuadrants(3, 4);
+        /** Updates the score label, journals the change and logs it in the score history. */
+        @Override
+        public void scoreChanged(int delta, int score) {
+            scoreLabel.setText("Score: " + score);
+            if (journal != null && delta != 0) journal.scoreChanged(delta, score);
+            scoreHistoryManager.record(delta > 0, score);
         }
-    }
 
-    /**
-     * Updates the quadrant overlays on the unit circle visualization when in TAN mode.
-     * <p>
-     * This method ensures that only the relevant quadrants are visible based on the target angle.
-     * Tangent is undefined when {@code cos(θ) = 0}, and is only valid where cosine is non-zero.
-     * To help disambiguate which angle is correct when two angles share the same tangent value,
-     * this method restricts quadrant visibility:
-     * <ul>
-     *     <li>If the angle is in QI or QIV (i.e., angle &lt; 90 or angle &gt; 270), only quadrants 1 and 4 are shown.</li>
-     *     <li>If the angle is in QII or QIII (i.e., 90 ≤ angle ≤ 270), only quadrants 2 and 3 are shown.</li>
-     *     <li>If the app is not in {@code AppMode.UNIT_CIRCLE} or the angle display mode is not {@code TAN}, all quadrants are shown.</li>
-     * </ul>
-     */
-    private void updateQuadrantOverlaysForTan() {
-        if (currentMode != AngleDisplayMode.TAN || !(currentAppMode == AppMode.UNIT_CIRCLE)) {
-            showOnlyQuadrants(1, 2, 3, 4); // show all
-            return;
+        @Override
+        public void timerTicked(int secondsRemaining) {
+            updateTimerLabel();
+            if (journal != null) {
+                journal.timerTick(secondsRemaining);
+                journal.flush();
+            }
         }
 
-        int angle = currentTargetAngle;
-        // Quadrants where x > 0: QI, QIV
-        if (angle < 90 || angle > 270) {
-            // Button is in QI or QIV → show right side → hide QII & QIII
-            showOnlyQuadrants(1, 4);
-        } else {
-            // Button is in QII or QIII → show left side → hide QI & QIV
-            showOnlyQuadrants(2, 3);
+        @Override
+        public void modeChanged(AngleDisplayMode mode) {
+            updateButtonLabels();
+            if (journal != null) journal.modeChanged(mode);
         }
-    }
 
-    /**
-     * Applies a decay to the miss counts for all tracked angles.
-     * <p>
-     * This method reduces the recorded number of misses for each angle by 1,
-     * down to a minimum of 0. It ensures that previously missed angles gradually
-     * become less weighted over time, assuming they are answered correctly later.
-     * This helps balance the angle selection process so that users are not indefinitely
-     * penalized for earlier mistakes.
-     * <p>
-     * The list of angles affected is defined in the {@code ANGLES} collection,
-     * and their associated miss counts are stored in the {@code missCounts} map.
-     */
-    private void decayMissCounts() {
-        for (int angle : ANGLES) {
-            missCounts.put(angle, Math.max(0, missCounts.get(angle) - 1));
+        /** Stops the countdown, shows the final score and saves it. */
+        @Override
+        public void timeUp(int finalScore) {
+            countdownTimer.stop();
+            endJournal();
+            saveLearner();
+            promptLabel.setText("Time's up! Final Score: " + finalScore);
+            Platform.runLater(UnitCircleApp.this::saveScore);
         }
     }
 
@@ -0,0 +1,54 @@
+package com.example.csiifinal;
+
+/**
+ * Cosine and sine of every angle of an angle set, computed once so laying out the circle needs no
+ * trigonometry. Multiples of 90° are stored as exact 0, 1 and -1 rather than values like
+ * {@code Math.cos(Math.PI / 2)}, so spokes on the axes land on whole pixels.
+ */
+public final class UnitVectors {
+
+    private final double[] cos;
+    private final double[] sin;
+
+    /** @param angles angles in degrees */
+    public UnitVectors(int[] angles) {
+        cos = new double[angles.length];
+        sin = new double[angles.length];
+        for (int i = 0; i < angles.length; i++) {
+            int degrees = Math.floorMod(angles[i], 360);
+            if (degrees % 90 == 0) {
+                int quarter = degrees / 90;
+                cos[i] = quarter == 0 ? 1 : quarter == 2 ? -1 : 0;
+                sin[i] = quarter == 1 ? 1 : quarter == 3 ? -1 : 0;
+            } else {
+                double radians = Math.toRadians(degrees);
+                cos[i] = Math.cos(radians);
+                sin[i] = Math.sin(radians);
+            }
+        }
+    }
+
+    public int size() {
+        return cos.length;
+    }
+
+    /** @return cosine of the angle at {@code index} */
+    public double cos(int index) {
+        return cos[index];
+    }
+
+    /** @return sine of the angle at {@code index} */
+    public double sin(int index) {
+        return sin[index];
+    }
+
+    /** @return screen x of the angle's point on a circle centered at {@code centerX} */
+    public double x(int index, double centerX, double radius) {
+        return centerX + cos[index] * radius;
+    }
+
+    /** @return screen y of the angle's point on a circle centered at {@code centerY}; screen y grows downwards */
+    public double y(int index, double centerY, double radius) {
+        return centerY - sin[index] * radius;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.csiifinal;
+
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Spokes and angle buttons of the node renderer for angle sets too fine for a button per angle.
+ * <p>
+ * All spokes and ticks are one {@link Path}. Only the angles {@link AngleRing} labels at the current
+ * radius, plus the angle under the pointer, have a button in the scene; buttons are taken from a
+ * pool and handed to other angles when the circle is resized, so a 360-angle set needs a few dozen
+ * nodes rather than 720. A click anywhere else on the ring picks the nearest angle. All methods
+ * must be called on the JavaFX Application Thread.
+ */
+public final class VirtualAngleLabels extends Pane {
+
+    private final int[] angles;
+    private final AngleRing ring;
+    private final UnitVectors unitVectors;
+    private final IntConsumer onAngleClicked;
+    private final String[] labels;
+
+    private final Path spokes = new Path();
+    // buttons[0, used) show the labelled angles; slotOf maps an angle index to its button or -1
+    private final List<Button> buttons = new ArrayList<>();
+    private final int[] angleOf;
+    private final int[] slotOf;
+    private int used;
+    private final Button hoverButton;
+    private int hovered = -1;
+
+    private double centerX = Double.NaN;
+    private double centerY;
+    private double radius;
+    private int labelSpacing;
+
+    /**
+     * @param angles         angles in degrees, ascending, in [0, 360)
+     * @param unitVectors    unit vectors of {@code angles}
+     * @param onAngleClicked receives the angle, in degrees, that was clicked
+     */
+    public VirtualAngleLabels(int[] angles, UnitVectors unitVectors, IntConsumer onAngleClicked) {
+        this.angles = angles;
+        this.ring = new AngleRing(angles);
+        this.unitVectors = unitVectors;
+        this.onAngleClicked = onAngleClicked;
+        labels = new String[angles.length];
+        angleOf = new int[angles.length];
+        slotOf = new int[angles.length];
+        for (int i = 0; i < angles.length; i++) {
+            labels[i] = angles[i] + "°";
+            slotOf[i] = -1;
+        }
+        spokes.setStroke(Color.BLACK);
+        spokes.setStrokeWidth(1.5);
+        spokes.setMouseTransparent(true);
+        hoverButton = newButton();
+        hoverButton.setOnAction(e -> {
+            if (hovered >= 0) onAngleClicked.accept(angles[hovered]);
+        });
+
+        setOnMouseMoved(e -> setHovered(ringIndexAt(e.getX(), e.getY())));
+        setOnMouseExited(e -> setHovered(-1));
+        setOnMouseClicked(e -> {
+            // clicks on a button are its action's
+            if (e.getTarget() != this || !e.isStillSincePress()) return;
+            int index = ringIndexAt(e.getX(), e.getY());
+            if (index >= 0) onAngleClicked.accept(angles[index]);
+        });
+    }
+
+    /** Sets the text of the angle at {@code index}; only a showing button is touched. */
+    public void setLabel(int index, String text) {
+        labels[index] = text;
+        if (slotOf[index] >= 0) buttons.get(slotOf[index]).setText(text);
+        if (index == hovered) hoverButton.setText(text);
+    }
+
+    /** @return number of angle buttons in the scene, including the hovered angle's */
+    public int getButtonCount() {
+        return used + (hovered >= 0 ? 1 : 0);
+    }
+
+    /** @return index of the angle the point on the ring picks, or -1 */
+    public int ringIndexAt(double x, double y) {
+        if (Double.isNaN(centerX)) return -1;
+        return ring.indexAt(x, y, centerX, centerY, radius / 2.5, radius + CircleCanvas.LABEL_HEIGHT / 2);
+    }
+
+    /** Places spokes and buttons around a circle; does nothing if the circle has not changed. */
+    public void layoutRing(double centerX, double centerY, double radius) {
+        if (centerX == this.centerX && centerY == this.centerY && radius == this.radius) return;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        labelSpacing = ring.labelSpacing(radius, CircleCanvas.LABEL_WIDTH);
+
+        List<PathElement> elements = new ArrayList<>(2 * angles.length);
+        for (int i = 0; i < angles.length; i++) {
+            double endX = unitVectors.x(i, centerX, radius);
+            double endY = unitVectors.y(i, centerY, radius);
+            if (ring.isLabelled(i, labelSpacing)) {
+                elements.add(new MoveTo(centerX, centerY));
+            } else {
+                double tick = radius * 0.94;
+                elements.add(new MoveTo(unitVectors.x(i, centerX, tick), unitVectors.y(i, centerY, tick)));
+            }
+            elements.add(new LineTo(endX, endY));
+        }
+        spokes.getElements().setAll(elements);
+
+        for (int slot = 0; slot < used; slot++) slotOf[angleOf[slot]] = -1;
+        used = 0;
+        for (int i = 0; i < angles.length; i++) {
+            if (!ring.isLabelled(i, labelSpacing)) continue;
+            if (used == buttons.size()) {
+                Button button = newButton();
+                int slot = used;
+                button.setOnAction(e -> onAngleClicked.accept(angles[angleOf[slot]]));
+                buttons.add(button);
+            }
+            Button button = buttons.get(used);
+            angleOf[used] = i;
+            slotOf[i] = used;
+            button.setId("angleBtn" + angles[i]);
+            button.setText(labels[i]);
+            place(button, i);
+            used++;
+        }
+        if (hovered >= 0 && slotOf[hovered] >= 0) hovered = -1;
+        if (hovered >= 0) place(hoverButton, hovered);
+        updateChildren();
+    }
+
+    private void setHovered(int index) {
+        // labelled angles already have a button
+        if (index >= 0 && slotOf[index] >= 0) index = -1;
+        if (index == hovered) return;
+        hovered = index;
+        if (index >= 0) {
+            hoverButton.setId("angleBtn" + angles[index]);
+            hoverButton.setText(labels[index]);
+            place(hoverButton, index);
+        }
+        updateChildren();
+    }
+
+    private void updateChildren() {
+        List<Node> children = new ArrayList<>(used + 2);
+        children.add(spokes);
+        children.addAll(buttons.subList(0, used));
+        if (hovered >= 0) children.add(hoverButton);
+        getChildren().setAll(children);
+    }
+
+    private void place(Button button, int index) {
+        button.relocate(unitVectors.x(index, centerX, radius) - CircleCanvas.LABEL_WIDTH / 2,
+                unitVectors.y(index, centerY, radius) - CircleCanvas.LABEL_HEIGHT / 2);
+    }
+
+    private static Button newButton() {
+        Button button = new Button();
+        button.setPrefSize(CircleCanvas.LABEL_WIDTH, CircleCanvas.LABEL_HEIGHT);
+        button.setFocusTraversable(false);
+        button.setStyle("-fx-font-size: 14px;");
+        return button;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.csiifinal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks indexes at random with probability proportional to a weight per index.
+ * <p>
+ * Weights live in a Fenwick (binary indexed) tree over a primitive array, so changing a weight and
+ * drawing a sample both cost O(log n) whatever the weights are, and neither allocates. Drawing
+ * maps one uniform number in {@code [0, total)} onto the index whose cumulative weight range
+ * contains it.
+ */
+public final class WeightedSampler {
+
+    private final int[] weights;
+    // tree[i] holds the sum of weights[i - lowbit(i), i), 1-based
+    private final long[] tree;
+    private final int topStep;
+    private long total;
+
+    /**
+     * @param size          number of indexes
+     * @param initialWeight weight every index starts with, at least 0
+     */
+    public WeightedSampler(int size, int initialWeight) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+        weights = new int[size];
+        tree = new long[size + 1];
+        topStep = Integer.highestOneBit(size);
+        fill(initialWeight);
+    }
+
+    /** Sets every weight to {@code weight}. */
+    public void fill(int weight) {
+        if (weight < 0) throw new IllegalArgumentException("negative weight: " + weight);
+        Arrays.fill(weights, weight);
+        Arrays.fill(tree, 0);
+        // linear build: push each node's sum up to its parent once
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += weight;
+            int parent = i + (i & -i);
+            if (parent < tree.length) tree[parent] += tree[i];
+        }
+        total = (long) weight * weights.length;
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    public int weight(int index) {
+        return weights[index];
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /** Sets the weight of {@code index}; weights below 0 are treated as 0. */
+    public void set(int index, int weight) {
+        weight = Math.max(0, weight);
+        long delta = weight - weights[index];
+        if (delta == 0) return;
+        weights[index] = weight;
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** @return the sum of the weights of the indexes below {@code index} */
+    public long prefixSum(int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Draws an index with probability {@code weight(i) / total()}.
+     *
+     * @throws IllegalStateException if every weight is 0
+     */
+    public int sample(Random random) {
+        if (total <= 0) throw new IllegalStateException("all weights are zero");
+        return find(nextLong(random, total));
+    }
+
+    /**
+     * Draws an index other than {@code excluded}, with probability proportional to its weight among
+     * the remaining indexes. This is the distribution of redrawing {@link #sample} until the result
+     * differs from {@code excluded}, in a single draw.
+     *
+     * @param excluded index to skip; negative to exclude nothing
+     * @throws IllegalStateException if every other weight is 0
+     */
+    public int sampleExcluding(Random random, int excluded) {
+        return sampleRange(random, 0, weights.length, excluded);
+    }
+
+    /**
+     * Draws an index in {@code [from, to)} other than {@code excluded}, with probability
+     * proportional to its weight within that range. Costs O(log n) however wide the range is.
+     *
+     * @param excluded index to skip; outside the range to exclude nothing
+     * @throws IllegalStateException if every weight left in the range is 0
+     */
+    public int sampleRange(Random random, int from, int to, int excluded) {
+        long low = prefixSum(from);
+        long remaining = prefixSum(to) - low;
+        boolean excluding = excluded >= from && excluded < to;
+        if (excluding) remaining -= weights[excluded];
+        if (remaining <= 0) throw new IllegalStateException("all weights in range are zero");
+        long pick = low + nextLong(random, remaining);
+        // skip over the excluded index's range
+        if (excluding && pick >= prefixSum(excluded)) pick += weights[excluded];
+        return find(pick);
+    }
+
+    /** @return the index whose cumulative weight range contains {@code pick} */
+    private int find(long pick) {
+        int position = 0;
+        for (int step = topStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= pick) {
+                position = next;
+                pick -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private static long nextLong(Random random, long bound) {
+        return bound <= Integer.MAX_VALUE ? random.nextInt((int) bound) : random.nextLong(bound);
+    }
+}
@@ -1,6 +1,8 @@
 module com.example.csiifinal {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.httpserver;
+    requires java.net.http;
 
     requires org.controlsfx.controls;
     requires com.almasb.fxgl.all;
@@ -1,9 +1,13 @@
 import com.example.csiifinal.HighScoreManager;
 import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import com.example.csiifinal.PlayerStats;
+import com.example.csiifinal.ScoreWriteBehind;
 
 import org.junit.jupiter.api.*;
 import java.io.*;
 import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -11,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.*;
 public class HighScoreManagerTest {
 
     private static final String TEST_FILE = "test_highscores.txt";
+    private static final String STORE_FILE = "test_highscores.dat";
 
     @BeforeEach
     void setup() throws IOException {
@@ -23,6 +28,10 @@ public class HighScoreManagerTest {
     @AfterEach
     void cleanup() throws IOException {
         Files.deleteIfExists(Paths.get(TEST_FILE));
+        Files.deleteIfExists(Paths.get(STORE_FILE));
+        Files.deleteIfExists(Paths.get(STORE_FILE + ".idx"));
+        Files.deleteIfExists(Paths.get(STORE_FILE + ".lock"));
+        Files.deleteIfExists(Paths.get(STORE_FILE + ".stats"));
     }
 
     @Test
@@ -68,4 +77,81 @@ public class HighScoreManagerTest {
         scores.clear();  // Should not affect internal list
         assertEquals(originalSize, manager.getAllScores().size());
     }
+
+    @Test
+    void testSubmitScoreIsPersisted() {
+        HighScoreManager manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return TEST_FILE;
+            }
+        };
+
+        assertTrue(manager.submitScore(7, "QQQ", "COS"));
+        assertEquals("QQQ", manager.getAllScores().get(1).initials);  // 10 > 7 > 5, before the write lands
+        manager.close();
+
+        ScoreWriteBehind.Metrics metrics = manager.getPersistenceMetrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(1, metrics.recordsWritten());
+
+        HighScoreManager reopened = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return TEST_FILE;
+            }
+        };
+        assertEquals(3, reopened.getAllScores().size());
+        assertEquals("QQQ", reopened.getAllScores().get(1).initials);
+    }
+
+    @Test
+    void testDateRangeQueries() {
+        HighScoreManager manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return TEST_FILE;
+            }
+        };
+
+        LocalDate newYear = LocalDate.of(2024, 1, 1);
+        List<HighScoreEntry> firstDay = manager.getTopScoresBetween(newYear.atStartOfDay(), newYear.plusDays(1).atStartOfDay(), 5);
+        assertEquals(1, firstDay.size());
+        assertEquals("ABC", firstDay.get(0).initials);
+        assertEquals(List.of(1, 1, 0), List.copyOf(manager.getDailyCounts(newYear, newYear.plusDays(2)).values()));
+
+        manager.submitScore(3, "NOW", "TAN");
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, manager.countScoresBetween(now.minusHours(1), now.plusHours(1)));
+        assertEquals("NOW", manager.getTopScoresBetween(now.minusHours(1), now.plusHours(1), 5).get(0).initials);
+        manager.close();
+    }
+
+    @Test
+    void testPlayerStatsFollowSubmittedScores() {
+        HighScoreManager manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return TEST_FILE;
+            }
+        };
+        manager.submitScore(12, "ABC", "DEGREES");
+        manager.submitScore(20, "ABC", "SIN");
+        manager.close();
+
+        HighScoreManager reopened = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return TEST_FILE;
+            }
+        };
+        PlayerStats.Summary degrees = reopened.getPlayerStats("ABC", "DEGREES");
+        assertEquals(2, degrees.games());
+        assertEquals(12, degrees.best());
+        assertEquals(11.0, degrees.mean(), 1e-9);
+        assertEquals(2.0, degrees.trend(), 1e-9);
+        assertEquals(3, reopened.getPlayerStats("ABC", null).games());
+        assertEquals(List.of("ABC", "XYZ"), reopened.getPlayers());
+        reopened.close();
+    }
 }
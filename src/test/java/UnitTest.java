@@ -58,4 +58,16 @@ public class UnitTest {
         }
         assertEquals(5, historyManager.getHistory().size());  // max size
     }
+
+    @Test
+    void testHistoryKeepsNewestInOrder() {
+        for (int i = 0; i < 7; i++) {
+            historyManager.record(i != 5, i);
+        }
+        List<String> hist = historyManager.getHistory();
+        assertEquals("✔ Correct (Score: 2)", hist.get(0));
+        assertEquals("✘ Incorrect (Score: 5)", hist.get(3));
+        assertEquals("✔ Correct (Score: 6)", hist.get(4));
+        assertTrue(historyManager.nanoTimeAt(0) <= historyManager.nanoTimeAt(4));
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AngleRingTest {
+
+    @Test
+    void testNearestWrapsAroundZero() {
+        AngleRing special = new AngleRing(UCAHelpers.ANGLES);
+        assertEquals(0, special.angle(special.nearest(0)));
+        assertEquals(0, special.angle(special.nearest(350)));
+        assertEquals(330, special.angle(special.nearest(340)));
+        assertEquals(0, special.angle(special.nearest(-5)));
+        assertEquals(45, special.angle(special.nearest(40)));
+        assertEquals(30, special.angle(special.nearest(37)));
+        assertEquals(90, special.angle(special.nearest(449)));
+
+        AngleRing everyDegree = new AngleRing(UCAHelpers.angleSet("1"));
+        for (int angle = 0; angle < 360; angle++) {
+            assertEquals(angle, everyDegree.angle(everyDegree.nearest(angle + 0.4)));
+            assertEquals(angle, everyDegree.angle(everyDegree.nearest(angle - 0.4)));
+        }
+        assertEquals(0, everyDegree.nearest(359.6));
+    }
+
+    @Test
+    void testPointsResolveToTheAngleTheyPointAt() {
+        AngleRing ring = new AngleRing(UCAHelpers.angleSet("5"));
+        double cx = 500;
+        double cy = 400;
+        // straight up is 90°, down-left is 225°
+        assertEquals(90, ring.angle(ring.indexAt(500, 150, cx, cy, 100, 300)));
+        assertEquals(225, ring.angle(ring.indexAt(500 - 150, 400 + 152, cx, cy, 100, 300)));
+        // inside the inner radius and outside the ring nothing is picked
+        assertEquals(-1, ring.indexAt(520, 390, cx, cy, 100, 300));
+        assertEquals(-1, ring.indexAt(900, 400, cx, cy, 100, 300));
+    }
+
+    @Test
+    void testFineSetsOnlyLabelRoundAnglesWithRoomBetweenThem() {
+        assertEquals(0, new AngleRing(UCAHelpers.ANGLES).labelSpacing(100, 75));
+        assertEquals(0, new AngleRing(UCAHelpers.angleSet("15")).labelSpacing(100, 75));
+
+        AngleRing everyDegree = new AngleRing(UCAHelpers.angleSet("1"));
+        int spacing = everyDegree.labelSpacing(333, 75);
+        assertEquals(15, spacing);
+        assertTrue(everyDegree.isLabelled(everyDegree.nearest(45), spacing));
+        assertFalse(everyDegree.isLabelled(everyDegree.nearest(46), spacing));
+        // a smaller circle has room for fewer labels
+        assertEquals(30, everyDegree.labelSpacing(150, 75));
+    }
+
+    @Test
+    void testAngleSets() {
+        assertArrayEquals(UCAHelpers.ANGLES, UCAHelpers.angleSet("special"));
+        assertArrayEquals(new int[]{0, 90, 180, 270}, UCAHelpers.angleSet("90"));
+        assertEquals(360, UCAHelpers.angleSet("1").length);
+        assertThrows(IllegalArgumentException.class, () -> UCAHelpers.angleSet("7"));
+        assertThrows(IllegalArgumentException.class, () -> UCAHelpers.angleSet("0"));
+        assertThrows(IllegalArgumentException.class, () -> UCAHelpers.angleSet("360"));
+        assertArrayEquals(new int[]{0, 180}, UCAHelpers.angleSet("180"));
+        assertThrows(IllegalArgumentException.class, () -> UCAHelpers.angleSet("fine"));
+        assertThrows(IllegalArgumentException.class, () -> new AngleRing(new int[]{30, 0}));
+    }
+}
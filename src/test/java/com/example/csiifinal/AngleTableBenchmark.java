@@ -0,0 +1,107 @@
+package com.example.csiifinal;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the lookups {@link AngleTable} replaced, a boxed {@code Map<Integer, ...>} get plus
+ * string concatenation for a prefixed label and a map and two set probes for a special triangle,
+ * with the table's array reads.
+ * <p>
+ * Argument: lookups per iteration (default 1,000,000). Lookups cycle through the special angles
+ * and the display modes. Prints time per lookup and bytes allocated per lookup; the table should
+ * allocate nothing.
+ */
+public class AngleTableBenchmark {
+
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BenchmarkRunner runner = new BenchmarkRunner(5, 10);
+        int[] angles = UCAHelpers.ANGLES;
+        LegacyLookups legacy = new LegacyLookups();
+        AngleTable table = new AngleTable(angles);
+
+        Lookup legacyLabel = op -> legacy.label(angles[op & 15], MODES[op % MODES.length]).length();
+        Lookup tableLabel = op -> table.label(op & 15, MODES[op % MODES.length], true).length();
+        Lookup legacyTriangle = op -> legacy.triangle(angles[op & 15]);
+        Lookup tableTriangle = op -> {
+            int slot = op & 15;
+            return table.triangle(slot) == null ? 0 : table.xFlip(slot) + (table.rotatesClockwise(slot) ? 2 : 0);
+        };
+
+        runner.runPerOp("legacy label (boxed map + concat)", lookups, legacyLabel::run);
+        runner.runPerOp("table label", lookups, tableLabel::run);
+        runner.runPerOp("legacy triangle (boxed map + sets)", lookups, legacyTriangle::run);
+        runner.runPerOp("table triangle", lookups, tableTriangle::run);
+        System.out.printf("allocated per label lookup: legacy %.1f bytes, table %.1f bytes%n",
+                allocatedPerCall(lookups, legacyLabel), allocatedPerCall(lookups, tableLabel));
+        System.out.printf("allocated per triangle lookup: legacy %.1f bytes, table %.1f bytes%n",
+                allocatedPerCall(lookups, legacyTriangle), allocatedPerCall(lookups, tableTriangle));
+        runner.finish();
+    }
+
+    private interface Lookup {
+        int run(int op);
+    }
+
+    private static double allocatedPerCall(int calls, Lookup lookup) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // the first calls of the bean allocate themselves; take them out of the measurement
+        threads.getCurrentThreadAllocatedBytes();
+        threads.getCurrentThreadAllocatedBytes();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long sink = 0;
+        for (int op = 0; op < calls; op++) {
+            sink += lookup.run(op);
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        if (sink == 42) System.out.println();
+        return (after - before) / (double) calls;
+    }
+
+    /** The lookups this benchmark replaced, as UCAHelpers and SpecialTriangle did them. */
+    private static final class LegacyLookups {
+        final Map<Integer, String> sin = Map.ofEntries(
+                Map.entry(0, "0"), Map.entry(30, "1/2"), Map.entry(45, "√2/2"), Map.entry(60, "√3/2"),
+                Map.entry(90, "1"), Map.entry(120, "√3/2"), Map.entry(135, "√2/2"), Map.entry(150, "1/2"),
+                Map.entry(180, "0"), Map.entry(210, "-1/2"), Map.entry(225, "-√2/2"), Map.entry(240, "-√3/2"),
+                Map.entry(270, "-1"), Map.entry(300, "-√3/2"), Map.entry(315, "-√2/2"), Map.entry(330, "-1/2"));
+        final Map<Integer, SpecialTriangle.TriangleType> triangles = Map.ofEntries(
+                Map.entry(30, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(60, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(120, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(150, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(210, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(240, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(300, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(330, SpecialTriangle.TriangleType.TRIANGLE_30_60_90),
+                Map.entry(45, SpecialTriangle.TriangleType.TRIANGLE_45_45_90),
+                Map.entry(135, SpecialTriangle.TriangleType.TRIANGLE_45_45_90),
+                Map.entry(225, SpecialTriangle.TriangleType.TRIANGLE_45_45_90),
+                Map.entry(315, SpecialTriangle.TriangleType.TRIANGLE_45_45_90));
+        final Set<Integer> rotateCw = Set.of(60, 300);
+        final Set<Integer> rotateCcw = Set.of(120, 240);
+
+        /** Every function mode reads the sine map; the cost is the same for cos and tan. */
+        String label(int angle, UnitCircleApp.AngleDisplayMode mode) {
+            return switch (mode) {
+                case DEGREES -> angle + "°";
+                case RADIANS -> UCAHelpers.getPiFraction(angle) + " rad";
+                case SIN, COS, TAN -> "sin: " + sin.get(angle);
+            };
+        }
+
+        int triangle(int angle) {
+            SpecialTriangle.TriangleType type = triangles.get(angle);
+            if (type == null) return 0;
+            int xFlip = switch (angle) {
+                case 60, 135, 150, 210, 225, 240 -> 1;
+                default -> -1;
+            };
+            return xFlip + (rotateCw.contains(angle) ? 2 : rotateCcw.contains(angle) ? 4 : 0);
+        }
+    }
+}
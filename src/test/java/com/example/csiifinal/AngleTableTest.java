@@ -0,0 +1,69 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AngleTableTest {
+
+    @Test
+    void testLabelsMatchFormattingFromScratch() {
+        AngleTable table = new AngleTable(UCAHelpers.angleSet("5"));
+        for (int slot = 0; slot < table.size(); slot++) {
+            for (UnitCircleApp.AngleDisplayMode mode : UnitCircleApp.AngleDisplayMode.values()) {
+                assertEquals(AngleTable.formatLabel(table.angle(slot), mode, false), table.label(slot, mode, false));
+                assertEquals(AngleTable.formatLabel(table.angle(slot), mode, true), table.label(slot, mode, true));
+            }
+        }
+        int slot = table.slot(210);
+        assertEquals(42, slot);
+        assertEquals("7π/6 rad", table.label(slot, UnitCircleApp.AngleDisplayMode.RADIANS, true));
+        assertEquals("-√3/2", table.label(slot, UnitCircleApp.AngleDisplayMode.COS, false));
+        assertEquals("tan: DNE Y<0", table.label(table.slot(270), UnitCircleApp.AngleDisplayMode.TAN, true));
+    }
+
+    @Test
+    void testSlotsAndQuadrants() {
+        AngleTable table = new AngleTable(UCAHelpers.ANGLES);
+        assertEquals(-1, table.slot(15));
+        assertEquals(-1, table.slot(360));
+        assertEquals(-1, table.slot(-30));
+        assertEquals(0, table.quadrant(table.slot(0)));
+        assertEquals(1, table.quadrant(table.slot(45)));
+        assertEquals(0, table.quadrant(table.slot(90)));
+        assertEquals(2, table.quadrant(table.slot(150)));
+        assertEquals(3, table.quadrant(table.slot(240)));
+        assertEquals(4, table.quadrant(table.slot(330)));
+        assertThrows(IllegalArgumentException.class, () -> new AngleTable(new int[]{0, 30, 30}));
+        assertThrows(IllegalArgumentException.class, () -> new AngleTable(new int[]{360}));
+    }
+
+    @Test
+    void testSpecialTrianglesKeepTheirOrientation() {
+        AngleTable table = AngleTable.everyDegree();
+        assertNull(table.triangle(table.slot(0)));
+        assertNull(table.triangle(table.slot(90)));
+        assertNull(table.triangle(table.slot(15)));
+
+        int slot = table.slot(60);
+        assertEquals(SpecialTriangle.TriangleType.TRIANGLE_30_60_90, table.triangle(slot));
+        assertEquals(1, table.xFlip(slot));
+        assertEquals(1, table.yFlip(slot));
+        assertTrue(table.rotatesClockwise(slot));
+        assertFalse(table.rotatesCounterClockwise(slot));
+
+        slot = table.slot(225);
+        assertEquals(SpecialTriangle.TriangleType.TRIANGLE_45_45_90, table.triangle(slot));
+        assertEquals(1, table.xFlip(slot));
+        assertEquals(-1, table.yFlip(slot));
+
+        slot = table.slot(120);
+        assertEquals(-1, table.xFlip(slot));
+        assertTrue(table.rotatesCounterClockwise(slot));
+
+        slot = table.slot(330);
+        assertEquals(-1, table.xFlip(slot));
+        assertEquals(-1, table.yFlip(slot));
+        assertFalse(table.rotatesClockwise(slot));
+    }
+}
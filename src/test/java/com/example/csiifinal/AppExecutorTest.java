@@ -0,0 +1,89 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppExecutorTest {
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        AppExecutor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testLaneRunsTasksOneAtATimeInOrder() throws Exception {
+        Executor lane = AppExecutor.lane("test-lane");
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        int[] running = new int[1];
+        boolean[] overlapped = new boolean[1];
+        for (int i = 0; i < 1_000; i++) {
+            int n = i;
+            lane.execute(() -> {
+                if (running[0]++ != 0) overlapped[0] = true;
+                seen.add(n);
+                running[0]--;
+            });
+        }
+        CompletableFuture.runAsync(() -> { }, lane).get(5, TimeUnit.SECONDS);
+
+        assertFalse(overlapped[0]);
+        assertEquals(1_000, seen.size());
+        for (int i = 0; i < seen.size(); i++) assertEquals(i, seen.get(i));
+    }
+
+    @Test
+    void testMetricsCountTasksAndFailuresPerName() throws Exception {
+        AppExecutor executor = AppExecutor.get();
+        for (int i = 0; i < 3; i++) {
+            executor.submit("sleepy", () -> {
+                Thread.sleep(20);
+                return Thread.currentThread().getName();
+            }).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("sleepy", executor.submit("sleepy", () -> Thread.currentThread().getName()).get());
+        executor.execute("broken", () -> {
+            throw new IllegalStateException("expected by the test");
+        });
+        assertTrue(AppExecutor.shutdown(5, TimeUnit.SECONDS));
+
+        AppExecutor.TaskMetrics sleepy = executor.getMetrics().get("sleepy");
+        assertEquals(4, sleepy.count());
+        assertEquals(0, sleepy.failures());
+        assertTrue(sleepy.maxMillis() >= 20, "max " + sleepy.maxMillis());
+        AppExecutor.TaskMetrics broken = executor.getMetrics().get("broken");
+        assertEquals(1, broken.count());
+        assertEquals(1, broken.failures());
+    }
+
+    @Test
+    void testSubmitCompletesExceptionallyWithWhatTheTaskThrew() {
+        CompletableFuture<Object> future = AppExecutor.get().submit("failing", () -> {
+            throw new java.io.IOException("disk full");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(java.io.IOException.class, e.getCause());
+    }
+
+    @Test
+    void testGetAfterShutdownStartsAFreshExecutor() throws Exception {
+        AppExecutor first = AppExecutor.get();
+        Executor lane = AppExecutor.lane("survives-shutdown");
+        CompletableFuture.runAsync(() -> { }, lane).get(5, TimeUnit.SECONDS);
+        assertTrue(AppExecutor.shutdown(5, TimeUnit.SECONDS));
+
+        AppExecutor second = AppExecutor.get();
+        assertNotSame(first, second);
+        CompletableFuture.runAsync(() -> { }, lane).get(5, TimeUnit.SECONDS);
+        assertEquals(1, second.getMetrics().get("survives-shutdown").count());
+    }
+}
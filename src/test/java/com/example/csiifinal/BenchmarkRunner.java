@@ -0,0 +1,87 @@
+package com.example.csiifinal;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Minimal JMH-style harness for the benchmark mains in this folder: runs warmup iterations,
+ * then timed measurement iterations, and prints the mean and standard deviation.
+ * <p>
+ * Benchmarks are not picked up by {@code mvn test}. Run them from the IDE or with
+ * {@code java -cp target/classes:target/test-classes:<deps> com.example.csiifinal.<Name>Benchmark}.
+ */
+final class BenchmarkRunner {
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+
+    // results are folded in here so the JIT cannot discard the benchmarked work
+    private long sink;
+
+    BenchmarkRunner(int warmupIterations, int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    /**
+     * Times one invocation of {@code body} per iteration.
+     *
+     * @return mean time per iteration in milliseconds
+     */
+    double run(String name, Callable<?> body) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            consume(body.call());
+        }
+        double[] millis = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            long start = System.nanoTime();
+            consume(body.call());
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        double mean = 0;
+        for (double m : millis) mean += m;
+        mean /= millis.length;
+        double variance = 0;
+        for (double m : millis) variance += (m - mean) * (m - mean);
+        double stdDev = millis.length > 1 ? Math.sqrt(variance / (millis.length - 1)) : 0;
+        System.out.printf(Locale.ROOT, "%-48s %12.3f ms/op  +- %8.3f  (%d iterations)%n",
+                name, mean, stdDev, measurementIterations);
+        return mean;
+    }
+
+    /**
+     * Times {@code operations} calls of {@code body} per iteration.
+     *
+     * @return mean time per operation in nanoseconds
+     */
+    double runPerOp(String name, int operations, OpBody body) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            for (int op = 0; op < operations; op++) sink += body.run(op);
+        }
+        double[] nanos = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            long start = System.nanoTime();
+            for (int op = 0; op < operations; op++) sink += body.run(op);
+            nanos[i] = (System.nanoTime() - start) / (double) operations;
+        }
+        double mean = 0;
+        for (double n : nanos) mean += n;
+        mean /= nanos.length;
+        System.out.printf(Locale.ROOT, "%-48s %12.2f ns/op%n", name, mean);
+        return mean;
+    }
+
+    /** One benchmarked operation; returns a value that is folded into the sink. */
+    interface OpBody {
+        long run(int op) throws Exception;
+    }
+
+    private void consume(Object result) {
+        sink += result == null ? 0 : result.hashCode();
+    }
+
+    /** Prints the sink so its value is observably used. */
+    void finish() {
+        System.out.println("(sink " + sink + ")");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.csiifinal;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircleCanvasTest {
+
+    private static final double LABEL_AREA = (CircleCanvas.LABEL_WIDTH + 2) * (CircleCanvas.LABEL_HEIGHT + 2);
+
+    private final List<Integer> clicked = new ArrayList<>();
+    private CircleCanvas canvas;
+
+    @BeforeEach
+    void layOut() {
+        canvas = new CircleCanvas(UCAHelpers.ANGLES, new UnitVectors(UCAHelpers.ANGLES), clicked::add);
+        canvas.resize(1000, 800);
+        canvas.layout();
+    }
+
+    private static int index(int angle) {
+        for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+            if (UCAHelpers.ANGLES[i] == angle) return i;
+        }
+        throw new IllegalArgumentException();
+    }
+
+    @Test
+    void testFirstLayoutDrawsEverythingOnce() {
+        assertEquals(1, canvas.getRedrawCount());
+        assertEquals(1000 * 800, canvas.getRedrawnArea());
+        // nothing changed: another pulse draws nothing
+        canvas.layout();
+        assertEquals(1, canvas.getRedrawCount());
+    }
+
+    @Test
+    void testLabelChangeRedrawsOnlyThatLabel() {
+        double before = canvas.getRedrawnArea();
+        canvas.setLabel(index(30), "π/6");
+        canvas.setLabel(index(30), "π/6");
+        canvas.layout();
+        assertEquals(2, canvas.getRedrawCount());
+        assertEquals(LABEL_AREA, canvas.getRedrawnArea() - before, 1e-9);
+        assertEquals("π/6", canvas.getLabel(index(30)));
+    }
+
+    @Test
+    void testMasksRedrawTheirQuadrantsOnlyWhileVisible() {
+        // radius is a third of the smaller side; masks redraw a quadrant square each
+        double radius = 800 / 3.0;
+        double quadrantArea = (radius + 2) * (radius + 2);
+
+        canvas.setMasked(2, true);
+        canvas.setMasked(3, true);
+        canvas.layout();
+        assertEquals(1, canvas.getRedrawCount());
+
+        double before = canvas.getRedrawnArea();
+        canvas.setMasksVisible(true);
+        canvas.layout();
+        assertEquals(2 * quadrantArea, canvas.getRedrawnArea() - before, 1e-6);
+
+        before = canvas.getRedrawnArea();
+        canvas.setCircleFill(Color.LIGHTGREEN);
+        canvas.layout();
+        assertEquals((2 * radius + 2) * (2 * radius + 2), canvas.getRedrawnArea() - before, 1e-6);
+    }
+
+    @Test
+    void testClicksAreResolvedToTheLabelUnderThePointer() {
+        // 0° sits on the right of the circle, 90° on top; screen y grows downwards
+        double radius = 800 / 3.0;
+        assertEquals(index(0), canvas.labelAt(500 + radius, 400));
+        assertEquals(index(90), canvas.labelAt(500 + 30, 400 - radius + 20));
+        assertEquals(index(225), canvas.labelAt(500 - radius * Math.sqrt(0.5), 400 + radius * Math.sqrt(0.5)));
+        assertEquals(-1, canvas.labelAt(500, 400));
+        assertEquals(-1, canvas.labelAt(5, 5));
+    }
+
+    @Test
+    void testFineAngleSetsLabelRoundAnglesAndPickTheRestOnTheRing() {
+        int[] everyDegree = UCAHelpers.angleSet("1");
+        CircleCanvas fine = new CircleCanvas(everyDegree, new UnitVectors(everyDegree), clicked::add);
+        fine.resize(1000, 1000);
+        fine.layout();
+
+        double radius = 1000 / 3.0;
+        // 45° has a label; 47° is only a tick, so its label box does not take clicks
+        double x45 = 500 + radius * Math.cos(Math.toRadians(45));
+        double y45 = 500 - radius * Math.sin(Math.toRadians(45));
+        assertEquals(45, fine.labelAt(x45, y45));
+        double x47 = 500 + radius * 0.8 * Math.cos(Math.toRadians(47));
+        double y47 = 500 - radius * 0.8 * Math.sin(Math.toRadians(47));
+        assertEquals(-1, fine.labelAt(x47, y47));
+        assertEquals(47, fine.indexAt(x47, y47));
+
+        // relabelling an angle without a label redraws nothing
+        long redraws = fine.getRedrawCount();
+        fine.setLabel(47, "0.731");
+        fine.layout();
+        assertEquals(redraws, fine.getRedrawCount());
+        fine.setLabel(45, "√2/2");
+        fine.layout();
+        assertEquals(redraws + 1, fine.getRedrawCount());
+    }
+
+    @Test
+    void testResizeRedrawsEverythingAndMovesTheLabels() {
+        canvas.resize(600, 600);
+        canvas.layout();
+        assertEquals(2, canvas.getRedrawCount());
+        assertEquals(1000 * 800 + 600 * 600, canvas.getRedrawnArea());
+        assertEquals(index(0), canvas.labelAt(300 + 200, 300));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.csiifinal;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Measures what {@link ExactTrig} costs: building the whole table, and looking up a label in it
+ * next to the boxed {@code Map<Integer, String>} lookup of the hand-typed tables it replaced.
+ * <p>
+ * Argument: lookups per iteration (default 1,000,000). The first two lookups cycle through the 16
+ * special angles; the last one through all 40 angles the table knows.
+ */
+public class ExactTrigBenchmark {
+
+    private static final Map<Integer, String> LEGACY_SIN = Map.ofEntries(
+            Map.entry(0, "0"), Map.entry(30, "1/2"), Map.entry(45, "√2/2"), Map.entry(60, "√3/2"),
+            Map.entry(90, "1"), Map.entry(120, "√3/2"), Map.entry(135, "√2/2"), Map.entry(150, "1/2"),
+            Map.entry(180, "0"), Map.entry(210, "-1/2"), Map.entry(225, "-√2/2"), Map.entry(240, "-√3/2"),
+            Map.entry(270, "-1"), Map.entry(300, "-√3/2"), Map.entry(315, "-√2/2"), Map.entry(330, "-1/2"));
+
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BenchmarkRunner runner = new BenchmarkRunner(5, 10);
+        int[] angles = UCAHelpers.ANGLES;
+
+        runner.run("build table (360 degrees, 40 exact)", ExactTrig::new);
+        ExactTrig trig = ExactTrig.get();
+        runner.runPerOp("legacy map lookup", lookups, op -> LEGACY_SIN.get(angles[op & 15]).length());
+        runner.runPerOp("exact table lookup", lookups, op -> trig.sin(angles[op & 15]).toString().length());
+        int[] exact = IntStream.range(0, 360).filter(ExactTrig::isExact).toArray();
+        runner.runPerOp("exact table, every 15° and 18°", lookups, op -> trig.cos(exact[op % exact.length]).toString().length());
+        runner.finish();
+    }
+}
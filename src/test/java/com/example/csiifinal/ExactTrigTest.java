@@ -0,0 +1,97 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExactTrigTest {
+
+    private final ExactTrig trig = new ExactTrig();
+
+    @Test
+    void testEveryEntryMatchesMath() {
+        int exact = 0;
+        for (int degrees = 0; degrees < 360; degrees++) {
+            if (!ExactTrig.isExact(degrees)) {
+                assertNull(trig.sin(degrees), degrees + "°");
+                continue;
+            }
+            exact++;
+            double radians = Math.toRadians(degrees);
+            assertEquals(Math.sin(radians), trig.sin(degrees).doubleValue(), 1e-12, "sin " + degrees + "°");
+            assertEquals(Math.cos(radians), trig.cos(degrees).doubleValue(), 1e-12, "cos " + degrees + "°");
+            if (degrees % 180 == 90) {
+                assertFalse(trig.tan(degrees).isDefined());
+                assertEquals(degrees == 90 ? 1 : -1, trig.tan(degrees).signum());
+            } else {
+                assertEquals(Math.tan(radians), trig.tan(degrees).doubleValue(), 1e-9, "tan " + degrees + "°");
+            }
+            assertEquals(degrees * Math.PI / 180, piFractionValue(trig.piFraction(degrees)), 1e-12);
+        }
+        // 24 multiples of 15°, 20 of 18°, 4 of both
+        assertEquals(40, exact);
+    }
+
+    @Test
+    void testSpecialAnglesReadAsBefore() {
+        String[][] expected = {
+                // angle, sin, cos, tan, radians
+                {"0", "0", "1", "0", "0"},
+                {"30", "1/2", "√3/2", "√3/3", "π/6"},
+                {"45", "√2/2", "√2/2", "1", "π/4"},
+                {"60", "√3/2", "1/2", "√3", "π/3"},
+                {"90", "1", "0", "DNE", "π/2"},
+                {"120", "√3/2", "-1/2", "-√3", "2π/3"},
+                {"135", "√2/2", "-√2/2", "-1", "3π/4"},
+                {"150", "1/2", "-√3/2", "-√3/3", "5π/6"},
+                {"180", "0", "-1", "0", "π"},
+                {"210", "-1/2", "-√3/2", "√3/3", "7π/6"},
+                {"225", "-√2/2", "-√2/2", "1", "5π/4"},
+                {"240", "-√3/2", "-1/2", "√3", "4π/3"},
+                {"270", "-1", "0", "DNE", "3π/2"},
+                {"300", "-√3/2", "1/2", "-√3", "5π/3"},
+                {"315", "-√2/2", "√2/2", "-1", "7π/4"},
+                {"330", "-1/2", "√3/2", "-√3/3", "11π/6"},
+        };
+        for (String[] row : expected) {
+            int degrees = Integer.parseInt(row[0]);
+            assertEquals(row[1], trig.sin(degrees).toString(), "sin " + degrees + "°");
+            assertEquals(row[2], trig.cos(degrees).toString(), "cos " + degrees + "°");
+            assertEquals(row[3], trig.tan(degrees).toString(), "tan " + degrees + "°");
+            assertEquals(row[4], trig.piFraction(degrees), "radians " + degrees + "°");
+        }
+        assertEquals("tan: DNE Y>0", UCAHelpers.getLabelForAngle(90, UnitCircleApp.AngleDisplayMode.TAN, true));
+        assertEquals("DNE Y<0", UCAHelpers.getLabelForAngle(270, UnitCircleApp.AngleDisplayMode.TAN, false));
+    }
+
+    @Test
+    void testFifteenAndEighteenDegreeFamiliesAreSimplified() {
+        assertEquals("(√6-√2)/4", trig.sin(15).toString());
+        assertEquals("(√6+√2)/4", trig.cos(15).toString());
+        assertEquals("2-√3", trig.tan(15).toString());
+        assertEquals("-(√6+√2)/4", trig.sin(255).toString());
+        assertEquals("(√5-1)/4", trig.sin(18).toString());
+        assertEquals("√(10+2√5)/4", trig.cos(18).toString());
+        assertEquals("√(25-10√5)/5", trig.tan(18).toString());
+        assertEquals("(1+√5)/4", trig.cos(36).toString());
+        assertEquals("-(1+√5)/4", trig.cos(144).toString());
+        assertEquals("√(5+2√5)", trig.tan(72).toString());
+    }
+
+    @Test
+    void testPiFractionsCoverEveryDegree() {
+        assertEquals("π/180", trig.piFraction(1));
+        assertEquals("7π/36", trig.piFraction(35));
+        assertEquals("2π", trig.piFraction(360));
+        assertEquals("-π/2", trig.piFraction(-90));
+        assertEquals("0.731", UCAHelpers.getLabelForAngle(47, UnitCircleApp.AngleDisplayMode.SIN, false));
+    }
+
+    private static double piFractionValue(String text) {
+        if (text.equals("0")) return 0;
+        String[] parts = text.split("π/?");
+        double numerator = parts.length == 0 || parts[0].isEmpty() ? 1 : Double.parseDouble(parts[0]);
+        double denominator = parts.length < 2 ? 1 : Double.parseDouble(parts[1]);
+        return numerator * Math.PI / denominator;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.csiifinal;
+
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.testfx.framework.junit5.ApplicationTest;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlashStressTest extends ApplicationTest {
+
+    private static final int CLICKS = 10_000;
+
+    @Override
+    public void start(Stage stage) {
+        new UnitCircleApp().start(stage);
+    }
+
+    @Test
+    void testRapidAnswersReuseOneFlashAndEndOnTheDefaultColor() {
+        ComboBox<String> modeCombo = lookup("#modeComboBox").queryComboBox();
+        Button startButton = lookup("#startGameButton").queryButton();
+        interact(() -> {
+            modeCombo.setValue("Unit Circle");
+            startButton.fire();
+        });
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int before = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        Button angle30 = lookup("#angleBtn30").queryButton();
+        Button angle210 = lookup("#angleBtn210").queryButton();
+        interact(() -> {
+            for (int i = 0; i < CLICKS; i++) {
+                (i % 2 == 0 ? angle30 : angle210).fire();
+            }
+        });
+
+        // the old implementation started one sleeping thread per click
+        assertTrue(threads.getPeakThreadCount() - before < 10,
+                "peak " + threads.getPeakThreadCount() + " threads, " + before + " before the clicks");
+
+        Circle circle = lookup("#unitCircle").query();
+        assertNotEquals(Color.CORNFLOWERBLUE, circle.getFill());
+        WaitForAsyncUtils.sleep(600, TimeUnit.MILLISECONDS);
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(Color.CORNFLOWERBLUE, circle.getFill());
+    }
+}
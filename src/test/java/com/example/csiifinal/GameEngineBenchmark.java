@@ -0,0 +1,43 @@
+package com.example.csiifinal;
+
+/**
+ * Measures how many rounds per second {@link GameEngine} plays without a display: each round
+ * answers the open prompt, right three times out of four, and the countdown ticks every 100
+ * rounds so games end and restart as they would for a player.
+ * <p>
+ * Argument: rounds per iteration (default 5,000,000). Runs with no listener and with one that
+ * reads the prompt and the open quadrants on every new target, as the JavaFX view does.
+ */
+public class GameEngineBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5);
+
+        GameEngine bare = new GameEngine(UCAHelpers.ANGLES);
+        GameEngine observed = new GameEngine(UCAHelpers.ANGLES);
+        observed.addListener(new GameEngine.Listener() {
+            private long seen;
+
+            @Override
+            public void targetChanged(int target) {
+                seen += observed.getPromptLabel().length() + observed.getVisibleQuadrants();
+            }
+        });
+        observed.setMode(UnitCircleApp.AngleDisplayMode.SIN);
+
+        double bareNanos = runner.runPerOp("engine round, no listener", rounds, op -> round(bare, op));
+        double observedNanos = runner.runPerOp("engine round, observed", rounds, op -> round(observed, op));
+        System.out.printf("%.1f million rounds/s without a listener, %.1f million observed%n",
+                1e3 / bareNanos, 1e3 / observedNanos);
+        runner.finish();
+    }
+
+    private static long round(GameEngine engine, int op) {
+        if (!engine.isRunning()) engine.start(op, 0);
+        int target = engine.getTarget();
+        boolean correct = engine.answer((op & 3) == 0 ? (target + 30) % 360 : target);
+        if (op % 100 == 0) engine.tick();
+        return correct ? engine.getScore() : target;
+    }
+}
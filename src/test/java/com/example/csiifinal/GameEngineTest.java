@@ -0,0 +1,119 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEngineTest {
+
+    private final List<String> events = new ArrayList<>();
+    private long now;
+    private GameEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GameEngine(UCAHelpers.ANGLES, new AngleTable(UCAHelpers.ANGLES), () -> now);
+        engine.addListener(new GameEngine.Listener() {
+            @Override
+            public void targetChanged(int target) {
+                events.add("target " + target);
+            }
+
+            @Override
+            public void answered(int angle, boolean correct) {
+                events.add("answer " + angle + " " + correct);
+            }
+
+            @Override
+            public void scoreChanged(int delta, int score) {
+                events.add("score " + delta + " " + score);
+            }
+
+            @Override
+            public void timeUp(int finalScore) {
+                events.add("time up " + finalScore);
+            }
+        });
+    }
+
+    @Test
+    void testEventsComeInJournalOrder() {
+        engine.start(42, 0);
+        int first = engine.getTarget();
+        assertEquals(List.of("target " + first, "score 0 0"), events);
+        events.clear();
+
+        int wrong = first == 0 ? 30 : 0;
+        assertFalse(engine.answer(wrong));
+        assertEquals(List.of("answer " + wrong + " false", "score -1 -1"), events);
+        events.clear();
+
+        assertTrue(engine.answer(first));
+        int second = engine.getTarget();
+        assertNotEquals(first, second);
+        assertEquals(List.of("answer " + first + " true", "score 1 0", "target " + second), events);
+    }
+
+    @Test
+    void testSameSeedPlaysTheSameGame() {
+        GameEngine other = new GameEngine(UCAHelpers.ANGLES);
+        engine.start(7, 0);
+        other.start(7, 0);
+        for (int round = 0; round < 200; round++) {
+            assertEquals(engine.getTarget(), other.getTarget());
+            int angle = round % 3 == 0 ? UCAHelpers.ANGLES[round % 16] : engine.getTarget();
+            assertEquals(engine.answer(angle), other.answer(angle));
+        }
+        assertEquals(engine.getScore(), other.getScore());
+    }
+
+    @Test
+    void testCountdownEndsTheGameOnce() {
+        assertFalse(engine.tick(), "no game, no countdown");
+        engine.start(1, 0);
+        for (int second = 1; second < GameRules.GAME_SECONDS; second++) {
+            assertFalse(engine.tick());
+        }
+        assertTrue(engine.tick());
+        assertFalse(engine.isRunning());
+        assertFalse(engine.tick());
+        assertEquals(1, events.stream().filter(e -> e.startsWith("time up")).count());
+
+        engine.reset();
+        assertEquals(0, engine.getScore());
+        assertEquals(GameRules.GAME_SECONDS, engine.getSecondsRemaining());
+    }
+
+    @Test
+    void testPromptsAndOpenQuadrantsFollowTheMode() {
+        engine.start(3, 0);
+        assertEquals(GameEngine.ALL_QUADRANTS, engine.getVisibleQuadrants());
+
+        engine.setMode(UnitCircleApp.AngleDisplayMode.SIN);
+        while (engine.getTarget() != 210) engine.pickNewTarget();
+        assertEquals("sin: -1/2", engine.getPromptLabel());
+        assertEquals(GameEngine.QUADRANT_II | GameEngine.QUADRANT_III, engine.getVisibleQuadrants());
+
+        engine.setMode(UnitCircleApp.AngleDisplayMode.COS);
+        assertEquals("cos: -√3/2", engine.getPromptLabel());
+        assertEquals(GameEngine.QUADRANT_III | GameEngine.QUADRANT_IV, engine.getVisibleQuadrants());
+
+        engine.setMode(UnitCircleApp.AngleDisplayMode.TAN);
+        while (engine.getTarget() != 330) engine.pickNewTarget();
+        assertEquals(GameEngine.QUADRANT_I | GameEngine.QUADRANT_IV, engine.getVisibleQuadrants());
+    }
+
+    @Test
+    void testReactionTimesUseTheEngineClock() {
+        now = 1_000_000_000L;
+        engine.start(5, 0);
+        now += 250_000_000L;
+        engine.answer(engine.getTarget());
+        assertEquals(1, engine.getReactionTimes().forMode(UnitCircleApp.AngleDisplayMode.DEGREES).getCount());
+        assertEquals(250, engine.getReactionTimes().forMode(UnitCircleApp.AngleDisplayMode.DEGREES).getMeanMillis(), 1);
+    }
+}
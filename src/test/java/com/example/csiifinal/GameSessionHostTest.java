@@ -0,0 +1,128 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionHostTest {
+
+    @TempDir
+    Path dir;
+
+    private HighScoreManager manager;
+    private GameSessionHost host;
+
+    @BeforeEach
+    void setUp() {
+        manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return dir.resolve("highscores.txt").toString();
+            }
+        };
+        // a countdown second of 2 ms runs a whole game out in a quarter of a second
+        host = new GameSessionHost(UCAHelpers.ANGLES, manager, Duration.ofMillis(2), 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        host.close();
+        manager.close();
+    }
+
+    @Test
+    void testSessionsShareTablesButNotScores() {
+        try (GameSessionHost slow = new GameSessionHost(UCAHelpers.ANGLES, manager)) {
+            GameSessionHost.GameSession a = slow.open("AAA", UnitCircleApp.AngleDisplayMode.SIN);
+            GameSessionHost.GameSession b = slow.open("BBB", UnitCircleApp.AngleDisplayMode.DEGREES);
+            assertEquals(2, slow.size());
+            assertNotEquals(a.getId(), b.getId());
+            assertTrue(a.getState().prompt().startsWith("sin: "));
+            assertTrue(b.getState().prompt().endsWith("°"));
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(a.answer(a.getTarget()));
+            }
+            assertEquals(3, a.getState().score());
+            assertEquals(0, b.getState().score());
+            assertEquals(3, a.getHistory().size());
+            assertTrue(b.getHistory().isEmpty());
+
+            LatencyHistogram reactions = a.getReactionTimes();
+            assertEquals(3, reactions.getCount());
+            a.answer(a.getTarget());
+            assertEquals(3, reactions.getCount(), "a copy, not the live histogram");
+            assertEquals(4, a.getReactionTimes().getCount());
+
+            slow.end(a.getId());
+            assertNull(slow.get(a.getId()));
+            assertSame(b, slow.get(b.getId()));
+        }
+    }
+
+    @Test
+    void testFinishedGameSavesItsScoreAndLeaves() throws Exception {
+        GameSessionHost.GameSession session = host.open("CDE", UnitCircleApp.AngleDisplayMode.COS);
+        session.answer(session.getTarget());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (session.getState().running() && System.nanoTime() < deadline) Thread.sleep(5);
+
+        GameSessionHost.State state = session.getState();
+        assertFalse(state.running());
+        assertEquals(0, state.secondsRemaining());
+        assertFalse(session.answer(session.getTarget()), "answers after the time is up do not count");
+        assertEquals(state.score(), session.getState().score());
+
+        manager.flush();
+        assertEquals("CDE", manager.getAllScores().get(0).initials);
+        while (host.get(session.getId()) != null && System.nanoTime() < deadline) Thread.sleep(5);
+        assertEquals(0, host.size());
+    }
+
+    @Test
+    void testPlaysThroughHttp() throws Exception {
+        try (GameSessionHost slow = new GameSessionHost(UCAHelpers.ANGLES, manager);
+             GameSessionServer server = new GameSessionServer(slow, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            HttpClient http = HttpClient.newHttpClient();
+            HttpResponse<String> opened = post(http, server, "sessions", "abc,tan");
+            assertEquals(201, opened.statusCode());
+            String[] state = opened.body().split(",", 6);
+            assertEquals("0", state[1]);
+            assertEquals(Integer.toString(GameRules.GAME_SECONDS), state[2]);
+            assertEquals("true", state[3]);
+            assertTrue(state[5].startsWith("tan: "));
+
+            HttpResponse<String> answered = post(http, server, "sessions/" + state[0] + "/answers", "-1");
+            assertEquals(200, answered.statusCode());
+            assertTrue(answered.body().startsWith("false\n" + state[0] + ",-1,"));
+
+            assertEquals(400, post(http, server, "sessions", "abc,hex").statusCode());
+            assertEquals(400, post(http, server, "sessions/" + state[0] + "/answers", "north").statusCode());
+            assertEquals(404, post(http, server, "sessions/999/answers", "0").statusCode());
+
+            HttpRequest delete = HttpRequest.newBuilder(server.getUri().resolve("sessions/" + state[0])).DELETE().build();
+            assertEquals(204, http.send(delete, HttpResponse.BodyHandlers.discarding()).statusCode());
+            HttpRequest get = HttpRequest.newBuilder(server.getUri().resolve("sessions/" + state[0])).build();
+            assertEquals(404, http.send(get, HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    private static HttpResponse<String> post(HttpClient http, GameSessionServer server, String path, String body)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(server.getUri().resolve(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverTheRangeWithoutGaps() {
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT - 1; bucket++) {
+            assertEquals(LatencyHistogram.highestValueOf(bucket) + 1, LatencyHistogram.lowestValueOf(bucket + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.lowestValueOf(bucket)));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.highestValueOf(bucket)));
+        }
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        Random random = new Random(11);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            // log-normal-ish reaction times around a second
+            samples[i] = (long) (Math.exp(random.nextGaussian() * 0.6) * 1e9);
+            histogram.recordNanos(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double p : new double[]{50, 90, 99}) {
+            double exact = samples[(int) Math.ceil(p / 100 * samples.length) - 1] / 1e6;
+            assertEquals(exact, histogram.getPercentileMillis(p), exact * 0.035, "p" + p);
+        }
+        assertEquals(samples.length, histogram.getCount());
+        assertEquals(samples[samples.length - 1] / 1000 / 1000.0, histogram.getMaxMillis(), 1e-9);
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getP99Millis());
+        assertEquals(0, histogram.getMeanMillis());
+        histogram.add(new LatencyHistogram());
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void testOnlyFirstAnswerToAPromptCounts() {
+        ReactionTimes times = new ReactionTimes(UCAHelpers.ANGLES);
+        times.promptShown(45, UnitCircleApp.AngleDisplayMode.SIN, 1_000_000_000L);
+        assertEquals(250_000_000L, times.answered(1_250_000_000L));
+        assertEquals(-1, times.answered(1_900_000_000L)); // retry after a miss
+
+        times.promptShown(90, UnitCircleApp.AngleDisplayMode.COS, 2_000_000_000L);
+        times.answered(2_600_000_000L);
+
+        assertEquals(1, times.forAngle(45).getCount());
+        assertEquals(250, times.forAngle(45).getP50Millis(), 250 * 0.035);
+        assertEquals(1, times.forMode(UnitCircleApp.AngleDisplayMode.COS).getCount());
+        assertEquals(0, times.forMode(UnitCircleApp.AngleDisplayMode.TAN).getCount());
+        assertEquals(2, times.overall().getCount());
+    }
+
+    @Test
+    void testCountersOnlySpanRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.countersInUse());
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            histogram.recordNanos((long) (Math.exp(random.nextGaussian() * 0.6) * 1e9));
+        }
+        assertTrue(histogram.countersInUse() < LatencyHistogram.BUCKET_COUNT / 3, "counters " + histogram.countersInUse());
+
+        LatencyHistogram fast = new LatencyHistogram();
+        fast.recordNanos(5_000);
+        fast.recordNanos(7_000);
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(histogram);
+        merged.add(fast);
+        assertEquals(10_002, merged.getCount());
+        assertEquals(0.007, merged.getPercentileMillis(0.01), 0.007 * 0.035);
+        assertEquals(histogram.getP99Millis(), merged.getP99Millis(), 1e-9);
+        assertEquals(histogram.getMaxMillis(), merged.getMaxMillis(), 1e-9);
+
+        merged.reset();
+        merged.recordNanos(2_000_000_000L);
+        assertEquals(2_000, merged.getP50Millis(), 2_000 * 0.035);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.csiifinal;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link LeaderboardServer}: simulated kiosks on virtual threads poll the
+ * leaderboard (revalidating with their last ETag, like {@link LeaderboardClient}) and occasionally
+ * submit a score, then throughput and latency percentiles are reported.
+ * <p>
+ * Run standalone against a server started on loopback with
+ * {@code java ... com.example.csiifinal.LeaderboardLoadGenerator [clients] [requestsPerClient] [submitRatio]},
+ * or point it at a running server with a fourth argument, its base URI.
+ */
+public class LeaderboardLoadGenerator {
+
+    /**
+     * @param requests     requests sent
+     * @param submissions  requests that submitted a score
+     * @param errors       requests that failed or got an unexpected status
+     * @param notModified  polls answered with 304
+     * @param seconds      wall-clock duration
+     * @param p50Millis    median latency
+     * @param p99Millis    99th percentile latency
+     * @param maxMillis    slowest request
+     */
+    record Result(int requests, int submissions, int errors, int notModified, double seconds,
+                  double p50Millis, double p99Millis, double maxMillis) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%,d requests in %.2f s: %,.0f req/s, p50 %.3f ms, p99 %.3f ms, max %.3f ms, %,d not modified, %d errors",
+                    requests, seconds, throughput(), p50Millis, p99Millis, maxMillis, notModified, errors);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        double submitRatio = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+
+        if (args.length > 3) {
+            System.out.println(run(URI.create(args[3]), clients, requestsPerClient, submitRatio));
+            return;
+        }
+
+        Path dir = Files.createTempDirectory("leaderboard-load");
+        HighScoreManager manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return dir.resolve("highscores.txt").toString();
+            }
+        };
+        try (LeaderboardServer server = new LeaderboardServer(manager, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            run(server.getUri(), clients, requestsPerClient / 10, submitRatio); // warmup
+            System.out.println(run(server.getUri(), clients, requestsPerClient, submitRatio));
+        } finally {
+            manager.close();
+        }
+    }
+
+    /**
+     * Runs {@code clients} concurrent kiosks, each sending {@code requestsPerClient} requests.
+     *
+     * @param submitRatio fraction of requests that submit a score rather than poll
+     */
+    static Result run(URI baseUri, int clients, int requestsPerClient, double submitRatio) throws Exception {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        URI top = baseUri.resolve("top?n=20");
+        URI scores = baseUri.resolve("scores");
+
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        int[] errors = new int[clients];
+        int[] notModified = new int[clients];
+        int[] submissions = new int[clients];
+        try (ExecutorService kiosks = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                results.add(kiosks.submit(() -> {
+                    Random random = new Random(client);
+                    long[] latencies = new long[requestsPerClient];
+                    String etag = null;
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            if (random.nextDouble() < submitRatio) {
+                                submissions[client]++;
+                                String body = random.nextInt(500) + ",K" + (client % 100) + "," + "SIN";
+                                HttpResponse<Void> response = http.send(HttpRequest.newBuilder(scores)
+                                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 201) errors[client]++;
+                            } else {
+                                HttpRequest.Builder request = HttpRequest.newBuilder(top).GET();
+                                if (etag != null) request.header("If-None-Match", etag);
+                                HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                                if (response.statusCode() == 304) {
+                                    notModified[client]++;
+                                } else if (response.statusCode() == 200) {
+                                    etag = response.headers().firstValue("ETag").orElse(null);
+                                } else {
+                                    errors[client]++;
+                                }
+                            }
+                        } catch (Exception e) {
+                            errors[client]++;
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = new long[clients * requestsPerClient];
+        int n = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            System.arraycopy(latencies, 0, all, n, latencies.length);
+            n += latencies.length;
+        }
+        Arrays.sort(all);
+        return new Result(all.length, Arrays.stream(submissions).sum(), Arrays.stream(errors).sum(), Arrays.stream(notModified).sum(), seconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
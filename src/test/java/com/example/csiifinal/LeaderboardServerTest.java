@@ -0,0 +1,118 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardServerTest {
+
+    @TempDir
+    Path dir;
+
+    private HighScoreManager manager;
+    private LeaderboardServer server;
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        manager = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return dir.resolve("highscores.txt").toString();
+            }
+        };
+        server = new LeaderboardServer(manager, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+        manager.close();
+    }
+
+    @Test
+    void testSubmitAndFetchThroughClient() throws Exception {
+        LeaderboardClient client = new LeaderboardClient(server.getUri());
+        assertTrue(client.submit(42, "ABC", "SIN").get());
+        assertTrue(client.submit(17, "XYZ", "TAN").get());
+
+        List<HighScoreEntry> top = client.fetchTop(20).get();
+        assertEquals(List.of("ABC", "XYZ"), top.stream().map(e -> e.initials).toList());
+        assertEquals(1, client.fetchTop(1).get().size());
+        assertEquals(2, client.cachedTop().size());
+    }
+
+    @Test
+    void testUnchangedLeaderboardIsNotModified() throws Exception {
+        manager.submitScore(5, "AAA", "COS");
+        HttpResponse<String> first = http.send(HttpRequest.newBuilder(server.getUri().resolve("top")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> again = http.send(HttpRequest.newBuilder(server.getUri().resolve("top"))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, again.statusCode());
+
+        manager.submitScore(9, "BBB", "COS");
+        HttpResponse<String> changed = http.send(HttpRequest.newBuilder(server.getUri().resolve("top"))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().startsWith("9,BBB,"));
+    }
+
+    @Test
+    void testTopReadsNAmongOtherParameters() throws Exception {
+        manager.submitScore(5, "AAA", "COS");
+        manager.submitScore(9, "BBB", "COS");
+        for (String query : List.of("top?n=1", "top?x=1&n=1", "top?n=1&x=1")) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(server.getUri().resolve(query)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), query);
+            assertEquals(1, response.body().lines().count(), query);
+        }
+        HttpResponse<String> bad = http.send(HttpRequest.newBuilder(server.getUri().resolve("top?x=1&n=many")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, bad.statusCode());
+    }
+
+    @Test
+    void testRejectsMalformedSubmissions() throws Exception {
+        for (String body : List.of("", "x,ABC,SIN", "5,,SIN", "5,ABCD,SIN", "5,ABC")) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(server.getUri().resolve("scores"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, response.statusCode(), body);
+        }
+        HttpResponse<String> get = http.send(HttpRequest.newBuilder(server.getUri().resolve("scores")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+        assertTrue(manager.getAllScores().isEmpty());
+    }
+
+    @Test
+    void testConcurrentLoadOnLoopback() throws Exception {
+        LeaderboardLoadGenerator.Result result = LeaderboardLoadGenerator.run(server.getUri(), 50, 40, 0.1);
+        System.out.println(result);
+        assertEquals(2000, result.requests());
+        assertEquals(0, result.errors());
+        assertTrue(result.notModified() > 0);
+
+        manager.flush();
+        assertEquals(result.submissions(), manager.getPersistenceMetrics().recordsWritten(),
+                "every submission must reach the log");
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.UnitCircleApp.AngleDisplayMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeitnerSchedulerTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    // 2025-01-01T00:00Z
+    private static final long NOW = 1_735_689_600_000L;
+
+    @TempDir
+    Path dir;
+
+    private static int index(int angle) {
+        return Arrays.binarySearch(UCAHelpers.ANGLES, angle);
+    }
+
+    @Test
+    void testCorrectAnswersPromoteAndMissesDemote() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        scheduler.startSession(NOW);
+        int sin = AngleDisplayMode.SIN.ordinal();
+        for (int i = 0; i < 10; i++) {
+            scheduler.graded(sin, index(45), true);
+        }
+        assertEquals(LeitnerScheduler.MAX_BOX, scheduler.getBox(AngleDisplayMode.SIN, 45));
+        assertEquals(0, scheduler.getBox(AngleDisplayMode.COS, 45));
+
+        scheduler.graded(sin, index(45), false);
+        assertEquals(1, scheduler.getBox(AngleDisplayMode.SIN, 45));
+        assertEquals(LeitnerScheduler.toMinute(NOW), LeitnerScheduler.minuteOf(scheduler.getState(sin, index(45))));
+    }
+
+    @Test
+    void testItemsLeftAloneFallBackLazily() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        int reviewed = LeitnerScheduler.toMinute(NOW);
+        scheduler.setState(0, index(30), LeitnerScheduler.pack(4, reviewed));
+        scheduler.setState(0, index(60), LeitnerScheduler.pack(4, reviewed));
+        scheduler.setState(1, index(60), LeitnerScheduler.pack(2, reviewed));
+
+        // box 4 is due after 8 days and drops a box per interval once 16 days have passed
+        scheduler.startSession(NOW + 10 * DAY);
+        assertEquals(4, scheduler.getBox(AngleDisplayMode.DEGREES, 30));
+        scheduler.startSession(NOW + 20 * DAY);
+        assertEquals(1, scheduler.getBox(AngleDisplayMode.DEGREES, 60));
+        assertEquals(1, scheduler.getBox(AngleDisplayMode.RADIANS, 60));
+        // decay already applied is not applied again
+        int state = scheduler.getState(0, index(30));
+        scheduler.startSession(NOW + 20 * DAY);
+        assertEquals(state, scheduler.getState(0, index(30)));
+    }
+
+    @Test
+    void testPicksStayInTheModeAndFavourMissedItems() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        scheduler.startSession(NOW);
+        int tan = AngleDisplayMode.TAN.ordinal();
+        // everything learned in TAN except 225, which was just missed
+        for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+            for (int n = 0; n < LeitnerScheduler.MAX_BOX; n++) scheduler.graded(tan, i, true);
+        }
+        scheduler.graded(tan, index(225), false);
+
+        Random random = new Random(8);
+        int hits = 0;
+        int current = -1;
+        for (int n = 0; n < 10_000; n++) {
+            current = scheduler.next(tan, current, random);
+            if (UCAHelpers.ANGLES[current] == 225) hits++;
+        }
+        // weight 24 against 15 x 1, never twice in a row: about 4 picks in 10 instead of 1 in 16
+        assertTrue(hits > 3_000, "225 picked " + hits + " times");
+
+        // other modes are untouched: every angle has the same chance there
+        int[] counts = new int[UCAHelpers.ANGLES.length];
+        for (int n = 0; n < 16_000; n++) counts[scheduler.next(AngleDisplayMode.COS.ordinal(), -1, random)]++;
+        for (int count : counts) assertEquals(1_000, count, 150);
+    }
+
+    @Test
+    void testSaveAndLoadRoundTrip() throws IOException {
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        scheduler.startSession(NOW);
+        scheduler.graded(AngleDisplayMode.RADIANS.ordinal(), index(150), true);
+        scheduler.graded(AngleDisplayMode.RADIANS.ordinal(), index(150), true);
+        scheduler.graded(AngleDisplayMode.TAN.ordinal(), index(90), false);
+        Path file = dir.resolve("learners").resolve("ada.srs");
+        scheduler.save(file);
+
+        LeitnerScheduler loaded = LeitnerScheduler.load(file, UCAHelpers.ANGLES);
+        for (int mode = 0; mode < scheduler.modes(); mode++) {
+            for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+                assertEquals(scheduler.getState(mode, i), loaded.getState(mode, i));
+            }
+        }
+
+        // a smaller angle set keeps what still applies
+        LeitnerScheduler quadrantal = LeitnerScheduler.load(file, new int[]{0, 90, 180, 270});
+        assertEquals(1, quadrantal.getBox(AngleDisplayMode.TAN, 90));
+        assertEquals(0, quadrantal.getBox(AngleDisplayMode.RADIANS, 150));
+
+        assertEquals(0, LeitnerScheduler.load(dir.resolve("nobody.srs"), UCAHelpers.ANGLES).getBox(AngleDisplayMode.SIN, 30));
+    }
+
+    @Test
+    void testSnapshotIsWrittenAsTakenLater() throws IOException {
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        scheduler.startSession(NOW);
+        scheduler.graded(AngleDisplayMode.SIN.ordinal(), index(30), true);
+        ByteBuffer snapshot = scheduler.encode();
+        // answers after the snapshot, as in a new game starting while the save is still queued
+        scheduler.graded(AngleDisplayMode.SIN.ordinal(), index(30), true);
+
+        Path file = dir.resolve("grace.srs");
+        LeitnerScheduler.write(file, snapshot);
+        LeitnerScheduler.write(file, snapshot);
+        assertEquals(1, LeitnerScheduler.load(file, UCAHelpers.ANGLES).getBox(AngleDisplayMode.SIN, 30));
+
+        scheduler.save(file);
+        assertEquals(2, LeitnerScheduler.load(file, UCAHelpers.ANGLES).getBox(AngleDisplayMode.SIN, 30));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path other = dir.resolve("other.srs");
+        Files.write(other, new byte[64]);
+        assertThrows(IOException.class, () -> LeitnerScheduler.load(other, UCAHelpers.ANGLES));
+
+        // a box past the last one is corrupt too, not an index out of bounds later
+        LeitnerScheduler scheduler = new LeitnerScheduler(UCAHelpers.ANGLES);
+        ByteBuffer state = scheduler.encode();
+        state.putInt(state.limit() - 4, LeitnerScheduler.pack(LeitnerScheduler.MAX_BOX + 1, 0));
+        Path corrupt = dir.resolve("corrupt.srs");
+        LeitnerScheduler.write(corrupt, state);
+        assertThrows(IOException.class, () -> LeitnerScheduler.load(corrupt, UCAHelpers.ANGLES));
+
+        // states from a journal are clamped instead
+        scheduler.setState(AngleDisplayMode.SIN.ordinal(), index(30), LeitnerScheduler.pack(LeitnerScheduler.MAX_BOX + 1, 0));
+        assertEquals(LeitnerScheduler.MAX_BOX, scheduler.getBox(AngleDisplayMode.SIN, 30));
+        scheduler.next(AngleDisplayMode.SIN.ordinal(), -1, new Random(1));
+    }
+}
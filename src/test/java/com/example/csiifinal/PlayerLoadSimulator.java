@@ -0,0 +1,237 @@
+package com.example.csiifinal;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Capacity-planning simulator: synthetic players on virtual threads play whole games through
+ * {@link GameEngine}, each keeping a {@link ScoreHistoryManager} like the app does, and all of
+ * them save every final score to one shared {@link HighScoreManager}. Needs no display.
+ * <p>
+ * Run with
+ * {@code java ... com.example.csiifinal.PlayerLoadSimulator [players] [gamesPerPlayer] [timeScale] [profiles]}.
+ * Defaults: 200 players, 10 games each, time scale 0 and {@code novice,average,expert}.
+ * <ul>
+ *   <li>A profile is a name from {@link Profile} or {@code accuracy:thinkMillis}, e.g.
+ *   {@code 0.8:1200}. Players take the profiles in turn.</li>
+ *   <li>Think times are log-normal around the profile's mean and run on a simulated clock. The
+ *   engine's countdown ticks on that clock, so a game lasts as many answers as the player fits
+ *   into {@value GameRules#GAME_SECONDS} seconds.</li>
+ *   <li>A time scale of 0 plays as fast as possible; 1 also sleeps through every think time as a
+ *   real classroom would, and 10 sleeps a tenth of it.</li>
+ * </ul>
+ * Prints throughput, latency percentiles of answers and of handing final scores to the
+ * write-behind queue, how long the queue's batch writes to the score log took, garbage collection
+ * activity and how much the score files grew. {@code submitScore} returns once the score is
+ * queued, so its latency is enqueue cost only; the batch write times are what persisting costs.
+ * Saving every game, not only leaderboard scores, is the worst case for the persistence path.
+ */
+public class PlayerLoadSimulator {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final UnitCircleApp.AngleDisplayMode[] MODES = UnitCircleApp.AngleDisplayMode.values();
+
+    /**
+     * How well and how fast a synthetic player answers.
+     *
+     * @param accuracy   chance of clicking the target
+     * @param thinkMillis mean time from prompt to click
+     */
+    record Profile(String name, double accuracy, double thinkMillis) {
+
+        static final Profile NOVICE = new Profile("novice", 0.55, 2_500);
+        static final Profile AVERAGE = new Profile("average", 0.75, 1_500);
+        static final Profile EXPERT = new Profile("expert", 0.95, 700);
+
+        static Profile parse(String spec) {
+            return switch (spec) {
+                case "novice" -> NOVICE;
+                case "average" -> AVERAGE;
+                case "expert" -> EXPERT;
+                default -> {
+                    String[] parts = spec.split(":");
+                    if (parts.length != 2) throw new IllegalArgumentException("Not a profile: " + spec);
+                    yield new Profile(spec, Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
+                }
+            };
+        }
+
+        /** @return a log-normal think time with this profile's mean */
+        long thinkNanos(Random random) {
+            double sigma = 0.5;
+            return (long) (thinkMillis * 1e6 * Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2));
+        }
+    }
+
+    /** What one player measured: answer and score enqueue latencies in nanoseconds. */
+    private record PlayerResult(long[] answerNanos, int answers, long[] enqueueNanos) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double timeScale = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        Profile[] profiles = Arrays.stream((args.length > 3 ? args[3] : "novice,average,expert").split(","))
+                .map(Profile::parse).toArray(Profile[]::new);
+
+        Path dir = Files.createTempDirectory("player-load");
+        HighScoreManager scores = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return dir.resolve("highscores.txt").toString();
+            }
+        };
+        AngleTable table = new AngleTable(UCAHelpers.ANGLES);
+        long bytesBefore = directorySize(dir);
+        long[] gcBefore = gcTotals();
+
+        long start = System.nanoTime();
+        List<Future<PlayerResult>> futures = new ArrayList<>();
+        try (ExecutorService seats = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < players; p++) {
+                int player = p;
+                Profile profile = profiles[p % profiles.length];
+                futures.add(seats.submit(() -> play(player, profile, games, timeScale, table, scores)));
+            }
+        }
+        double playSeconds = (System.nanoTime() - start) / 1e9;
+        scores.flush();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] gcAfter = gcTotals();
+
+        long[] answers = new long[0];
+        long[] enqueues = new long[0];
+        int answerCount = 0;
+        for (Future<PlayerResult> future : futures) {
+            PlayerResult result = future.get();
+            answers = Arrays.copyOf(answers, answerCount + result.answers());
+            System.arraycopy(result.answerNanos(), 0, answers, answerCount, result.answers());
+            answerCount += result.answers();
+            int enqueuedBefore = enqueues.length;
+            enqueues = Arrays.copyOf(enqueues, enqueuedBefore + result.enqueueNanos().length);
+            System.arraycopy(result.enqueueNanos(), 0, enqueues, enqueuedBefore, result.enqueueNanos().length);
+        }
+        Arrays.sort(answers);
+        Arrays.sort(enqueues);
+
+        ScoreWriteBehind.Metrics writes = scores.getPersistenceMetrics();
+        scores.close();
+        long bytesAfter = directorySize(dir);
+        int gamesPlayed = players * games;
+
+        System.out.printf(Locale.ROOT, "%d players (%s), %,d games, %,d answers in %.2f s (%.2f s playing, %.2f s draining saves)%n",
+                players, String.join(", ", Arrays.stream(profiles).map(Profile::name).toList()), gamesPlayed, answerCount,
+                seconds, playSeconds, seconds - playSeconds);
+        System.out.printf(Locale.ROOT, "throughput: %,.0f answers/s, %,.1f games/s%n", answerCount / seconds, gamesPlayed / seconds);
+        System.out.printf(Locale.ROOT, "answer latency: p50 %.2f us, p99 %.2f us, p99.9 %.2f us, max %.2f us%n",
+                percentile(answers, 0.50) / 1e3, percentile(answers, 0.99) / 1e3, percentile(answers, 0.999) / 1e3,
+                answers.length == 0 ? 0 : answers[answers.length - 1] / 1e3);
+        System.out.printf(Locale.ROOT, "score enqueue latency: p50 %.2f us, p99 %.2f us, max %.2f us%n",
+                percentile(enqueues, 0.50) / 1e3, percentile(enqueues, 0.99) / 1e3,
+                enqueues.length == 0 ? 0 : enqueues[enqueues.length - 1] / 1e3);
+        System.out.printf(Locale.ROOT, "score persistence latency: batch writes mean %.3f ms, max %.3f ms (%,d records in %,d batches, max queue %d)%n",
+                writes.meanWriteMillis(), writes.maxWriteMillis(), writes.recordsWritten(), writes.batches(), writes.maxQueueDepth());
+        System.out.printf(Locale.ROOT, "gc: %,d collections, %,d ms (%.1f%% of wall time)%n",
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], (gcAfter[1] - gcBefore[1]) / 10.0 / seconds);
+        System.out.printf(Locale.ROOT, "files: %,d -> %,d bytes in %s, %.1f bytes per game%n",
+                bytesBefore, bytesAfter, dir, (bytesAfter - bytesBefore) / (double) gamesPlayed);
+        AppExecutor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    /** Plays {@code games} whole games as one seat and saves each final score. */
+    private static PlayerResult play(int player, Profile profile, int games, double timeScale,
+                                     AngleTable table, HighScoreManager scores) throws InterruptedException {
+        Random random = new Random(player);
+        long[] clock = {0};
+        GameEngine engine = new GameEngine(UCAHelpers.ANGLES, table, () -> clock[0]);
+        ScoreHistoryManager history = new ScoreHistoryManager(50);
+        engine.addListener(new GameEngine.Listener() {
+            @Override
+            public void scoreChanged(int delta, int score) {
+                if (delta != 0) history.record(delta > 0, score);
+            }
+        });
+        String initials = "P" + (player % 100);
+
+        int expectedAnswers = (int) (games * GameRules.GAME_SECONDS * 1_000 / profile.thinkMillis() * 1.5) + 16;
+        long[] answerNanos = new long[expectedAnswers];
+        int answers = 0;
+        long[] enqueueNanos = new long[games];
+        for (int game = 0; game < games; game++) {
+            UnitCircleApp.AngleDisplayMode mode = MODES[random.nextInt(MODES.length)];
+            engine.setMode(mode);
+            engine.start(random.nextLong(), System.currentTimeMillis());
+            history.clear();
+            long nextTick = clock[0] + SECOND_NANOS;
+            while (true) {
+                long think = profile.thinkNanos(random);
+                if (timeScale > 0) Thread.sleep((long) (think / 1e6 / timeScale));
+                clock[0] += think;
+                while (clock[0] >= nextTick && engine.isRunning()) {
+                    engine.tick();
+                    nextTick += SECOND_NANOS;
+                }
+                if (!engine.isRunning()) break;
+
+                int target = engine.getTarget();
+                int angle = random.nextDouble() < profile.accuracy() ? target : wrongAngle(target, random);
+                long sent = System.nanoTime();
+                engine.answer(angle);
+                long elapsed = System.nanoTime() - sent;
+                if (answers == answerNanos.length) answerNanos = Arrays.copyOf(answerNanos, answers * 2);
+                answerNanos[answers++] = elapsed;
+            }
+            long sent = System.nanoTime();
+            scores.submitScore(engine.getScore(), initials, mode.name());
+            enqueueNanos[game] = System.nanoTime() - sent;
+            engine.reset();
+        }
+        return new PlayerResult(answerNanos, answers, enqueueNanos);
+    }
+
+    private static int wrongAngle(int target, Random random) {
+        int[] angles = UCAHelpers.ANGLES;
+        int angle;
+        do {
+            angle = angles[random.nextInt(angles.length)];
+        } while (angle == target);
+        return angle;
+    }
+
+    /** @return total collections and total collection milliseconds over all collectors */
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            long total = 0;
+            for (Path file : (Iterable<Path>) files::iterator) total += Files.size(file);
+            return total;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerStatsTest {
+
+    @TempDir
+    Path dir;
+
+    private static HighScoreEntry entry(int score, String initials, String mode) {
+        return new HighScoreEntry(score, initials, "2024-01-01 10:00", mode);
+    }
+
+    @Test
+    void testAggregatesPerMode() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 1, ScoreLog.NEVER_COMPACT);
+        scoreLog.appendAll(List.of(
+                entry(10, "AB", "TAN"),
+                entry(4, "AB", "TAN"),
+                entry(7, "AB", "COS"),
+                entry(1, "AB", "TAN"),
+                entry(3, "ZZ", "whatever")), false);
+
+        PlayerStats stats = new PlayerStats(log);
+        stats.load();
+
+        PlayerStats.Summary tan = stats.get("AB", "TAN");
+        assertEquals(3, tan.games());
+        assertEquals(10, tan.best());
+        assertEquals(5.0, tan.mean(), 1e-9);
+        assertEquals(-4.5, tan.trend(), 1e-9);
+
+        assertEquals(4, stats.get("AB", null).games());
+        assertEquals(1, stats.get("ZZ", "Unknown").games());
+        assertSame(PlayerStats.Summary.NONE, stats.get("AB", "SIN"));
+        assertSame(PlayerStats.Summary.NONE, stats.get("QQQ", null));
+    }
+
+    @Test
+    void testCheckpointReplaysOnlyTheTail() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20, ScoreLog.NEVER_COMPACT);
+        scoreLog.append(entry(5, "AAA", "SIN"));
+        PlayerStats stats = new PlayerStats(log);
+        stats.load();
+        stats.save();
+
+        scoreLog.append(entry(9, "AAA", "SIN"));
+        PlayerStats reloaded = new PlayerStats(log);
+        reloaded.load();
+        assertEquals(2, reloaded.get("AAA", "SIN").games());
+        assertEquals(9, reloaded.get("AAA", "SIN").best());
+    }
+
+    @Test
+    void testCorruptCheckpointIsRebuilt() throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20, ScoreLog.NEVER_COMPACT);
+        scoreLog.append(entry(5, "AAA", "SIN"));
+        scoreLog.append(entry(6, "BBB", "SIN"));
+
+        PlayerStats stats = new PlayerStats(log);
+        Files.write(stats.getStatsFile(), new byte[]{1, 2, 3});
+        stats.load();
+        assertEquals(List.of("AAA", "BBB"), stats.players());
+
+        stats.rebuild();
+        assertEquals(1, stats.get("BBB", null).games());
+    }
+}
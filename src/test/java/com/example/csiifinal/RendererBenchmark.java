@@ -0,0 +1,127 @@
+package com.example.csiifinal;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.stage.Stage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same scripted game in both {@link UnitCircleApp.Renderer}s and prints frame times, scene
+ * size and retained heap side by side.
+ * <p>
+ * Needs a display. Run with {@code -Djavafx.animation.fullspeed=true -Dprism.vsync=false} so a
+ * frame takes as long as its pulse rather than a vsync interval. Arguments: frames per renderer
+ * (default 2,000) and the angle set, as for {@code --angles} (default {@code special}; {@code 1}
+ * for the 360-angle drill). Every frame switches the function mode, which relabels every angle,
+ * picks a new target and moves the quadrant masks; every 60th frame the window is resized.
+ */
+public class RendererBenchmark {
+
+    private static final List<String> FUNCTIONS = List.of("Degrees", "Radians", "sin(x)", "cos(x)", "tan(x)");
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int[] angles = UCAHelpers.angleSet(args.length > 1 ? args[1] : "special");
+        Platform.startup(() -> { });
+        for (UnitCircleApp.Renderer renderer : UnitCircleApp.Renderer.values()) {
+            run(renderer, angles, frames);
+        }
+        Platform.exit();
+        AppExecutor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private static void run(UnitCircleApp.Renderer renderer, int[] angles, int frames) throws Exception {
+        long heapBefore = usedHeapAfterGc();
+        Stage stage = onFx(() -> {
+            Stage s = new Stage();
+            new UnitCircleApp(renderer, angles).start(s);
+            return s;
+        });
+        // let the first layout and CSS pass settle
+        Thread.sleep(500);
+        long heapAfter = usedHeapAfterGc();
+        int nodes = onFx(() -> countNodes(stage.getScene().getRoot()));
+
+        LatencyHistogram frameTimes = new LatencyHistogram();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        onFx(() -> {
+            ComboBox<String> mode = lookup(stage, "#modeComboBox");
+            ComboBox<String> function = lookup(stage, "#functionComboBox");
+            Button start = lookup(stage, "#startGameButton");
+            mode.setValue("Unit Circle");
+            start.fire();
+            new AnimationTimer() {
+                private long last;
+                private int frame;
+
+                @Override
+                public void handle(long now) {
+                    if (last != 0) frameTimes.recordNanos(now - last);
+                    last = now;
+                    if (++frame > frames) {
+                        stop();
+                        done.complete(null);
+                        return;
+                    }
+                    function.setValue(FUNCTIONS.get(frame % FUNCTIONS.size()));
+                    if (frame % 60 == 0) stage.setWidth(stage.getWidth() == 1000 ? 1200 : 1000);
+                }
+            }.start();
+            return null;
+        });
+        done.get(5, TimeUnit.MINUTES);
+        onFx(() -> {
+            stage.close();
+            return null;
+        });
+
+        System.out.printf("%-7s %3d angles, %4d nodes, %6.1f KiB retained, frame mean %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                renderer, angles.length, nodes, (heapAfter - heapBefore) / 1024.0, frameTimes.getMeanMillis(),
+                frameTimes.getP50Millis(), frameTimes.getP99Millis(), frameTimes.getMaxMillis());
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) count += countNodes(child);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Node> T lookup(Stage stage, String selector) {
+        return (T) stage.getScene().lookup(selector);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface FxTask<T> {
+        T call() throws Exception;
+    }
+
+    private static <T> T onFx(FxTask<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.get(1, TimeUnit.MINUTES);
+    }
+}
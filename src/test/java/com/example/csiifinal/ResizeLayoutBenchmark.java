@@ -0,0 +1,131 @@
+package com.example.csiifinal;
+
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Replays a window being dragged from 1000x1000 up to a full 3840x2160 kiosk display and back, and
+ * measures the work of positioning the circle's spokes and angle buttons.
+ * <p>
+ * Argument: resize steps per drag (default 2,000). Between two frames a drag changes both the
+ * width and the height, which used to lay the circle out twice, each time with a cosine and sine per
+ * angle. The coalesced layout marks the layout dirty and positions the nodes once per frame from a
+ * {@link UnitVectors} table. The nodes are real JavaFX shapes; {@link Region}s stand in for the
+ * buttons, which cannot be created without the FX toolkit.
+ */
+public class ResizeLayoutBenchmark {
+
+    // a mouse drag delivers several size changes between two 60 Hz frames
+    private static final int STEPS_PER_FRAME = 3;
+
+    public static void main(String[] args) throws Exception {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5);
+
+        CircleNodes legacy = new CircleNodes(UCAHelpers.ANGLES);
+        CircleNodes coalesced = new CircleNodes(UCAHelpers.ANGLES);
+        runner.run("per-listener layout with trig", () -> legacy.drag(steps, false));
+        runner.run("coalesced layout with unit vectors", () -> coalesced.drag(steps, true));
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (boolean coalesce : new boolean[]{false, true}) {
+            CircleNodes scene = new CircleNodes(UCAHelpers.ANGLES);
+            long cpu = threads.getCurrentThreadCpuTime();
+            int passes = scene.drag(steps, coalesce);
+            cpu = threads.getCurrentThreadCpuTime() - cpu;
+            System.out.printf("%-12s %,7d layout passes for %,d resize steps, %.3f ms CPU%n",
+                    coalesce ? "coalesced:" : "per-listener:", passes, steps, cpu / 1e6);
+        }
+        runner.finish();
+    }
+
+    /** The nodes {@code UnitCircleApp.updateLayout} positions for every angle. */
+    private static final class CircleNodes {
+        final int[] angles;
+        final UnitVectors unitVectors;
+        final Circle circle = new Circle();
+        final Line[] lines;
+        final Region[] buttons;
+        boolean layoutDirty;
+
+        CircleNodes(int[] angles) {
+            this.angles = angles;
+            this.unitVectors = new UnitVectors(angles);
+            lines = new Line[angles.length];
+            buttons = new Region[angles.length];
+            for (int i = 0; i < angles.length; i++) {
+                lines[i] = new Line();
+                buttons[i] = new Region();
+            }
+        }
+
+        /** @return number of layout passes run */
+        int drag(int steps, boolean coalesce) {
+            int passes = 0;
+            for (int step = 0; step < steps; step++) {
+                // out to 4K over the first half of the drag, back over the second
+                double t = step < steps / 2 ? step / (steps / 2.0) : (steps - step) / (steps / 2.0);
+                double w = 1000 + t * 2840;
+                double h = 1000 + t * 1160;
+                if (coalesce) {
+                    // width and height listeners only mark the layout dirty
+                    layoutDirty = true;
+                    layoutDirty = true;
+                    boolean frameEnds = step % STEPS_PER_FRAME == STEPS_PER_FRAME - 1 || step == steps - 1;
+                    if (frameEnds && layoutDirty) {
+                        layoutDirty = false;
+                        layoutFromTable(w, h);
+                        passes++;
+                    }
+                } else {
+                    // the width listener fires with the new width and the old height, then the height listener
+                    layoutWithTrig(w, h);
+                    layoutWithTrig(w, h);
+                    passes += 2;
+                }
+            }
+            return passes;
+        }
+
+        void layoutWithTrig(double w, double h) {
+            double radius = Math.min(w, h) / 3;
+            double centerX = w / 2;
+            double centerY = h / 2;
+            placeCircle(radius, centerX, centerY);
+            for (int i = 0; i < angles.length; i++) {
+                double radians = Math.toRadians(angles[i]);
+                place(i, centerX, centerY, centerX + Math.cos(radians) * radius, centerY - Math.sin(radians) * radius);
+            }
+        }
+
+        void layoutFromTable(double w, double h) {
+            double radius = Math.min(w, h) / 3;
+            double centerX = w / 2;
+            double centerY = h / 2;
+            placeCircle(radius, centerX, centerY);
+            for (int i = 0; i < angles.length; i++) {
+                place(i, centerX, centerY, unitVectors.x(i, centerX, radius), unitVectors.y(i, centerY, radius));
+            }
+        }
+
+        private void placeCircle(double radius, double centerX, double centerY) {
+            circle.setRadius(radius);
+            circle.setCenterX(centerX);
+            circle.setCenterY(centerY);
+        }
+
+        private void place(int i, double centerX, double centerY, double endX, double endY) {
+            buttons[i].setLayoutX(endX - 20);
+            buttons[i].setLayoutY(endY - 10);
+            Line line = lines[i];
+            line.setStartX(centerX);
+            line.setStartY(centerY);
+            line.setEndX(endX);
+            line.setEndY(endY);
+        }
+    }
+}
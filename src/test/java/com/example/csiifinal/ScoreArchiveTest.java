@@ -0,0 +1,105 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import com.example.csiifinal.ScoreArchive.Filter;
+import com.example.csiifinal.ScoreArchive.SortKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private ScoreArchive archiveOf(HighScoreEntry... entries) throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 2, ScoreLog.NEVER_COMPACT);
+        scoreLog.appendAll(List.of(entries), false);
+        return ScoreArchive.open(log);
+    }
+
+    private static List<String> initials(ScoreArchive archive, int[] rows) {
+        List<String> result = new ArrayList<>();
+        for (int row : rows) {
+            result.add(archive.get(row).initials);
+        }
+        return result;
+    }
+
+    @Test
+    void testKeepsRecordsThatFellOffTheLeaderboard() throws IOException {
+        ScoreArchive archive = archiveOf(
+                new HighScoreEntry(1, "AAA", "2024-01-01 10:00", "DEGREES"),
+                new HighScoreEntry(2, "BBB", "2024-01-02 10:00", "SIN"),
+                new HighScoreEntry(3, "CCC", "2024-01-03 10:00", "SIN"));
+
+        assertEquals(3, archive.size());
+        assertEquals(List.of("CCC", "BBB", "AAA"), initials(archive, archive.select(Filter.ALL, SortKey.SCORE, true)));
+        assertEquals(List.of("AAA", "BBB", "CCC"), initials(archive, archive.select(Filter.ALL, SortKey.DATE, false)));
+    }
+
+    @Test
+    void testFiltersByModeInitialsAndDate() throws IOException {
+        ScoreArchive archive = archiveOf(
+                new HighScoreEntry(5, "ABC", "2024-01-01 10:00", "SIN"),
+                new HighScoreEntry(6, "abd", "2024-02-01 10:00", "SIN"),
+                new HighScoreEntry(7, "XYZ", "2024-02-01 11:00", "SIN"),
+                new HighScoreEntry(8, "ABE", "2024-02-01 12:00", "Unknown"));
+
+        int sin = UnitCircleApp.AngleDisplayMode.SIN.ordinal();
+        assertEquals(List.of("abd", "ABC"),
+                initials(archive, archive.select(new Filter(sin, "ab", Integer.MIN_VALUE, Integer.MAX_VALUE), SortKey.SCORE, true)));
+        assertEquals(List.of("ABE"),
+                initials(archive, archive.select(new Filter(-1, "", Integer.MIN_VALUE, Integer.MAX_VALUE), SortKey.SCORE, true)));
+
+        int february = BinaryScoreFormat.toEpochMinute("2024-02-01 00:00");
+        assertEquals(List.of("ABE", "XYZ", "abd"),
+                initials(archive, archive.select(new Filter(ScoreArchive.ANY_MODE, "", february, Integer.MAX_VALUE), SortKey.SCORE, true)));
+    }
+
+    @Test
+    void testInitialsSortIsStableForTies() throws IOException {
+        ScoreArchive archive = archiveOf(
+                new HighScoreEntry(1, "BB", "", "TAN"),
+                new HighScoreEntry(2, "A", "", "TAN"),
+                new HighScoreEntry(3, "BB", "", "TAN"),
+                new HighScoreEntry(4, "AZ", "", "TAN"));
+
+        int[] rows = archive.select(Filter.ALL, SortKey.INITIALS, false);
+        assertEquals(List.of("A", "AZ", "BB", "BB"), initials(archive, rows));
+        assertEquals(1, archive.score(rows[2]));
+        assertEquals(3, archive.score(rows[3]));
+
+        rows = archive.select(Filter.ALL, SortKey.DATE, true);
+        assertEquals(4, rows.length); // missing timestamps must not overflow the sort key
+    }
+
+    @Test
+    void testRowsArePagedLazily() throws IOException {
+        int count = LeaderboardView.ArchiveRows.PAGE_SIZE * 40;
+        HighScoreEntry[] entries = new HighScoreEntry[count];
+        for (int i = 0; i < count; i++) {
+            entries[i] = new HighScoreEntry(i, "P", "2024-01-01 10:00", "COS");
+        }
+        ScoreArchive archive = archiveOf(entries);
+
+        LeaderboardView.ArchiveRows rows = new LeaderboardView.ArchiveRows(archive, archive.select(Filter.ALL, SortKey.SCORE, true));
+        assertEquals(count, rows.size());
+        assertEquals(0, rows.cachedPages());
+        assertEquals(count - 1, rows.get(0).score);
+        assertEquals(0, rows.get(count - 1).score);
+        assertEquals(2, rows.cachedPages());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(count - 1 - i, rows.get(i).score);
+        }
+        assertTrue(rows.cachedPages() <= 16);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreCsvParserTest {
+
+    private static final String SAMPLE = """
+            73,WAW,2025-06-13 16:22,DEGREES
+             -14 , ab ,2025-06-13 19:11, TAN\r
+            not a number,XYZ,2025-01-01 00:00,SIN
+            5,ONLY,TWO
+            2147483648,BIG,2025-01-01 00:00,SIN
+            +9,PLS,2025-02-30 10:00,COS
+            12,NOM,2024-02-29 23:59
+            1,EXT,2025-01-01 00:00,RADIANS,extra
+            3,LAST,2025-01-01 00:00,Bogus""";
+
+    private static List<String> parseAll(String csv, int bufferSize) throws IOException {
+        List<String> records = new ArrayList<>();
+        new ScoreCsvParser(bufferSize).parse(
+                Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))),
+                (score, initials, epochMinute, mode) -> records.add(score + "|" + initials + "|"
+                        + BinaryScoreFormat.fromEpochMinute(epochMinute) + "|" + BinaryScoreFormat.modeName((byte) mode)));
+        return records;
+    }
+
+    @Test
+    void testMatchesEntryParse() throws IOException {
+        List<String> expected = new ArrayList<>();
+        for (String line : SAMPLE.split("\n")) {
+            HighScoreEntry entry = HighScoreEntry.parse(line);
+            if (entry == null) continue;
+            expected.add(entry.score + "|" + entry.initials + "|"
+                    + BinaryScoreFormat.fromEpochMinute(BinaryScoreFormat.toEpochMinute(entry.timestamp)) + "|"
+                    + BinaryScoreFormat.modeName(BinaryScoreFormat.modeOrdinal(entry.mode)));
+        }
+        assertEquals(expected, parseAll(SAMPLE, 64 * 1024));
+    }
+
+    @Test
+    void testTinyBuffersSplitLinesAndMultibyteChars() throws IOException {
+        String csv = "7,ÉÀÜ,2025-06-13 16:22,SIN\n" + SAMPLE;
+        assertEquals(parseAll(csv, 64 * 1024), parseAll(csv, 4));
+        assertEquals("7|ÉÀÜ|2025-06-13 16:22|SIN", parseAll(csv, 3).get(0));
+    }
+
+    @Test
+    void testTopKAndModeStatsSinks() throws IOException {
+        ScoreCsvParser.TopK top = new ScoreCsvParser.TopK(2);
+        ScoreCsvParser.ModeStats stats = new ScoreCsvParser.ModeStats();
+        byte[] csv = "4,A,2025-01-01 00:00,SIN\n9,B,2025-01-01 00:00,SIN\n9,C,2025-01-01 00:00,COS\n1,D,x\n"
+                .getBytes(StandardCharsets.UTF_8);
+
+        new ScoreCsvParser().parse(Channels.newChannel(new ByteArrayInputStream(csv)), (score, initials, minute, mode) -> {
+            top.accept(score, initials, minute, mode);
+            stats.accept(score, initials, minute, mode);
+        });
+
+        assertEquals(List.of("B", "C"), top.toEntries().stream().map(e -> e.initials).toList());
+        assertEquals(2, stats.count(UnitCircleApp.AngleDisplayMode.SIN));
+        assertEquals(6.5, stats.mean(UnitCircleApp.AngleDisplayMode.SIN));
+        assertEquals(1, stats.count(null));
+        assertEquals(4, stats.total());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.csiifinal;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * Measures the cost of recording one answer in {@link ScoreHistoryManager} against the previous
+ * format-and-queue implementation, in time and in bytes allocated per call.
+ * <p>
+ * Argument: number of answers per iteration (default 1,000,000). The ring buffer should report
+ * 0 bytes per record.
+ */
+public class ScoreHistoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int answers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5);
+
+        ScoreHistoryManager ring = new ScoreHistoryManager(50);
+        LegacyHistory legacy = new LegacyHistory(50);
+
+        runner.runPerOp("legacy String.format + LinkedList", answers, op -> {
+            legacy.record((op & 1) == 0, op);
+            return legacy.history.size();
+        });
+        runner.runPerOp("primitive ring buffer", answers, op -> {
+            ring.record((op & 1) == 0, op);
+            return ring.size();
+        });
+
+        System.out.printf("allocated per record: legacy %.1f bytes, ring buffer %.1f bytes%n",
+                allocatedPerCall(answers, op -> legacy.record((op & 1) == 0, op)),
+                allocatedPerCall(answers, op -> ring.record((op & 1) == 0, op)));
+        runner.finish();
+    }
+
+    private interface Recorder {
+        void record(int op);
+    }
+
+    private static double allocatedPerCall(int calls, Recorder recorder) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // the first calls of the bean allocate themselves; take them out of the measurement
+        threads.getCurrentThreadAllocatedBytes();
+        threads.getCurrentThreadAllocatedBytes();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int op = 0; op < calls; op++) {
+            recorder.record(op);
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        return (after - before) / (double) calls;
+    }
+
+    /** The implementation this benchmark replaced: one formatted String per answer. */
+    private static final class LegacyHistory {
+        final Queue<String> history = new LinkedList<>();
+        final int maxSize;
+
+        LegacyHistory(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        void record(boolean isCorrect, int currentScore) {
+            history.add(String.format("%s (%s)", isCorrect ? "✔ Correct" : "✘ Incorrect", "Score: " + currentScore));
+            if (history.size() > maxSize) history.poll();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares loading the leaderboard from the legacy CSV file with loading it from the binary log,
+ * both by full scan and through the sidecar index.
+ * <p>
+ * Arguments are the archive sizes to test (default {@code 10000 1000000 10000000}). The legacy loader
+ * reads every line into memory, so the 10M case needs a large heap ({@code -Xmx4g}).
+ */
+public class ScoreLoadBenchmark {
+
+    private static final String[] MODES = {"DEGREES", "RADIANS", "SIN", "COS", "TAN"};
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0 ? new int[]{10_000, 1_000_000, 10_000_000} : parseSizes(args);
+        Path dir = Files.createTempDirectory("score-bench");
+        BenchmarkRunner runner = new BenchmarkRunner(2, 5);
+
+        for (int size : sizes) {
+            Path csv = dir.resolve("scores-" + size + ".txt");
+            Path binary = dir.resolve("scores-" + size + ".dat");
+            writeCsv(csv, size);
+            ScoreFileConverter.csvToBinary(csv, binary);
+            System.out.printf("%n%,d entries: csv %,d bytes, binary %,d bytes%n", size, Files.size(csv), Files.size(binary));
+
+            runner.run("legacy csv readAllLines+split", () -> loadLegacy(csv));
+            runner.run("binary mmap full scan", () -> {
+                Files.deleteIfExists(binary.resolveSibling(binary.getFileName() + ".idx"));
+                return new ScoreLog(binary, 20).load();
+            });
+            new ScoreLog(binary, 20).load(); // leaves a fresh index behind
+            runner.run("binary mmap via index", () -> new ScoreLog(binary, 20).load());
+        }
+        runner.finish();
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+        return sizes;
+    }
+
+    private static void writeCsv(Path csv, int size) throws Exception {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            for (int i = 0; i < size; i++) {
+                writer.write(random.nextInt(200) - 50 + ",AB" + (char) ('A' + random.nextInt(26))
+                        + ",2025-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10) + " 1" + random.nextInt(10)
+                        + ":3" + random.nextInt(10) + "," + MODES[random.nextInt(MODES.length)] + "\n");
+            }
+        }
+    }
+
+    /** The pre-log {@code HighScoreManager.loadHighScores()}, kept here as the baseline. */
+    private static List<HighScoreEntry> loadLegacy(Path csv) throws Exception {
+        List<HighScoreEntry> highScores = new ArrayList<>();
+        for (String line : Files.readAllLines(csv)) {
+            String[] parts = line.split(",", -1);
+            if (parts.length >= 3) {
+                try {
+                    int score = Integer.parseInt(parts[0].trim());
+                    String mode = (parts.length >= 4) ? parts[3].trim() : "Unknown";
+                    highScores.add(new HighScoreEntry(score, parts[1].trim(), parts[2].trim(), mode));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        highScores.sort(Comparator.comparingInt(h -> -h.score));
+        return highScores;
+    }
+}
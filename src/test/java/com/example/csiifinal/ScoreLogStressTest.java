@@ -0,0 +1,125 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single score log from many threads and several JVMs at once and checks that
+ * every entry survives.
+ */
+public class ScoreLogStressTest {
+
+    private static final int THREADS = 24;
+    private static final int PROCESSES = 8;
+    private static final int THREADS_PER_PROCESS = 3;
+    private static final int ENTRIES_PER_WRITER = 25;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Entry point for child writer processes.
+     * Arguments: log path, capacity, compaction threshold, first writer id, writer count, entries per writer.
+     */
+    public static class Writer {
+        public static void main(String[] args) throws Exception {
+            Path log = Paths.get(args[0]);
+            int capacity = Integer.parseInt(args[1]);
+            int threshold = Integer.parseInt(args[2]);
+            int firstWriter = Integer.parseInt(args[3]);
+            int writers = Integer.parseInt(args[4]);
+            int entries = Integer.parseInt(args[5]);
+            runWriters(log, capacity, threshold, firstWriter, writers, entries);
+        }
+    }
+
+    private static int scoreFor(int writer, int i) {
+        return writer * 1000 + i;
+    }
+
+    private static void runWriters(Path log, int capacity, int threshold, int firstWriter, int writers, int entries)
+            throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = firstWriter; w < firstWriter + writers; w++) {
+            final int writer = w;
+            futures.add(pool.submit(() -> {
+                // each writer opens its own store, like a separate seat would
+                ScoreLog scoreLog = new ScoreLog(log, capacity, threshold);
+                scoreLog.load();
+                for (int i = 0; i < entries; i++) {
+                    scoreLog.append(new HighScoreEntry(scoreFor(writer, i), "W", "2024-01-01 10:00", "DEGREES"));
+                }
+                scoreLog.compact();
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+    }
+
+    private void runEverything(Path log, int capacity, int threshold) throws Exception {
+        List<Process> processes = new ArrayList<>();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (int p = 0; p < PROCESSES; p++) {
+            int firstWriter = THREADS + p * THREADS_PER_PROCESS;
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    Writer.class.getName(), log.toString(), String.valueOf(capacity), String.valueOf(threshold),
+                    String.valueOf(firstWriter), String.valueOf(THREADS_PER_PROCESS), String.valueOf(ENTRIES_PER_WRITER))
+                    .inheritIO()
+                    .start());
+        }
+
+        runWriters(log, capacity, threshold, 0, THREADS, ENTRIES_PER_WRITER);
+
+        for (Process process : processes) {
+            assertTrue(process.waitFor(2, TimeUnit.MINUTES), "writer process timed out");
+            assertEquals(0, process.exitValue());
+        }
+    }
+
+    private static Set<Integer> allScores() {
+        Set<Integer> expected = new HashSet<>();
+        for (int w = 0; w < THREADS + PROCESSES * THREADS_PER_PROCESS; w++) {
+            for (int i = 0; i < ENTRIES_PER_WRITER; i++) {
+                expected.add(scoreFor(w, i));
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    void testNoEntryLostAcrossThreadsAndProcesses() throws Exception {
+        Path log = dir.resolve("highscores.txt");
+        Set<Integer> expected = allScores();
+        runEverything(log, expected.size(), Integer.MAX_VALUE);
+
+        ScoreLog reloaded = new ScoreLog(log, expected.size());
+        Set<Integer> actual = new HashSet<>();
+        for (HighScoreEntry e : reloaded.load()) actual.add(e.score);
+
+        assertEquals(expected.size(), reloaded.recordCount());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testConcurrentCompactionKeepsTrueTopScores() throws Exception {
+        Path log = dir.resolve("highscores.txt");
+        int capacity = 20;
+        runEverything(log, capacity, 5);
+
+        List<Integer> expected = allScores().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(capacity)
+                .toList();
+        List<Integer> actual = new ScoreLog(log, capacity).load().stream().map(e -> e.score).toList();
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static HighScoreEntry entry(int score, String initials) {
+        return new HighScoreEntry(score, initials, "2024-01-01 10:00", "DEGREES");
+    }
+
+    @Test
+    void testImportsExistingCsvAndBuildsIndex() throws IOException {
+        Path csv = dir.resolve("scores.txt");
+        Files.writeString(csv, "3,CCC,2024-01-01 10:00,SIN\n9,AAA,2024-01-01 10:00,DEGREES\nbad line\n5,BBB,2024-01-01 10:00\n");
+
+        ScoreLog scoreLog = new ScoreLog(dir.resolve("scores.dat"), 20);
+        scoreLog.importCsvIfAbsent(csv);
+        List<HighScoreEntry> board = scoreLog.load();
+
+        assertEquals(3, board.size());
+        assertEquals("AAA", board.get(0).initials);
+        assertEquals("Unknown", board.get(1).mode);
+        assertTrue(Files.exists(scoreLog.getIndexFile()));
+    }
+
+    @Test
+    void testAppendIsReadBackThroughIndex() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 3);
+        for (int i = 1; i <= 6; i++) {
+            scoreLog.append(entry(i, "P" + i));
+        }
+        assertEquals(6, scoreLog.recordCount());
+        assertEquals(3, scoreLog.deadCount());
+
+        List<HighScoreEntry> reloaded = new ScoreLog(log, 3).load();
+        assertEquals(List.of("P6", "P5", "P4"), reloaded.stream().map(e -> e.initials).toList());
+    }
+
+    @Test
+    void testEqualScoresKeepLogOrder() {
+        ScoreLog scoreLog = new ScoreLog(dir.resolve("scores.dat"), 2);
+        scoreLog.append(entry(5, "OLD"));
+        scoreLog.append(entry(5, "NEW"));
+        assertFalse(scoreLog.append(entry(5, "LATE")));
+        assertEquals(List.of("OLD", "NEW"), scoreLog.leaderboard().stream().map(e -> e.initials).toList());
+    }
+
+    @Test
+    void testStaleIndexFallsBackToFullScan() throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20);
+        scoreLog.append(entry(4, "AAA"));
+        scoreLog.append(entry(6, "BBB"));
+
+        // another tool replaced the log behind the index's back
+        Path csv = dir.resolve("other.txt");
+        Files.writeString(csv, "8,ZZZ,2024-01-01 10:00,TAN\n");
+        ScoreFileConverter.csvToBinary(csv, log);
+
+        List<HighScoreEntry> board = new ScoreLog(log, 20).load();
+        assertEquals(1, board.size());
+        assertEquals("ZZZ", board.get(0).initials);
+    }
+
+    @Test
+    void testTruncatedIndexDoesNotInflateRecordCount() throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 3, Integer.MAX_VALUE);
+        for (int i = 1; i <= 5; i++) {
+            scoreLog.append(entry(i, "P" + i));
+        }
+        // cut the index off in the middle of its offsets, as a crash during a copy might
+        Path index = scoreLog.getIndexFile();
+        byte[] bytes = Files.readAllBytes(index);
+        Files.write(index, Arrays.copyOf(bytes, bytes.length - 4));
+
+        ScoreLog reloaded = new ScoreLog(log, 3, Integer.MAX_VALUE);
+        assertEquals(List.of("P5", "P4", "P3"), reloaded.load().stream().map(e -> e.initials).toList());
+        assertEquals(5, reloaded.recordCount());
+        assertEquals(2, reloaded.deadCount());
+    }
+
+    @Test
+    void testCompactionDropsDeadRecords() throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 2, Integer.MAX_VALUE);
+        for (int i = 1; i <= 10; i++) {
+            scoreLog.append(entry(i, "P" + i));
+        }
+        scoreLog.compact();
+
+        assertEquals(0, scoreLog.deadCount());
+        assertEquals(BinaryScoreFormat.offsetOf(2), Files.size(log));
+        List<HighScoreEntry> reloaded = new ScoreLog(log, 2).load();
+        assertEquals(List.of("P10", "P9"), reloaded.stream().map(e -> e.initials).toList());
+    }
+
+    @Test
+    void testCsvBinaryRoundTrip() throws IOException {
+        Path csv = dir.resolve("scores.txt");
+        String original = "73,WAW,2025-06-13 16:22,DEGREES\n-14,É,1999-12-31 23:59,TAN\n5,AB,2024-01-02 11:00,Unknown\n";
+        Files.writeString(csv, original);
+
+        Path binary = dir.resolve("scores.dat");
+        assertEquals(3, ScoreFileConverter.csvToBinary(csv, binary));
+        assertEquals(BinaryScoreFormat.offsetOf(3), Files.size(binary));
+
+        Path back = dir.resolve("back.txt");
+        assertEquals(3, ScoreFileConverter.binaryToCsv(binary, back));
+        assertEquals(original, Files.readString(back));
+    }
+}
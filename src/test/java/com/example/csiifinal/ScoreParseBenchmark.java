@@ -0,0 +1,95 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the legacy {@code readAllLines} + {@code split} loader with {@link ScoreCsvParser} streaming
+ * into a top-20 sink, reporting time and bytes allocated per load.
+ * <p>
+ * Argument: number of rows (default 2,000,000).
+ */
+public class ScoreParseBenchmark {
+
+    private static final String[] MODES = {"DEGREES", "RADIANS", "SIN", "COS", "TAN"};
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path csv = Files.createTempFile("score-parse", ".txt");
+        writeCsv(csv, rows);
+        System.out.printf("%,d rows, %,d bytes%n", rows, Files.size(csv));
+
+        BenchmarkRunner runner = new BenchmarkRunner(2, 5);
+        runner.run("legacy readAllLines+split+sort", () -> loadLegacy(csv));
+        runner.run("streaming parser -> top 20", () -> loadStreaming(csv));
+        runner.run("streaming parser -> mode stats", () -> {
+            ScoreCsvParser.ModeStats stats = new ScoreCsvParser.ModeStats();
+            try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+                new ScoreCsvParser().parse(channel, stats);
+            }
+            return stats.total();
+        });
+
+        System.out.printf("allocated per load: legacy %,d bytes, streaming %,d bytes%n",
+                allocatedBy(() -> loadLegacy(csv)), allocatedBy(() -> loadStreaming(csv)));
+        runner.finish();
+        Files.deleteIfExists(csv);
+    }
+
+    private interface Load {
+        Object run() throws Exception;
+    }
+
+    private static long allocatedBy(Load load) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        load.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static List<HighScoreEntry> loadStreaming(Path csv) throws Exception {
+        ScoreCsvParser.TopK top = new ScoreCsvParser.TopK(20);
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            new ScoreCsvParser().parse(channel, top);
+        }
+        return top.toEntries();
+    }
+
+    /** The pre-log {@code HighScoreManager.loadHighScores()}, kept here as the baseline. */
+    private static List<HighScoreEntry> loadLegacy(Path csv) throws Exception {
+        List<HighScoreEntry> highScores = new ArrayList<>();
+        for (String line : Files.readAllLines(csv)) {
+            String[] parts = line.split(",", -1);
+            if (parts.length >= 3) {
+                try {
+                    int score = Integer.parseInt(parts[0].trim());
+                    String mode = (parts.length >= 4) ? parts[3].trim() : "Unknown";
+                    highScores.add(new HighScoreEntry(score, parts[1].trim(), parts[2].trim(), mode));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        highScores.sort(Comparator.comparingInt(h -> -h.score));
+        return highScores;
+    }
+
+    private static void writeCsv(Path csv, int rows) throws Exception {
+        Random random = new Random(7);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write((random.nextInt(200) - 50) + ",W" + (char) ('A' + random.nextInt(26))
+                        + ",2025-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10) + " 1" + random.nextInt(10)
+                        + ":2" + random.nextInt(10) + "," + MODES[random.nextInt(MODES.length)] + "\n");
+            }
+        }
+    }
+}
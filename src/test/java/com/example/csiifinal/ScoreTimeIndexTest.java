@@ -0,0 +1,96 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreTimeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static HighScoreEntry entry(int score, String initials, String timestamp) {
+        return new HighScoreEntry(score, initials, timestamp, "DEGREES");
+    }
+
+    private static int minute(String timestamp) {
+        return BinaryScoreFormat.toEpochMinute(timestamp);
+    }
+
+    @Test
+    void testTopScoresWithinWindow() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20, ScoreLog.NEVER_COMPACT);
+        scoreLog.appendAll(List.of(
+                entry(50, "OLD", "2024-01-01 10:00"),
+                entry(7, "AAA", "2024-03-04 09:00"),
+                entry(9, "BBB", "2024-03-05 09:00"),
+                entry(7, "CCC", "2024-03-06 09:00"),
+                entry(40, "NEW", "2024-04-01 10:00")), false);
+
+        ScoreTimeIndex index = new ScoreTimeIndex(log);
+        index.catchUp();
+        List<HighScoreEntry> week = index.top(minute("2024-03-04 00:00"), minute("2024-03-11 00:00"), 10);
+        assertEquals(List.of("BBB", "AAA", "CCC"), week.stream().map(e -> e.initials).toList());
+        assertEquals(1, index.top(minute("2024-03-04 00:00"), minute("2024-03-11 00:00"), 1).size());
+        assertEquals(3, index.count(minute("2024-03-04 00:00"), minute("2024-03-11 00:00")));
+        assertTrue(index.top(minute("2025-01-01 00:00"), minute("2025-02-01 00:00"), 5).isEmpty());
+    }
+
+    @Test
+    void testCatchUpHandlesOutOfOrderAppends() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20, ScoreLog.NEVER_COMPACT);
+        scoreLog.append(entry(1, "AAA", "2024-05-02 10:00"));
+        ScoreTimeIndex index = new ScoreTimeIndex(log);
+        index.catchUp();
+        assertEquals(1, index.top(Integer.MIN_VALUE, Integer.MAX_VALUE, 5).size());
+
+        // a seat with a slow clock saves an older timestamp afterwards
+        scoreLog.append(entry(3, "BBB", "2024-05-01 10:00"));
+        scoreLog.append(entry(2, "CCC", "2024-05-03 10:00"));
+        index.catchUp();
+
+        assertArrayEquals(new int[]{1, 1, 1, 0}, index.countsPerPeriod(minute("2024-05-01 00:00"), 4, 24 * 60));
+        assertEquals(List.of("BBB", "CCC", "AAA"),
+                index.top(Integer.MIN_VALUE, Integer.MAX_VALUE, 5).stream().map(e -> e.initials).toList());
+    }
+
+    @Test
+    void testMatchesBruteForceOnRandomArchive() {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20, ScoreLog.NEVER_COMPACT);
+        Random random = new Random(7);
+        List<HighScoreEntry> all = new ArrayList<>();
+        int base = minute("2024-01-01 00:00");
+        for (int i = 0; i < 3000; i++) {
+            int at = base + random.nextInt(60 * 24 * 30);
+            all.add(entry(random.nextInt(100), "P" + (i % 10), BinaryScoreFormat.fromEpochMinute(at)));
+        }
+        scoreLog.appendAll(all, false);
+
+        ScoreTimeIndex index = new ScoreTimeIndex(log);
+        index.catchUp();
+        for (int q = 0; q < 50; q++) {
+            int from = base + random.nextInt(60 * 24 * 30);
+            int to = from + random.nextInt(60 * 24 * 7);
+            List<Integer> expected = all.stream()
+                    .filter(e -> minute(e.timestamp) >= from && minute(e.timestamp) < to)
+                    .map(e -> e.score)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(15)
+                    .toList();
+            assertEquals(expected, index.top(from, to, 15).stream().map(e -> e.score).toList());
+            assertEquals(all.stream().filter(e -> minute(e.timestamp) >= from && minute(e.timestamp) < to).count(),
+                    index.count(from, to));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.HighScoreManager.HighScoreEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    private static HighScoreEntry entry(int score, String initials) {
+        return new HighScoreEntry(score, initials, "2024-01-01 10:00", "DEGREES");
+    }
+
+    @Test
+    void testFailedBatchStaysQueuedUntilItIsWritten() throws IOException {
+        Path log = dir.resolve("scores.dat");
+        ScoreLog scoreLog = new ScoreLog(log, 20);
+        scoreLog.load();
+        List<List<HighScoreEntry>> pendingSeen = new ArrayList<>();
+        ScoreWriteBehind writeBehind = new ScoreWriteBehind(scoreLog, ScoreWriteBehind.FsyncPolicy.NEVER,
+                (board, pending) -> pendingSeen.add(pending.get()));
+
+        // a directory where the lock file belongs makes every locked write fail
+        Path lock = log.resolveSibling(log.getFileName() + ".lock");
+        Files.deleteIfExists(lock);
+        Files.createDirectory(lock);
+        writeBehind.submit(entry(7, "AAA"));
+        writeBehind.flush();
+
+        ScoreWriteBehind.Metrics metrics = writeBehind.getMetrics();
+        assertEquals(0, metrics.recordsWritten());
+        assertEquals(0, metrics.batches());
+        assertEquals(1, metrics.queueDepth());
+        assertEquals("AAA", pendingSeen.get(pendingSeen.size() - 1).get(0).initials);
+        assertEquals(0, scoreLog.recordCount());
+
+        Files.delete(lock);
+        writeBehind.submit(entry(3, "BBB"));
+        writeBehind.close();
+
+        metrics = writeBehind.getMetrics();
+        assertEquals(2, metrics.recordsWritten());
+        assertEquals(0, metrics.queueDepth());
+        assertTrue(pendingSeen.get(pendingSeen.size() - 1).isEmpty());
+        assertEquals(List.of("AAA", "BBB"), new ScoreLog(log, 20).load().stream().map(e -> e.initials).toList());
+    }
+}
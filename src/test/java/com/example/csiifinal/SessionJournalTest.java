@@ -0,0 +1,93 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.UnitCircleApp.AngleDisplayMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private record Event(long nanos, byte type, AngleDisplayMode mode, int arg, int value) {
+    }
+
+    private static List<Event> readAll(Path file) throws IOException {
+        List<Event> events = new ArrayList<>();
+        SessionJournal.scan(file, (nanos, type, mode, arg, value) -> events.add(new Event(nanos, type, mode, arg, value)));
+        return events;
+    }
+
+    @Test
+    void testEventsRoundTrip() throws Exception {
+        SessionJournal journal = SessionJournal.start(dir, AngleDisplayMode.DEGREES, 42L, LeitnerScheduler.KIND);
+        journal.targetChosen(135);
+        journal.answered(45, false);
+        journal.scoreChanged(-1, -1);
+        journal.timerTick(119);
+        journal.flush();
+        journal.modeChanged(AngleDisplayMode.TAN);
+        journal.answered(135, true);
+        journal.end(7);
+        assertTrue(journal.awaitClosed(5, TimeUnit.SECONDS));
+
+        List<Event> events = readAll(journal.getFile());
+        SessionJournal.Header header = SessionJournal.scan(journal.getFile(), (nanos, type, mode, arg, value) -> { });
+        assertEquals(42L, header.seed());
+        assertEquals(LeitnerScheduler.KIND, header.scheduler());
+        assertEquals(journal.getStartMillis(), header.startMillis());
+        assertEquals(List.of(SessionJournal.TYPE_TARGET, SessionJournal.TYPE_ANSWER, SessionJournal.TYPE_SCORE,
+                        SessionJournal.TYPE_TICK, SessionJournal.TYPE_MODE, SessionJournal.TYPE_ANSWER, SessionJournal.TYPE_END),
+                events.stream().map(Event::type).toList());
+        assertEquals(135, events.get(0).arg());
+        assertEquals(0, events.get(1).value());
+        assertEquals(-1, events.get(2).arg());
+        assertEquals(119, events.get(3).value());
+        assertEquals(AngleDisplayMode.DEGREES, events.get(3).mode());
+        assertEquals(AngleDisplayMode.TAN, events.get(5).mode());
+        assertEquals(7, events.get(6).value());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).nanos() >= events.get(i - 1).nanos());
+        }
+    }
+
+    @Test
+    void testLongSessionSpansManyBuffersAndTornTailIsIgnored() throws Exception {
+        SessionJournal journal = SessionJournal.start(dir, AngleDisplayMode.SIN, 42L, MissCountScheduler.KIND);
+        for (int i = 0; i < 10_000; i++) {
+            journal.timerTick(i);
+        }
+        journal.close();
+        assertTrue(journal.awaitClosed(5, TimeUnit.SECONDS));
+        assertEquals(SessionJournal.HEADER_SIZE + 10_000L * SessionJournal.EVENT_SIZE, Files.size(journal.getFile()));
+
+        Files.write(journal.getFile(), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        List<Event> events = readAll(journal.getFile());
+        assertEquals(10_000, events.size());
+        assertEquals(9_999, events.get(9_999).value());
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path other = dir.resolve("other.jnl");
+        Files.write(other, new byte[32]);
+        assertThrows(IOException.class, () -> readAll(other));
+
+        ByteBuffer header = ByteBuffer.allocate(SessionJournal.HEADER_SIZE);
+        header.putInt(SessionJournal.MAGIC).putShort((short) (SessionJournal.VERSION + 1));
+        Path newer = dir.resolve("newer.jnl");
+        Files.write(newer, header.array());
+        assertThrows(IOException.class, () -> readAll(newer));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.csiifinal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap one {@link GameSessionHost} session keeps alive: right after it opens, and
+ * again after every session has answered a number of prompts, when its reaction time histograms
+ * hold counters. For comparison it also measures one {@link AngleTable}, which every session would
+ * carry if the tables were not shared, and prints what the per-angle histograms cost when each kept
+ * all {@value LatencyHistogram#BUCKET_COUNT} counters.
+ * <p>
+ * Arguments: sessions (default 500) and answers per session (default 40). Heap use is read after
+ * full collections, so run with a fixed heap, e.g. {@code -Xms512m -Xmx512m}, for steady numbers.
+ */
+public class SessionMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int answers = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        Path dir = Files.createTempDirectory("session-memory");
+        HighScoreManager scores = new HighScoreManager() {
+            @Override
+            protected String getHighScoreFilePath() {
+                return dir.resolve("highscores.txt").toString();
+            }
+        };
+        GameSessionHost host = new GameSessionHost(UCAHelpers.ANGLES, scores);
+        UnitCircleApp.AngleDisplayMode[] modes = UnitCircleApp.AngleDisplayMode.values();
+
+        // one session first, so class loading and the shared table are not charged to the rest
+        host.end(host.open("WRM", modes[0]).getId());
+        long empty = usedHeap();
+        List<GameSessionHost.GameSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(host.open("S" + (i % 100), modes[i % modes.length]));
+        }
+        long opened = usedHeap();
+
+        for (GameSessionHost.GameSession session : sessions) {
+            for (int a = 0; a < answers; a++) {
+                // every third answer misses, so reaction times land in more than one bucket
+                session.answer(a % 3 == 0 ? -1 : session.getTarget());
+                if (a % 8 == 0) Thread.sleep(0, 200_000);
+            }
+        }
+        long played = usedHeap();
+        long tableBytes = retainedBytes(() -> new AngleTable(UCAHelpers.ANGLES));
+
+        int histograms = UCAHelpers.ANGLES.length + modes.length;
+        System.out.printf("%d sessions hosted (%d live)%n", count, host.size());
+        System.out.printf("per session: %,d bytes when opened, %,d bytes after %d answers%n",
+                (opened - empty) / count, (played - empty) / count, answers);
+        System.out.printf("an unshared AngleTable would add %,d bytes per session%n", tableBytes);
+        System.out.printf("%d reaction time histograms at %d counters each would hold %,d bytes per session%n",
+                histograms, LatencyHistogram.BUCKET_COUNT, (long) histograms * LatencyHistogram.BUCKET_COUNT * Long.BYTES);
+
+        host.close();
+        scores.close();
+        AppExecutor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private static long retainedBytes(java.util.function.Supplier<Object> factory) {
+        int copies = 200;
+        Object[] keep = new Object[copies];
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) keep[i] = factory.get();
+        long after = usedHeap();
+        if (keep[copies - 1] == null) System.out.println();
+        return (after - before) / copies;
+    }
+
+    /** @return heap in use after a full collection, the least of a few readings */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long least = Long.MAX_VALUE;
+        // a reading right after a collection sometimes counts the region allocation has just started on
+        for (int i = 0; i < 6; i++) {
+            System.gc();
+            least = Math.min(least, memory.getHeapMemoryUsage().getUsed());
+        }
+        return least;
+    }
+}
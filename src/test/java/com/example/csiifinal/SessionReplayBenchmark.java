@@ -0,0 +1,63 @@
+package com.example.csiifinal;
+
+import java.util.Random;
+
+/**
+ * Measures how many recorded game sessions {@link SessionReplay} plays back per second, as fast as
+ * possible and without a display.
+ * <p>
+ * Argument: number of distinct recorded sessions (default 1,000). Each is a full two-minute game of
+ * a few hundred clicks, recorded through {@link GameRules} the way the app drives it.
+ */
+public class SessionReplayBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5);
+
+        SessionReplay.Recording[] recordings = new SessionReplay.Recording[sessions];
+        long events = 0;
+        for (int i = 0; i < sessions; i++) {
+            recordings[i] = record(i);
+            events += recordings[i].size();
+        }
+        System.out.printf("%,d sessions, %,d events%n", sessions, events);
+
+        SessionReplay replay = new SessionReplay(UCAHelpers.ANGLES);
+        double millis = runner.run("replay all sessions", () -> {
+            int mismatches = 0;
+            for (SessionReplay.Recording recording : recordings) {
+                mismatches += replay.replay(recording, false).mismatches();
+            }
+            if (mismatches != 0) throw new IllegalStateException(mismatches + " mismatches");
+            return mismatches;
+        });
+        System.out.printf("%,.0f sessions/s, %,.0f events/s%n", sessions / millis * 1000, events / millis * 1000);
+        runner.finish();
+    }
+
+    /** Records one session in memory, with the same events the journal would hold. */
+    private static SessionReplay.Recording record(long seed) {
+        Random player = new Random(~seed);
+        GameRules rules = new GameRules(UCAHelpers.ANGLES);
+        SessionReplay.Recording recording = new SessionReplay.Recording(seed);
+        rules.start(seed, 0);
+        recording.add(0, SessionJournal.TYPE_TARGET, rules.getTarget(), 0);
+        for (int second = 0; second < GameRules.GAME_SECONDS; second++) {
+            int clicks = 1 + player.nextInt(3);
+            for (int click = 0; click < clicks; click++) {
+                int angle = player.nextInt(4) == 0
+                        ? UCAHelpers.ANGLES[player.nextInt(UCAHelpers.ANGLES.length)]
+                        : rules.getTarget();
+                boolean correct = rules.answer(angle);
+                recording.add(0, SessionJournal.TYPE_ANSWER, angle, correct ? 1 : 0);
+                recording.add(0, SessionJournal.TYPE_SCORE, correct ? 1 : -1, rules.getScore());
+                if (correct) recording.add(0, SessionJournal.TYPE_TARGET, rules.getTarget(), 0);
+            }
+            rules.tick();
+            recording.add(0, SessionJournal.TYPE_TICK, 0, rules.getSecondsRemaining());
+        }
+        recording.add(0, SessionJournal.TYPE_END, 0, rules.getScore());
+        return recording;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.csiifinal;
+
+import com.example.csiifinal.UnitCircleApp.AngleDisplayMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionReplayTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays a session the way UnitCircleApp does, journaling every step, with a player who
+     * answers correctly most of the time.
+     *
+     * @return the final score
+     */
+    static int playSession(GameRules rules, SessionJournal journal, long seed, Random player) {
+        TargetScheduler scheduler = rules.getScheduler();
+        AngleDisplayMode[] modes = AngleDisplayMode.values();
+        for (int mode = 0; mode < scheduler.modes(); mode++) {
+            for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+                int state = scheduler.getState(mode, i);
+                if (state != 0) journal.schedulerState(modes[mode], UCAHelpers.ANGLES[i], state);
+            }
+        }
+        rules.setMode(AngleDisplayMode.SIN.ordinal());
+        rules.start(seed, journal.getStartMillis());
+        journal.targetChosen(rules.getTarget());
+        for (int second = 0; second < GameRules.GAME_SECONDS; second++) {
+            for (int click = 0; click < 3; click++) {
+                int angle = player.nextInt(4) == 0
+                        ? UCAHelpers.ANGLES[player.nextInt(UCAHelpers.ANGLES.length)]
+                        : rules.getTarget();
+                journal.answered(angle, angle == rules.getTarget());
+                boolean correct = rules.answer(angle);
+                journal.scoreChanged(correct ? 1 : -1, rules.getScore());
+                if (correct) journal.targetChosen(rules.getTarget());
+            }
+            if (second == 60) {
+                rules.setMode(AngleDisplayMode.COS.ordinal());
+                journal.modeChanged(AngleDisplayMode.COS);
+                journal.targetChosen(rules.pickNewTarget());
+            }
+            rules.tick();
+            journal.timerTick(rules.getSecondsRemaining());
+        }
+        journal.end(rules.getScore());
+        return rules.getScore();
+    }
+
+    private SessionReplay.Recording record(GameRules rules, long seed, int[] finalScore) throws Exception {
+        SessionJournal journal = SessionJournal.start(dir, AngleDisplayMode.SIN, seed, rules.getScheduler().kind());
+        finalScore[0] = playSession(rules, journal, seed, new Random(seed * 31));
+        assertTrue(journal.awaitClosed(5, TimeUnit.SECONDS));
+        return SessionReplay.Recording.read(journal.getFile());
+    }
+
+    private static void assertReplaysExactly(GameRules rules, SessionReplay.Recording recording, int finalScore) {
+        SessionReplay replay = new SessionReplay(UCAHelpers.ANGLES);
+        SessionReplay.Result result = replay.replay(recording, false);
+        assertTrue(result.matches(), "first mismatch at event " + result.firstMismatch());
+        assertEquals(finalScore, result.finalScore());
+        TargetScheduler replayed = replay.getRules().getScheduler();
+        assertEquals(rules.getScheduler().kind(), replayed.kind());
+        for (int mode = 0; mode < replayed.modes(); mode++) {
+            for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+                assertEquals(rules.getScheduler().getState(mode, i), replayed.getState(mode, i), "item " + mode + "/" + i);
+            }
+        }
+
+        // a second replay on the same instance starts from a clean state
+        assertEquals(result, replay.replay(recording, false));
+    }
+
+    @Test
+    void testRecordedSessionReplaysExactly() throws Exception {
+        MissCountScheduler misses = new MissCountScheduler(UCAHelpers.ANGLES);
+        misses.setMissCount(45, 30);
+        misses.setMissCount(210, 5);
+        GameRules rules = new GameRules(UCAHelpers.ANGLES, misses);
+        int[] finalScore = new int[1];
+        SessionReplay.Recording recording = record(rules, 1234L, finalScore);
+        assertEquals(1234L, recording.getSeed());
+        assertReplaysExactly(rules, recording, finalScore[0]);
+    }
+
+    @Test
+    void testLeitnerSessionReplaysExactly() throws Exception {
+        LeitnerScheduler leitner = new LeitnerScheduler(UCAHelpers.ANGLES);
+        GameRules rules = new GameRules(UCAHelpers.ANGLES, leitner);
+        int[] finalScore = new int[1];
+        // the first session starts from nothing, the second from what the first one learned
+        record(rules, 5L, finalScore);
+        SessionReplay.Recording recording = record(rules, 6L, finalScore);
+        assertEquals(LeitnerScheduler.KIND, recording.getScheduler());
+        assertReplaysExactly(rules, recording, finalScore[0]);
+    }
+
+    @Test
+    void testDivergingSessionIsReported() throws Exception {
+        int[] finalScore = new int[1];
+        SessionReplay.Recording recording = record(new GameRules(UCAHelpers.ANGLES), 99L, finalScore);
+
+        // the same inputs under another seed ask other targets, so scores and targets diverge
+        SessionReplay.Recording reseeded = new SessionReplay.Recording(100L);
+        for (int i = 0; i < recording.size(); i++) {
+            reseeded.add(0, recording.typeAt(i), recording.argAt(i), recording.valueAt(i));
+        }
+        SessionReplay.Result result = new SessionReplay(UCAHelpers.ANGLES).replay(reseeded, false);
+        assertFalse(result.matches());
+        assertTrue(result.firstMismatch() >= 0);
+    }
+
+    @Test
+    void testRealSpeedWaitsForEventTimes() {
+        SessionReplay.Recording recording = new SessionReplay.Recording(7L)
+                .add(0, SessionJournal.TYPE_TICK, 0, GameRules.GAME_SECONDS - 1)
+                .add(50_000_000L, SessionJournal.TYPE_TICK, 0, GameRules.GAME_SECONDS - 2);
+        long start = System.nanoTime();
+        SessionReplay.Result result = new SessionReplay(UCAHelpers.ANGLES).replay(recording, true);
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+        assertTrue(result.matches());
+    }
+
+    @Test
+    void testMissesWeightTargetSelection() {
+        MissCountScheduler misses = new MissCountScheduler(UCAHelpers.ANGLES);
+        GameRules rules = new GameRules(UCAHelpers.ANGLES, misses);
+        rules.start(5L, 0);
+        int target = rules.getTarget();
+        int wrong = target == 0 ? 30 : 0;
+        assertFalse(rules.answer(wrong));
+        assertEquals(-1, rules.getScore());
+        assertEquals(MissCountScheduler.MISS_PENALTY, misses.getMissCount(target));
+
+        assertTrue(rules.answer(target));
+        assertEquals(0, rules.getScore());
+        assertEquals(MissCountScheduler.MISS_PENALTY - 1, misses.getMissCount(target));
+        assertNotEquals(target, rules.getTarget());
+
+        // 15 angles at weight 1 and one at weight 61: the heavy one follows about 80% of the other
+        // picks and never itself, so it is close to every other target instead of 1 in 16
+        misses.clear();
+        misses.setMissCount(135, 60);
+        int picks = 20_000;
+        int heavy = 0;
+        for (int i = 0; i < picks; i++) {
+            if (rules.pickNewTarget() == 135) heavy++;
+        }
+        assertTrue(heavy > picks * 0.3, "135 picked " + heavy + " times");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.csiifinal;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the cost of picking one target angle as miss counts grow, for the previous
+ * expanded-list selection and for {@link GameRules}' Fenwick sampler.
+ * <p>
+ * Argument: picks per iteration (default 200,000). The list rebuilds {@code 1 + missCount} boxed
+ * entries per angle on every pick, so its cost grows with the misses; the sampler should stay flat
+ * and report 0 bytes per pick.
+ */
+public class TargetPickBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int picks = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5);
+
+        for (int misses : new int[]{0, 10, 100, 1_000}) {
+            LegacyPicker legacy = new LegacyPicker(UCAHelpers.ANGLES);
+            MissCountScheduler scheduler = new MissCountScheduler(UCAHelpers.ANGLES);
+            GameRules rules = new GameRules(UCAHelpers.ANGLES, scheduler);
+            // a struggling student: a third of the angles missed over and over
+            for (int i = 0; i < UCAHelpers.ANGLES.length; i += 3) {
+                legacy.missCounts[i] = misses;
+                scheduler.setMissCount(UCAHelpers.ANGLES[i], misses);
+            }
+            // the legacy list gets expensive fast; keep its iterations bounded
+            int legacyPicks = Math.max(1_000, picks / (1 + misses / 10));
+            runner.runPerOp("legacy list, misses=" + misses, legacyPicks, op -> legacy.pick());
+            runner.runPerOp("fenwick sampler, misses=" + misses, picks, op -> rules.pickNewTarget());
+            System.out.printf("allocated per pick at misses=%d: legacy %.1f bytes, fenwick %.1f bytes%n", misses,
+                    allocatedPerCall(legacyPicks, legacy::pick), allocatedPerCall(picks, rules::pickNewTarget));
+        }
+        runner.finish();
+    }
+
+    private interface Picker {
+        int pick();
+    }
+
+    private static double allocatedPerCall(int calls, Picker picker) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // the first calls of the bean allocate themselves; take them out of the measurement
+        threads.getCurrentThreadAllocatedBytes();
+        threads.getCurrentThreadAllocatedBytes();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int op = 0; op < calls; op++) {
+            picker.pick();
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        return (after - before) / (double) calls;
+    }
+
+    /** The selection this benchmark replaced: one boxed list entry per unit of weight, rebuilt per pick. */
+    private static final class LegacyPicker {
+        final int[] angles;
+        final int[] missCounts;
+        final Random random = new Random(1);
+        int current;
+
+        LegacyPicker(int[] angles) {
+            this.angles = angles;
+            this.missCounts = new int[angles.length];
+        }
+
+        int pick() {
+            List<Integer> weightedAngles = new ArrayList<>();
+            for (int i = 0; i < angles.length; i++) {
+                for (int w = 0; w < 1 + missCounts[i]; w++) {
+                    weightedAngles.add(angles[i]);
+                }
+            }
+            int newAngle;
+            do {
+                newAngle = weightedAngles.get(random.nextInt(weightedAngles.size()));
+            } while (newAngle == current);
+            current = newAngle;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnitVectorsTest {
+
+    @Test
+    void testMatchesTrigonometry() {
+        UnitVectors vectors = new UnitVectors(UCAHelpers.ANGLES);
+        assertEquals(UCAHelpers.ANGLES.length, vectors.size());
+        for (int i = 0; i < UCAHelpers.ANGLES.length; i++) {
+            double radians = Math.toRadians(UCAHelpers.ANGLES[i]);
+            assertEquals(Math.cos(radians), vectors.cos(i), 1e-12);
+            assertEquals(Math.sin(radians), vectors.sin(i), 1e-12);
+        }
+    }
+
+    @Test
+    void testAxesAreExactAndScreenYPointsDown() {
+        UnitVectors vectors = new UnitVectors(new int[]{0, 90, 180, 270, -90, 450});
+        assertEquals(0.0, vectors.cos(1));
+        assertEquals(-1.0, vectors.cos(2));
+        assertEquals(0.0, vectors.sin(2));
+        assertEquals(-1.0, vectors.sin(4));
+        assertEquals(1.0, vectors.sin(5));
+
+        // 90° is straight up: x stays on the center, y is a radius above it
+        assertEquals(500.0, vectors.x(1, 500, 200));
+        assertEquals(300.0, vectors.y(1, 500, 200));
+        assertEquals(700.0, vectors.y(3, 500, 200));
+    }
+}
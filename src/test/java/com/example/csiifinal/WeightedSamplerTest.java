@@ -0,0 +1,73 @@
+package com.example.csiifinal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedSamplerTest {
+
+    @Test
+    void testPrefixSumsFollowUpdates() {
+        Random random = new Random(3);
+        int[] expected = new int[37];
+        WeightedSampler sampler = new WeightedSampler(expected.length, 0);
+        for (int round = 0; round < 2_000; round++) {
+            int i = random.nextInt(expected.length);
+            expected[i] = random.nextInt(1_000);
+            sampler.set(i, expected[i]);
+        }
+        long sum = 0;
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(sum, sampler.prefixSum(i));
+            assertEquals(expected[i], sampler.weight(i));
+            sum += expected[i];
+        }
+        assertEquals(sum, sampler.total());
+    }
+
+    @Test
+    void testSamplesFollowWeights() {
+        int[] weights = {1, 5, 0, 10, 4};
+        WeightedSampler sampler = new WeightedSampler(weights.length, 0);
+        for (int i = 0; i < weights.length; i++) sampler.set(i, weights[i]);
+
+        Random random = new Random(17);
+        int draws = 200_000;
+        int[] counts = new int[weights.length];
+        for (int n = 0; n < draws; n++) counts[sampler.sample(random)]++;
+
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / 20.0, counts[i] / (double) draws, 0.01, "index " + i);
+        }
+        assertEquals(0, counts[2]);
+    }
+
+    @Test
+    void testExcludingMatchesRedrawing() {
+        int[] weights = {3, 1, 12, 4};
+        WeightedSampler sampler = new WeightedSampler(weights.length, 0);
+        for (int i = 0; i < weights.length; i++) sampler.set(i, weights[i]);
+
+        Random random = new Random(29);
+        int draws = 200_000;
+        int[] counts = new int[weights.length];
+        for (int n = 0; n < draws; n++) counts[sampler.sampleExcluding(random, 2)]++;
+
+        // without index 2 the remaining weights sum to 8
+        assertEquals(0, counts[2]);
+        assertEquals(3 / 8.0, counts[0] / (double) draws, 0.01);
+        assertEquals(1 / 8.0, counts[1] / (double) draws, 0.01);
+        assertEquals(4 / 8.0, counts[3] / (double) draws, 0.01);
+    }
+
+    @Test
+    void testAllZeroWeightsCannotBeSampled() {
+        WeightedSampler sampler = new WeightedSampler(3, 0);
+        assertThrows(IllegalStateException.class, () -> sampler.sample(new Random()));
+        sampler.set(1, 2);
+        assertEquals(1, sampler.sample(new Random()));
+        assertThrows(IllegalStateException.class, () -> sampler.sampleExcluding(new Random(), 1));
+    }
+}